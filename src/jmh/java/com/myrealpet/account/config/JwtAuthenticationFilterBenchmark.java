@@ -0,0 +1,93 @@
+package com.myrealpet.account.config;
+
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.redis_cache.FakeRedisCacheService;
+import com.myrealpet.account.service.RedisTokenStore;
+import com.myrealpet.account.service.TokenNearCache;
+import com.myrealpet.account.service.TokenServiceImpl;
+import com.myrealpet.account.util.TokenGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// 요청 하나가 JwtAuthenticationFilter 를 통과하는 비용 (헤더 파싱, 토큰 검증, SecurityContext 설정)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"true", "false"})
+    public boolean nearCacheEnabled;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest invalidTokenRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        FakeRedisCacheService redisCacheService = new FakeRedisCacheService();
+        TokenNearCache nearCache = new TokenNearCache(redisCacheService, new RedisMessageListenerContainer(),
+                new SimpleMeterRegistry(), nearCacheEnabled, 100_000, Duration.ofSeconds(30), Duration.ofMinutes(5));
+        TokenServiceImpl tokenService = new TokenServiceImpl(new RedisTokenStore(redisCacheService), nearCache,
+                new TokenGenerator(), 0, true, 0.5);
+        filter = new JwtAuthenticationFilter(tokenService);
+
+        authenticatedRequest = request("Bearer " + tokenService.generateAccessToken(1L, Account.Role.USER));
+        invalidTokenRequest = request("Bearer AAAAAAAAAAAAAAAAAAAAAA");
+        anonymousRequest = request(null);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticated() throws ServletException, IOException {
+        return filter(authenticatedRequest);
+    }
+
+    @Benchmark
+    public Object invalidToken() throws ServletException, IOException {
+        return filter(invalidTokenRequest);
+    }
+
+    @Benchmark
+    public Object anonymous() throws ServletException, IOException {
+        return filter(anonymousRequest);
+    }
+
+    // 요청 간 인증 정보가 남지 않도록 매번 SecurityContext 를 비운다
+    private Object filter(MockHttpServletRequest request) throws ServletException, IOException {
+        try {
+            filter.doFilterInternal(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts/me");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+}
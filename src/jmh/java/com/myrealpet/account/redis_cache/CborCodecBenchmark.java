@@ -0,0 +1,73 @@
+package com.myrealpet.account.redis_cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.myrealpet.account.entity.Account;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// 계정 엔티티 캐시 값의 CBOR 직렬화 비용. 비교용으로 JSON 도 측정하며, 인코딩 크기는 setup 에서 출력한다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CborCodecBenchmark {
+
+    private final CborCodec cborCodec = new CborCodec();
+    private final ObjectMapper jsonMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private ObjectWriter jsonWriter;
+    private ObjectReader jsonReader;
+
+    private Account account;
+    private byte[] cbor;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        account = Account.builder()
+                .id(123456L)
+                .username("myrealpet_user")
+                .password("$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ01")
+                .name("홍길동")
+                .phoneNumber("010-1234-5678")
+                .provider(Account.AuthProvider.LOCAL)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .updatedAt(LocalDateTime.of(2025, 6, 1, 12, 0))
+                .build();
+        jsonWriter = jsonMapper.writerFor(Account.class);
+        jsonReader = jsonMapper.readerFor(Account.class);
+        cbor = cborCodec.encode(account);
+        json = jsonWriter.writeValueAsBytes(account);
+        System.out.printf("%nencoded size: cbor=%d bytes, json=%d bytes%n", cbor.length, json.length);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() {
+        return cborCodec.encode(account);
+    }
+
+    @Benchmark
+    public Account decodeCbor() {
+        return cborCodec.decode(cbor, Account.class);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return jsonWriter.writeValueAsBytes(account);
+    }
+
+    @Benchmark
+    public Account decodeJson() throws IOException {
+        return jsonReader.readValue(json);
+    }
+}
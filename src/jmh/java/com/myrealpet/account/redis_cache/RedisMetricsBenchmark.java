@@ -0,0 +1,55 @@
+package com.myrealpet.account.redis_cache;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Redis 명령 하나에 붙는 메트릭 기록 비용 (지연 시간 + hit/miss + 값 크기). Redis 왕복(수십~수백 µs)과 비교할 값
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RedisMetricsBenchmark {
+
+    private static final String KEY = "access_token:Qm9vdHN0cmFwVG9rZW5WYWx1ZQ";
+    private static final String VALUE = "123456";
+
+    @Param({"true", "false"})
+    private boolean histogram;
+
+    private RedisMetrics enabled;
+    private RedisMetrics disabled;
+
+    @Setup
+    public void setUp() {
+        List<String> keyspaces = List.of(RedisMetrics.DEFAULT_KEYSPACES.split(","));
+        enabled = new RedisMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), true, keyspaces, histogram, Tags.empty());
+        disabled = new RedisMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), false, keyspaces, histogram, Tags.empty());
+    }
+
+    @Benchmark
+    public String get() {
+        return measuredGet(enabled);
+    }
+
+    @Benchmark
+    public String getWithoutMetrics() {
+        return measuredGet(disabled);
+    }
+
+    private static String measuredGet(RedisMetrics metrics) {
+        String value = metrics.call(RedisMetrics.Operation.GET, KEY, () -> VALUE);
+        metrics.lookup(RedisMetrics.Operation.GET, KEY, value);
+        return value;
+    }
+}
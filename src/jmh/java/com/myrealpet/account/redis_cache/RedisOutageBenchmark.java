@@ -0,0 +1,73 @@
+package com.myrealpet.account.redis_cache;
+
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.service.RedisTokenStore;
+import com.myrealpet.account.service.TokenNearCache;
+import com.myrealpet.account.service.TokenServiceImpl;
+import com.myrealpet.account.util.CircuitBreaker;
+import com.myrealpet.account.util.TokenGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Redis 가 타임아웃으로 응답하지 않는 동안 최근 검증된 토큰의 검증 지연 (서킷 브레이커 사용 여부별)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RedisOutageBenchmark {
+
+    private static final Duration COMMAND_TIMEOUT = Duration.ofMillis(1);
+
+    @Param({"true", "false"})
+    public boolean circuitBreakerEnabled;
+
+    private TokenServiceImpl tokenService;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        FakeRedisCacheService fakeRedis = new FakeRedisCacheService(COMMAND_TIMEOUT);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CircuitBreaker circuitBreaker = new CircuitBreaker(10, 5, 0.5, Duration.ofMillis(250), Duration.ofHours(1), 1);
+        RedisCacheService redisCacheService = new CircuitBreakingRedisCacheService(fakeRedis, meterRegistry,
+                circuitBreakerEnabled, circuitBreaker);
+        // 근접 캐시 TTL 을 0 으로 두어 매 호출이 저장소로 가도록 한다
+        TokenNearCache nearCache = new TokenNearCache(redisCacheService, new RedisMessageListenerContainer(),
+                meterRegistry, true, 100_000, Duration.ofNanos(1), Duration.ofMinutes(5));
+        tokenService = new TokenServiceImpl(new RedisTokenStore(redisCacheService), nearCache, new TokenGenerator(), 0, true, 0.5);
+
+        accessToken = tokenService.generateAccessToken(1L, Account.Role.USER);
+        tokenService.validateToken(accessToken);
+        fakeRedis.setAvailable(false);
+
+        // 브레이커가 열릴 때까지 실패 호출을 누적
+        for (int i = 0; i < 10; i++) {
+            tokenService.validateToken(accessToken);
+        }
+    }
+
+    @Benchmark
+    public Long validateRecentlyValidatedToken() {
+        return tokenService.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public Object issueToken() {
+        try {
+            return tokenService.generateAccessToken(1L, Account.Role.USER);
+        } catch (DataAccessException e) {
+            return e;
+        }
+    }
+}
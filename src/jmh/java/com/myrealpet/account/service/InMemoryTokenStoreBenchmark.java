@@ -0,0 +1,67 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.redis_cache.IndexedValue;
+import com.myrealpet.account.util.TokenGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 인메모리 저장소 위에서의 토큰 검증 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InMemoryTokenStoreBenchmark {
+
+    private static final String MISSING_TOKEN = "AAAAAAAAAAAAAAAAAAAAAA";
+
+    // 캐시에 들어가는 크기와 메모리 접근이 지배하는 크기
+    @Param({"1024", "65536"})
+    public int tokenCount;
+
+    private TokenServiceImpl tokenService;
+    private String[] accessTokens;
+
+    @Setup
+    public void setUp() {
+        TokenNearCache nearCache = new TokenNearCache(null, new RedisMessageListenerContainer(),
+                new SimpleMeterRegistry(), false, 0, Duration.ZERO, Duration.ZERO);
+        TokenGenerator tokenGenerator = new TokenGenerator();
+        InMemoryTokenStore tokenStore = new InMemoryTokenStore(64, Duration.ofSeconds(1));
+        tokenService = new TokenServiceImpl(tokenStore, nearCache, tokenGenerator, 0, true, 0.5);
+
+        // 발급 로그를 피하기 위해 저장소에 직접 적재
+        accessTokens = new String[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            String token = tokenGenerator.generate();
+            tokenStore.save(List.of(new IndexedValue("access_token:" + token, String.valueOf(i),
+                    "user_tokens:" + i, token, Duration.ofHours(1))));
+            accessTokens[i] = token;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Benchmark
+    public Long validateHit(Cursor cursor) {
+        return tokenService.validateToken(accessTokens[cursor.next++ & (tokenCount - 1)]);
+    }
+
+    @Benchmark
+    public Long validateMiss() {
+        return tokenService.validateToken(MISSING_TOKEN);
+    }
+}
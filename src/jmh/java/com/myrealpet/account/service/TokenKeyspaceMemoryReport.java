@@ -0,0 +1,100 @@
+package com.myrealpet.account.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.redis_cache.RedisCacheServiceImpl;
+import com.myrealpet.account.redis_cache.RedisMetrics;
+import com.myrealpet.account.util.TokenGenerator;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+// 토큰 저장 레이아웃별 세션당 Redis 메모리 측정. 지정한 DB 를 비우고 세션을 발급한 뒤 used_memory 증가분을 세션 수로 나눈다.
+// 사용법: java -Dreport.flush-db=true -cp <jmh jar> com.myrealpet.account.service.TokenKeyspaceMemoryReport [host] [port] [database] [sessions] [bucketBits]
+// 측정 전후로 지정한 DB 를 FLUSHDB 하므로 -Dreport.flush-db=true 로 명시해야 실행된다.
+// bucketBits 를 생략하면 버킷당 약 100 개가 되도록 세션 수에 맞춰 정한다.
+// 결과는 레이아웃마다 JSON 한 줄로 출력된다.
+public class TokenKeyspaceMemoryReport {
+
+    private static final int SESSIONS_PER_ACCOUNT = 4;
+    private static final int TOKENS_PER_BUCKET = 100;
+    private static final String FLUSH_DB_PROPERTY = "report.flush-db";
+
+    public static void main(String[] args) {
+        String host = args.length > 0 ? args[0] : "127.0.0.1";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 6379;
+        int database = args.length > 2 ? Integer.parseInt(args[2]) : 15;
+        int sessions = args.length > 3 ? Integer.parseInt(args[3]) : 200_000;
+        int bucketBits = args.length > 4
+                ? Integer.parseInt(args[4])
+                : Math.max(1, 31 - Integer.numberOfLeadingZeros(Math.max(1, sessions / TOKENS_PER_BUCKET)));
+
+        if (!Boolean.getBoolean(FLUSH_DB_PROPERTY)) {
+            System.err.printf("Refusing to run: this report flushes database %d on %s:%d. Set -D%s=true to confirm.%n",
+                    database, host, port, FLUSH_DB_PROPERTY);
+            System.exit(2);
+        }
+
+        ((Logger) LoggerFactory.getLogger("com.myrealpet")).setLevel(Level.WARN);
+
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(host, port);
+        configuration.setDatabase(database);
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        try {
+            StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+            RedisCacheServiceImpl redisCacheService = new RedisCacheServiceImpl(redisTemplate,
+                    new RedisMetrics(new SimpleMeterRegistry(), false, List.of(), false, Tags.empty()));
+
+            report("standard", new RedisTokenStore(redisCacheService), redisTemplate, sessions);
+            report("compact(bucketBits=" + bucketBits + ")", new CompactRedisTokenStore(redisCacheService, bucketBits),
+                    redisTemplate, sessions);
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    private static void report(String layout, TokenStore tokenStore, StringRedisTemplate redisTemplate, int sessions) {
+        TokenNearCache nearCache = new TokenNearCache(null, new RedisMessageListenerContainer(),
+                new SimpleMeterRegistry(), false, 0, Duration.ZERO, Duration.ZERO);
+        TokenServiceImpl tokenService = new TokenServiceImpl(tokenStore, nearCache, new TokenGenerator(), 0, true, 0.5);
+
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        long before = usedMemory(redisTemplate);
+
+        int accounts = Math.max(1, sessions / SESSIONS_PER_ACCOUNT);
+        for (int i = 0; i < sessions; i++) {
+            tokenService.generateToken((long) (i % accounts) + 1, Account.Role.USER);
+        }
+
+        long used = usedMemory(redisTemplate) - before;
+        Long keys = redisTemplate.execute((RedisCallback<Long>) connection -> connection.serverCommands().dbSize());
+        System.out.printf("{\"layout\":\"%s\",\"sessions\":%d,\"accounts\":%d,\"keys\":%d,\"usedMemoryBytes\":%d,\"bytesPerSession\":%.1f}%n",
+                layout, sessions, accounts, keys, used, (double) used / sessions);
+
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+    }
+
+    private static long usedMemory(StringRedisTemplate redisTemplate) {
+        Properties memory = redisTemplate.execute((RedisCallback<Properties>) connection -> connection.serverCommands().info("memory"));
+        return Long.parseLong(memory.getProperty("used_memory"));
+    }
+}
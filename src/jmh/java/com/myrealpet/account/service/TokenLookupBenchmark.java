@@ -0,0 +1,85 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.redis_cache.FakeRedisCacheService;
+import com.myrealpet.account.util.TokenGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// 순차 GET 2회 조회와 단일 왕복 조회의 hit/miss 지연 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenLookupBenchmark {
+
+    private static final String MISSING_TOKEN = "00000000000000000000000000000000";
+
+    @Param({"50", "200"})
+    public long roundTripMicros;
+
+    private FakeRedisCacheService redisCacheService;
+    private TokenServiceImpl tokenService;
+    private String accessToken;
+    private String legacyToken;
+
+    @Setup
+    public void setUp() {
+        redisCacheService = new FakeRedisCacheService(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros)));
+        TokenNearCache nearCache = new TokenNearCache(redisCacheService, new RedisMessageListenerContainer(),
+                new SimpleMeterRegistry(), false, 0, Duration.ZERO, Duration.ZERO);
+        tokenService = new TokenServiceImpl(new RedisTokenStore(redisCacheService), nearCache, new TokenGenerator(), 0, true, 0.5);
+
+        accessToken = tokenService.generateAccessToken(1L, Account.Role.USER);
+        legacyToken = tokenService.generateToken(2L, Account.Role.USER);
+    }
+
+    @Benchmark
+    public Long sequentialAccessTokenHit() {
+        return sequentialLookup(accessToken);
+    }
+
+    @Benchmark
+    public Long sequentialLegacyTokenHit() {
+        return sequentialLookup(legacyToken);
+    }
+
+    @Benchmark
+    public Long sequentialMiss() {
+        return sequentialLookup(MISSING_TOKEN);
+    }
+
+    @Benchmark
+    public Long unifiedAccessTokenHit() {
+        return tokenService.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public Long unifiedLegacyTokenHit() {
+        return tokenService.validateToken(legacyToken);
+    }
+
+    @Benchmark
+    public Long unifiedMiss() {
+        return tokenService.validateToken(MISSING_TOKEN);
+    }
+
+    // 변경 전 TokenServiceImpl.validateToken 의 조회 순서
+    private Long sequentialLookup(String token) {
+        String accountId = redisCacheService.getValue("access_token:" + token);
+        if (accountId == null) {
+            accountId = redisCacheService.getValue("auth_token:" + token);
+        }
+        return accountId != null ? Long.parseLong(accountId) : null;
+    }
+}
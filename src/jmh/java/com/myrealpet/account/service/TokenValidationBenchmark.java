@@ -0,0 +1,53 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.redis_cache.FakeRedisCacheService;
+import com.myrealpet.account.util.TokenGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Redis 왕복 지연 없이 TokenServiceImpl.validateToken 자체의 CPU 비용 측정 (근접 캐시 사용 여부별)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenValidationBenchmark {
+
+    private static final String MISSING_TOKEN = "AAAAAAAAAAAAAAAAAAAAAA";
+
+    @Param({"true", "false"})
+    public boolean nearCacheEnabled;
+
+    private TokenServiceImpl tokenService;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        FakeRedisCacheService redisCacheService = new FakeRedisCacheService();
+        TokenNearCache nearCache = new TokenNearCache(redisCacheService, new RedisMessageListenerContainer(),
+                new SimpleMeterRegistry(), nearCacheEnabled, 100_000, Duration.ofSeconds(30), Duration.ofMinutes(5));
+        tokenService = new TokenServiceImpl(new RedisTokenStore(redisCacheService), nearCache, new TokenGenerator(), 0, true, 0.5);
+
+        accessToken = tokenService.generateAccessToken(1L, Account.Role.USER);
+    }
+
+    @Benchmark
+    public Long validateHit() {
+        return tokenService.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public Long validateMiss() {
+        return tokenService.validateToken(MISSING_TOKEN);
+    }
+}
@@ -0,0 +1,47 @@
+package com.myrealpet.account.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 토큰 저장소 샤드를 하나씩 추가할 때 이동하는 슬롯 비율과 샤드별 슬롯 분포 확인.
+// 사용법: java -cp <jmh jar> com.myrealpet.account.util.ConsistentHashRingReport [maxShards] [virtualNodes]
+// 샤드 수마다 JSON 한 줄로 출력되며, movedFraction 은 이상값 1/n 에 가까워야 한다
+public class ConsistentHashRingReport {
+
+    public static void main(String[] args) {
+        int maxShards = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int virtualNodes = args.length > 1 ? Integer.parseInt(args[1]) : 160;
+
+        List<String> names = new ArrayList<>();
+        ConsistentHashRing<String> previous = null;
+        for (int shards = 1; shards <= maxShards; shards++) {
+            names.add("10.0.0." + shards + ":6379/0");
+            ConsistentHashRing<String> ring = new ConsistentHashRing<>(names, names, virtualNodes, TokenGenerator.SLOTS);
+
+            int moved = 0;
+            int movedToNew = 0;
+            int[] owned = new int[shards];
+            for (int slot = 0; slot < ring.slots(); slot++) {
+                String owner = ring.nodeFor(slot);
+                owned[names.indexOf(owner)]++;
+                if (previous != null && !owner.equals(previous.nodeFor(slot))) {
+                    moved++;
+                    movedToNew += owner.equals(names.get(shards - 1)) ? 1 : 0;
+                }
+            }
+
+            int min = Integer.MAX_VALUE;
+            int max = 0;
+            for (int count : owned) {
+                min = Math.min(min, count);
+                max = Math.max(max, count);
+            }
+            double mean = (double) ring.slots() / shards;
+            System.out.printf("{\"shards\":%d,\"virtualNodes\":%d,\"movedFraction\":%.4f,\"idealMovedFraction\":%.4f,"
+                            + "\"movedOnlyToNewShard\":%b,\"minLoad\":%.3f,\"maxLoad\":%.3f}%n",
+                    shards, virtualNodes, (double) moved / ring.slots(), previous != null ? 1.0 / shards : 0.0,
+                    moved == movedToNew, min / mean, max / mean);
+            previous = ring;
+        }
+    }
+}
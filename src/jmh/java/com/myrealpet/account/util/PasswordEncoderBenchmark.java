@@ -0,0 +1,64 @@
+package com.myrealpet.account.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// 회원가입(encode)과 로그인(matches) 시 비밀번호 해시 비용.
+// legacy: 이전 형식(솔트 + SHA-256 1 회) 해시 검증, pbkdf2: 현재 형식 해시 검증.
+// matches/mismatch 는 호출당 할당이 없어야 하므로 -prof gc 의 gc.alloc.rate.norm 으로 확인
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "correct-horse-battery-staple";
+
+    @Param({"legacy", "pbkdf2"})
+    private String format;
+
+    @Param({"100000"})
+    private int iterations;
+
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        passwordEncoder = new PasswordEncoder(iterations);
+        encodedPassword = format.equals("legacy") ? legacyEncode(PASSWORD) : passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean mismatch() {
+        return passwordEncoder.matches("wrong-password", encodedPassword);
+    }
+
+    private static String legacyEncode(String password) throws NoSuchAlgorithmException {
+        String salt = Base64.getEncoder().encodeToString("0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        md.update(salt.getBytes(StandardCharsets.UTF_8));
+        return salt + ":" + Base64.getEncoder().encodeToString(md.digest(password.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,28 @@
+package com.myrealpet.account.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// 가입/수정 요청에서 들어오는 여러 입력 형식의 전화번호 정규화 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PhoneNumberFormatterBenchmark {
+
+    @Param({"01012345678", "010-1234-5678", "010 123 4567"})
+    public String phoneNumber;
+
+    private final PhoneNumberFormatter phoneNumberFormatter = new PhoneNumberFormatter();
+
+    @Benchmark
+    public String formatPhoneNumber() {
+        return phoneNumberFormatter.formatPhoneNumber(phoneNumber);
+    }
+}
@@ -0,0 +1,32 @@
+package com.myrealpet.account.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 동시 로그인 상황을 가정해 여러 스레드에서 토큰 생성 비교 (-prof gc 로 할당량 확인)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class TokenGeneratorBenchmark {
+
+    private final TokenGenerator tokenGenerator = new TokenGenerator();
+
+    @Benchmark
+    public String uuidReplace() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @Benchmark
+    public String tokenGenerator() {
+        return tokenGenerator.generate();
+    }
+}
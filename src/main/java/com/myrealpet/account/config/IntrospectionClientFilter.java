@@ -0,0 +1,56 @@
+package com.myrealpet.account.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+// 토큰 검증 엔드포인트(/api/auth/introspect, /api/auth/introspect/events)를 호출하는 다른 서비스 인증.
+// X-Client-Secret 헤더가 token.introspection.client-secret 과 같으면 ROLE_TOKEN_INTROSPECTION 을 부여한다.
+// 비밀 값이 설정되지 않으면 어떤 요청도 이 역할을 받지 못해 엔드포인트가 닫힌다
+@Slf4j
+@Component
+public class IntrospectionClientFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_SECRET_HEADER = "X-Client-Secret";
+    public static final String ROLE = "TOKEN_INTROSPECTION";
+
+    private static final String CLIENT_PRINCIPAL = "token-introspection-client";
+    private static final List<SimpleGrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_" + ROLE));
+
+    private final byte[] clientSecret;
+
+    public IntrospectionClientFilter(@Value("${token.introspection.client-secret:}") String clientSecret) {
+        this.clientSecret = clientSecret.getBytes(StandardCharsets.UTF_8);
+        if (clientSecret.isEmpty()) {
+            log.warn("token.introspection.client-secret is not set; token introspection endpoints are disabled");
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String presented = request.getHeader(CLIENT_SECRET_HEADER);
+        if (presented != null && clientSecret.length > 0
+                && MessageDigest.isEqual(clientSecret, presented.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(CLIENT_PRINCIPAL, null, AUTHORITIES));
+        } else if (presented != null) {
+            log.debug("Introspection client secret mismatch - Path: {}", request.getRequestURI());
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -1,5 +1,7 @@
 package com.myrealpet.account.config;
 
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.service.TokenClaims;
 import com.myrealpet.account.service.TokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -21,6 +23,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final SimpleGrantedAuthority USER_AUTHORITY = new SimpleGrantedAuthority("ROLE_USER");
+
     private final TokenService tokenService;
 
     @Override
@@ -37,14 +41,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             log.debug("JWT Filter - Extracted token: {}", token.substring(0, Math.min(token.length(), 10)) + "...");
 
             try {
-                Long accountId = tokenService.validateToken(token);
-                if (accountId != null) {
+                // 서명 토큰 모드에서는 I/O 없이 토큰 자체에서 클레임을 검증
+                TokenClaims claims = tokenService.resolveClaims(token);
+                if (claims != null) {
+                    Long accountId = claims.getAccountId();
+                    Account.Role role = claims.getRole() != null ? claims.getRole() : Account.Role.USER;
                     log.debug("JWT Filter - Token valid for account ID: {}", accountId);
                     UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                             accountId,
                             null,
-                            List.of(new SimpleGrantedAuthority("ROLE_USER"))
+                            authorities(role)
                         );
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                     log.debug("JWT Filter - Authentication set in SecurityContext");
@@ -60,4 +67,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // 모든 계정은 ROLE_USER 를 가지며 ADMIN 등은 그 역할을 추가로 받는다
+    private static List<SimpleGrantedAuthority> authorities(Account.Role role) {
+        return role == Account.Role.USER
+                ? List.of(USER_AUTHORITY)
+                : List.of(USER_AUTHORITY, new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
 }
\ No newline at end of file
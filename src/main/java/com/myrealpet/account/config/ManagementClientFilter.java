@@ -0,0 +1,60 @@
+package com.myrealpet.account.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+// 메트릭 수집기(Prometheus 등)의 /actuator 호출 인증.
+// X-Management-Secret 헤더가 management.client-secret 과 같으면 ROLE_ACTUATOR 를 부여한다.
+// 토큰 검증 클라이언트와 비밀 값을 나눠 수집기가 토큰 검증 엔드포인트를 호출할 수 없게 한다.
+// 비밀 값이 설정되지 않으면 ADMIN 계정만 health 이외의 actuator 엔드포인트를 볼 수 있다
+@Slf4j
+@Component
+public class ManagementClientFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_SECRET_HEADER = "X-Management-Secret";
+    public static final String ROLE = "ACTUATOR";
+
+    private static final String CLIENT_PRINCIPAL = "management-client";
+    private static final List<SimpleGrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_" + ROLE));
+
+    private final byte[] clientSecret;
+
+    public ManagementClientFilter(@Value("${management.client-secret:}") String clientSecret) {
+        this.clientSecret = clientSecret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // actuator 이외의 요청에는 이 헤더가 의미가 없으므로 건너뛴다
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String presented = request.getHeader(CLIENT_SECRET_HEADER);
+        if (presented != null && clientSecret.length > 0
+                && MessageDigest.isEqual(clientSecret, presented.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(CLIENT_PRINCIPAL, null, AUTHORITIES));
+        } else if (presented != null) {
+            log.debug("Management client secret mismatch - Path: {}", request.getRequestURI());
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
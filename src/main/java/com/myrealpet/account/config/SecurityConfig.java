@@ -2,14 +2,18 @@ package com.myrealpet.account.config;
 
 import com.myrealpet.account.oauth.CustomOAuth2UserService;
 import com.myrealpet.account.oauth.OAuth2AuthenticationSuccessHandler;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -19,6 +23,8 @@ public class SecurityConfig {
     private final CustomOAuth2UserService customOAuth2UserService;
     private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final IntrospectionClientFilter introspectionClientFilter;
+    private final ManagementClientFilter managementClientFilter;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -27,8 +33,15 @@ public class SecurityConfig {
             .cors(cors -> cors.and())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/kakao/**", "/api/oauth/**", "/oauth2/**", "/login/oauth2/**").permitAll()
+                // SSE 완료/시간 초과 시의 비동기 디스패치는 이미 인가된 요청의 연속. 무상태라 인증이 다시 설정되지 않는다
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                // 다른 서비스 전용. IntrospectionClientFilter 가 클라이언트 비밀 값을 확인한다
+                .requestMatchers("/api/auth/introspect", "/api/auth/introspect/events").hasRole(IntrospectionClientFilter.ROLE)
+                .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/refresh", "/api/auth/kakao/**", "/api/oauth/**", "/oauth2/**", "/login/oauth2/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
+                // 상태 확인(로드 밸런서/쿠버네티스 프로브)만 공개하고, 메트릭은 수집기 비밀 값이나 ADMIN 계정으로만 조회
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").hasAnyRole(ManagementClientFilter.ROLE, "ADMIN")
                 .requestMatchers("OPTIONS", "/**").permitAll()
                 .anyRequest().authenticated()
             )
@@ -38,7 +51,15 @@ public class SecurityConfig {
                 )
                 .successHandler(oAuth2AuthenticationSuccessHandler)
             )
+            // 서비스 클라이언트는 OAuth2 로그인 페이지로 리다이렉트하지 않고 401 로 응답
+            .exceptionHandling(exceptions -> exceptions
+                .defaultAuthenticationEntryPointFor(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+                    PathPatternRequestMatcher.withDefaults().matcher("/api/auth/introspect/**"))
+                .defaultAuthenticationEntryPointFor(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+                    PathPatternRequestMatcher.withDefaults().matcher("/actuator/**")))
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(introspectionClientFilter, JwtAuthenticationFilter.class)
+            .addFilterAfter(managementClientFilter, IntrospectionClientFilter.class)
             .headers(headers -> headers
                 .frameOptions(frameOptions -> frameOptions.disable()));
 
@@ -0,0 +1,136 @@
+package com.myrealpet.account.config;
+
+import com.myrealpet.account.redis_cache.CircuitBreakingRedisCacheService;
+import com.myrealpet.account.redis_cache.RedisCacheService;
+import com.myrealpet.account.redis_cache.RedisCacheServiceImpl;
+import com.myrealpet.account.redis_cache.RedisMetrics;
+import com.myrealpet.account.service.CompactRedisTokenStore;
+import com.myrealpet.account.service.RedisTokenStore;
+import com.myrealpet.account.service.ShardedTokenStore;
+import com.myrealpet.account.service.TokenStore;
+import com.myrealpet.account.util.CircuitBreaker;
+import com.myrealpet.account.util.ConsistentHashRing;
+import com.myrealpet.account.util.TokenGenerator;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SocketOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// token.sharding.endpoints 가 설정되면 토큰 키만 여러 Redis 에 나눠 저장한다.
+// 근접 캐시 무효화(pub/sub)와 폐기 목록은 계속 spring.data.redis 인스턴스를 사용한다
+@Slf4j
+@Configuration
+@ConditionalOnExpression("'${token.sharding.endpoints:}' != ''")
+public class TokenShardingConfig implements DisposableBean {
+
+    private final List<LettuceConnectionFactory> connectionFactories = new ArrayList<>();
+
+    // 모든 샤드가 spring.data.redis 의 비밀번호와 타임아웃을 공유
+    @Value("${spring.data.redis.password:}")
+    private String password;
+
+    @Value("${spring.data.redis.timeout:1s}")
+    private Duration commandTimeout;
+
+    @Value("${spring.data.redis.connect-timeout:1s}")
+    private Duration connectTimeout;
+
+    @Value("${redis.circuit-breaker.enabled:true}")
+    private boolean circuitBreakerEnabled;
+
+    @Value("${redis.circuit-breaker.window-size:50}")
+    private int windowSize;
+
+    @Value("${redis.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${redis.circuit-breaker.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${redis.circuit-breaker.slow-call-threshold:250ms}")
+    private Duration slowCallThreshold;
+
+    @Value("${redis.circuit-breaker.open-duration:10s}")
+    private Duration openDuration;
+
+    @Value("${redis.circuit-breaker.half-open-calls:5}")
+    private int halfOpenCalls;
+
+    // 샤드 이름(host:port/db)으로 링 위치가 정해지므로 엔드포인트 순서를 바꾸거나 샤드를 추가해도
+    // 기존 샤드 사이에서는 키가 이동하지 않는다
+    @Bean
+    @Primary
+    public TokenStore shardedTokenStore(@Value("${token.sharding.endpoints}") List<String> endpoints,
+                                        @Value("${token.sharding.virtual-nodes:160}") int virtualNodes,
+                                        @Value("${token.store:redis}") String storeType,
+                                        @Value("${token.compact.bucket-bits:16}") int bucketBits,
+                                        MeterRegistry meterRegistry,
+                                        RedisMetrics redisMetrics) {
+        if (!storeType.equals("redis") && !storeType.equals("redis-compact")) {
+            throw new IllegalStateException("token.sharding requires token.store redis or redis-compact: " + storeType);
+        }
+
+        List<String> names = new ArrayList<>();
+        List<TokenStore> shards = new ArrayList<>();
+        for (String endpoint : endpoints) {
+            RedisURI uri = RedisURI.create(endpoint.contains("://") ? endpoint.trim() : "redis://" + endpoint.trim());
+            String name = uri.getHost() + ":" + uri.getPort() + "/" + uri.getDatabase();
+
+            Tags shardTags = Tags.of("shard", name);
+            RedisCacheService redisCacheService = new CircuitBreakingRedisCacheService(
+                    new RedisCacheServiceImpl(redisTemplate(uri), redisMetrics.withTags(shardTags)), meterRegistry,
+                    circuitBreakerEnabled,
+                    new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, slowCallThreshold,
+                            openDuration, halfOpenCalls),
+                    shardTags);
+            names.add(name);
+            shards.add(storeType.equals("redis-compact")
+                    ? new CompactRedisTokenStore(redisCacheService, bucketBits)
+                    : new RedisTokenStore(redisCacheService));
+        }
+
+        log.info("Token store sharded across {} Redis endpoints ({} virtual nodes each): {}",
+                names.size(), virtualNodes, names);
+        return new ShardedTokenStore(new ConsistentHashRing<>(names, shards, virtualNodes, TokenGenerator.SLOTS));
+    }
+
+    private StringRedisTemplate redisTemplate(RedisURI uri) {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(uri.getHost(), uri.getPort());
+        configuration.setDatabase(uri.getDatabase());
+        configuration.setPassword(RedisPassword.of(password));
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(commandTimeout)
+                .clientOptions(ClientOptions.builder()
+                        .socketOptions(SocketOptions.builder().connectTimeout(connectTimeout).build())
+                        .build())
+                .build();
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(configuration, clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        connectionFactories.add(connectionFactory);
+        return new StringRedisTemplate(connectionFactory);
+    }
+
+    @Override
+    public void destroy() {
+        connectionFactories.forEach(LettuceConnectionFactory::destroy);
+    }
+}
@@ -2,14 +2,18 @@ package com.myrealpet.account.controller;
 
 import com.myrealpet.account.dto.LoginRequest;
 import com.myrealpet.account.dto.LoginResponse;
+import com.myrealpet.account.dto.RefreshTokenRequest;
 import com.myrealpet.account.dto.RegisterRequest;
 import com.myrealpet.account.dto.KakaoTokenRequest;
 import com.myrealpet.account.entity.Account;
 import com.myrealpet.account.service.AccountService;
+import com.myrealpet.account.service.PasswordHashRejectedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -34,6 +38,17 @@ public class AccountController {
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@RequestBody RefreshTokenRequest request) {
+        try {
+            LoginResponse response = accountService.refreshToken(request.getRefreshToken());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.warn("토큰 갱신 실패: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<Void> logout(@RequestHeader("Authorization") String token) {
         try {
@@ -48,7 +63,11 @@ public class AccountController {
     }
 
     @PostMapping("/logout-all")
-    public ResponseEntity<Void> logoutAll(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal Long accountId) {
+        if (accountId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        accountService.logoutAll(accountId);
         return ResponseEntity.ok().build();
     }
 
@@ -154,4 +173,12 @@ public class AccountController {
         }
     }
 
+    // 로그인/가입/비밀번호 변경 시 해시 대기열이 가득 찬 경우
+    @ExceptionHandler(PasswordHashRejectedException.class)
+    public ResponseEntity<Void> handlePasswordHashRejected(PasswordHashRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .build();
+    }
+
 }
\ No newline at end of file
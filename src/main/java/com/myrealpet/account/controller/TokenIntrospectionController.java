@@ -0,0 +1,60 @@
+package com.myrealpet.account.controller;
+
+import com.myrealpet.account.dto.TokenIntrospectionRequest;
+import com.myrealpet.account.dto.TokenIntrospectionResponse;
+import com.myrealpet.account.service.TokenEventBroadcaster;
+import com.myrealpet.account.service.TokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+// 다른 서비스가 여러 토큰을 한 번에 검증하는 엔드포인트. 계정 DB 는 조회하지 않는다
+@Slf4j
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+public class TokenIntrospectionController {
+
+    private static final int MAX_TOKENS = 100;
+    private static final String SUBSCRIBERS_FULL_RETRY_AFTER_SECONDS = "30";
+
+    private final TokenService tokenService;
+    private final TokenEventBroadcaster tokenEventBroadcaster;
+
+    // 응답은 요청의 토큰 순서와 같다
+    @PostMapping("/introspect")
+    public ResponseEntity<List<TokenIntrospectionResponse>> introspect(@RequestBody TokenIntrospectionRequest request) {
+        List<String> tokens = request.getTokens();
+        if (tokens == null || tokens.isEmpty() || tokens.size() > MAX_TOKENS) {
+            log.warn("토큰 일괄 검증 요청 거부: {} 개", tokens != null ? tokens.size() : 0);
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<TokenIntrospectionResponse> response = tokenService.resolveClaims(tokens).stream()
+                .map(TokenIntrospectionResponse::of)
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+
+    // 검증 결과를 캐시하는 클라이언트가 토큰 무효화/폐기 이벤트를 받는 SSE 스트림. 구독자가 가득 차면 503
+    @GetMapping(value = "/introspect/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events() {
+        SseEmitter emitter = tokenEventBroadcaster.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, SUBSCRIBERS_FULL_RETRY_AFTER_SECONDS).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+}
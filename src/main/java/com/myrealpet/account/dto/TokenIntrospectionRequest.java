@@ -0,0 +1,14 @@
+package com.myrealpet.account.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenIntrospectionRequest {
+    private List<String> tokens;
+}
@@ -0,0 +1,29 @@
+package com.myrealpet.account.dto;
+
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.service.TokenClaims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenIntrospectionResponse {
+    private boolean active;
+    private Long accountId;
+    private Account.Role role;
+    private Instant expiresAt;
+    // 서명 토큰의 jti. 폐기 이벤트는 jti 로 전달되므로 클라이언트 캐시 무효화에 사용
+    private String tokenId;
+
+    public static TokenIntrospectionResponse of(TokenClaims claims) {
+        if (claims == null) {
+            return new TokenIntrospectionResponse(false, null, null, null, null);
+        }
+        return new TokenIntrospectionResponse(true, claims.getAccountId(), claims.getRole(), claims.getExpiresAt(),
+                claims.getTokenId());
+    }
+}
@@ -1,5 +1,6 @@
 package com.myrealpet.account.oauth;
 
+import com.myrealpet.account.service.TokenPair;
 import com.myrealpet.account.service.TokenService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,8 +31,9 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
 
         CustomOAuth2User oAuth2User = (CustomOAuth2User) authentication.getPrincipal();
 
-        String accessToken = tokenService.generateAccessToken(oAuth2User.getUserId());
-        String refreshToken = tokenService.generateRefreshToken(oAuth2User.getUserId());
+        TokenPair tokenPair = tokenService.generateTokenPair(oAuth2User.getUserId(), oAuth2User.getAccount().getRole());
+        String accessToken = tokenPair.getAccessToken();
+        String refreshToken = tokenPair.getRefreshToken();
 
         // 프론트엔드 URL 동적 결정 (요청의 origin 사용 또는 기본값)
         String frontendUrl = request.getHeader("Referer");
@@ -0,0 +1,42 @@
+package com.myrealpet.account.redis_cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 캐시 값 객체의 CBOR 직렬화. 타입별 ObjectReader/ObjectWriter 를 한 번만 만들어 재사용한다.
+// 필드가 추가/삭제되어도 이전에 저장된 값을 읽을 수 있도록 모르는 필드는 무시한다
+public class CborCodec {
+
+    private final CBORMapper mapper = CBORMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .build();
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public byte[] encode(Object value) {
+        try {
+            return writers.computeIfAbsent(value.getClass(), mapper::writerFor).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot encode " + value.getClass().getName() + " as CBOR", e);
+        }
+    }
+
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        try {
+            return readers.computeIfAbsent(type, mapper::readerFor).readValue(bytes);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot decode CBOR value as " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.myrealpet.account.redis_cache;
+
+import com.myrealpet.account.util.CircuitBreaker;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// RedisCacheServiceImpl 앞에 두는 서킷 브레이커. 실패하거나 느린 호출 비율이 임계값을 넘으면 열리고,
+// 열린 동안에는 Redis 에 요청을 보내지 않고 RedisUnavailableException 으로 즉시 실패한다.
+// 실패로 세는 예외는 DataAccessException 과 연결/타임아웃 오류뿐이며, 직렬화 오류나 잘못된 인자처럼
+// Redis 가 정상이어도 발생하는 예외는 호출자에게 그대로 전달하되 브레이커에는 정상 호출로 기록한다
+@Slf4j
+@Primary
+@Service
+public class CircuitBreakingRedisCacheService implements RedisCacheService {
+
+    private final RedisCacheService delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final boolean enabled;
+    private final Counter rejectedCalls;
+
+    @Autowired
+    public CircuitBreakingRedisCacheService(@Qualifier("redisCacheServiceImpl") RedisCacheService delegate,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${redis.circuit-breaker.enabled:true}") boolean enabled,
+                                            @Value("${redis.circuit-breaker.window-size:50}") int windowSize,
+                                            @Value("${redis.circuit-breaker.minimum-calls:20}") int minimumCalls,
+                                            @Value("${redis.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                                            @Value("${redis.circuit-breaker.slow-call-threshold:250ms}") Duration slowCallThreshold,
+                                            @Value("${redis.circuit-breaker.open-duration:10s}") Duration openDuration,
+                                            @Value("${redis.circuit-breaker.half-open-calls:5}") int halfOpenCalls) {
+        this(delegate, meterRegistry, enabled, new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                slowCallThreshold, openDuration, halfOpenCalls));
+    }
+
+    // 시계를 제어할 수 있는 브레이커나 가짜 RedisCacheService 로 상태 전이를 확인할 때 사용
+    public CircuitBreakingRedisCacheService(RedisCacheService delegate, MeterRegistry meterRegistry,
+                                            boolean enabled, CircuitBreaker circuitBreaker) {
+        this(delegate, meterRegistry, enabled, circuitBreaker, Tags.empty());
+    }
+
+    // 토큰 저장소 샤드처럼 Redis 마다 브레이커를 둘 때 tags 로 메트릭을 구분
+    public CircuitBreakingRedisCacheService(RedisCacheService delegate, MeterRegistry meterRegistry,
+                                            boolean enabled, CircuitBreaker circuitBreaker, Tags tags) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.enabled = enabled;
+        this.rejectedCalls = Counter.builder("redis.circuit_breaker.rejected")
+                .description("Redis calls rejected while the circuit breaker was open")
+                .tags(tags)
+                .register(meterRegistry);
+
+        Gauge.builder("redis.circuit_breaker.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0: closed, 1: open, 2: half-open")
+                .tags(tags)
+                .register(meterRegistry);
+        circuitBreaker.addListener((from, to) -> {
+            Counter.builder("redis.circuit_breaker.transitions")
+                    .tag("from", from.name())
+                    .tag("to", to.name())
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Redis circuit breaker {} -> {} {}", from, to, tags);
+        });
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    @Override
+    public <K, V> void setKeyAndValue(K key, V value) {
+        run(() -> delegate.setKeyAndValue(key, value));
+    }
+
+    @Override
+    public <K, V> void setKeyAndValue(K key, V value, Duration timeout) {
+        run(() -> delegate.setKeyAndValue(key, value, timeout));
+    }
+
+    @Override
+    public <T> T getValueByKey(String key, Class<T> clazz) {
+        return call(() -> delegate.getValueByKey(key, clazz));
+    }
+
+    @Override
+    public void deleteByKey(String token) {
+        run(() -> delegate.deleteByKey(token));
+    }
+
+    @Override
+    public void setValueWithExpiration(String key, String value, Duration duration) {
+        run(() -> delegate.setValueWithExpiration(key, value, duration));
+    }
+
+    @Override
+    public <T> void setObject(String key, T value, Duration duration) {
+        run(() -> delegate.setObject(key, value, duration));
+    }
+
+    @Override
+    public <T> T getObject(String key, Class<T> type) {
+        return call(() -> delegate.getObject(key, type));
+    }
+
+    @Override
+    public List<String> setIndexedValues(List<IndexedValue> values) {
+        return call(() -> delegate.setIndexedValues(values));
+    }
+
+    @Override
+    public String getValue(String key) {
+        return call(() -> delegate.getValue(key));
+    }
+
+    @Override
+    public List<String> getValues(List<String> keys) {
+        return call(() -> delegate.getValues(keys));
+    }
+
+    @Override
+    public void setValuesWithExpiration(Map<String, String> values, Duration duration) {
+        run(() -> delegate.setValuesWithExpiration(values, duration));
+    }
+
+    @Override
+    public ExpiringValue getFirstValueWithExpiration(List<String> keys) {
+        return call(() -> delegate.getFirstValueWithExpiration(keys));
+    }
+
+    @Override
+    public ExpiringValue getFirstValueWithExpiration(List<String> keys, SlidingExpiration sliding) {
+        return call(() -> delegate.getFirstValueWithExpiration(keys, sliding));
+    }
+
+    @Override
+    public List<ExpiringValue> getFirstValuesWithExpiration(List<List<String>> keyGroups) {
+        return call(() -> delegate.getFirstValuesWithExpiration(keyGroups));
+    }
+
+    @Override
+    public void deleteValue(String key) {
+        run(() -> delegate.deleteValue(key));
+    }
+
+    @Override
+    public long deleteValues(List<String> keys) {
+        return call(() -> delegate.deleteValues(keys));
+    }
+
+    @Override
+    public void removeIndexMember(String indexKey, String member) {
+        run(() -> delegate.removeIndexMember(indexKey, member));
+    }
+
+    @Override
+    public long deleteIndexedValues(Map<String, List<String>> indexKeyPrefixes) {
+        return call(() -> delegate.deleteIndexedValues(indexKeyPrefixes));
+    }
+
+    @Override
+    public void setExpiration(String key, Duration duration) {
+        run(() -> delegate.setExpiration(key, duration));
+    }
+
+    @Override
+    public void addToSet(String key, String value) {
+        run(() -> delegate.addToSet(key, value));
+    }
+
+    @Override
+    public void removeFromSet(String key, String value) {
+        run(() -> delegate.removeFromSet(key, value));
+    }
+
+    @Override
+    public Set<String> getSetMembers(String key) {
+        return call(() -> delegate.getSetMembers(key));
+    }
+
+    @Override
+    public void addToSortedSet(String key, String value, double score) {
+        run(() -> delegate.addToSortedSet(key, value, score));
+    }
+
+    @Override
+    public Set<String> getSortedSetRangeByScore(String key, double min, double max) {
+        return call(() -> delegate.getSortedSetRangeByScore(key, min, max));
+    }
+
+    @Override
+    public void removeSortedSetRangeByScore(String key, double min, double max) {
+        run(() -> delegate.removeSortedSetRangeByScore(key, min, max));
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        run(() -> delegate.publish(channel, message));
+    }
+
+    @Override
+    public List<Object> executeBatch(RedisBatch batch) {
+        return call(() -> delegate.executeBatch(batch));
+    }
+
+    @Override
+    public <T> T executeScript(RedisScript<T> script, List<String> keys, String... args) {
+        return call(() -> delegate.executeScript(script, keys, args));
+    }
+
+    @Override
+    public <T> T executeBinaryScript(RedisScript<T> script, List<String> keys, String... args) {
+        return call(() -> delegate.executeBinaryScript(script, keys, args));
+    }
+
+    private void run(Runnable command) {
+        call(() -> {
+            command.run();
+            return null;
+        });
+    }
+
+    private <T> T call(Supplier<T> command) {
+        if (!enabled) {
+            return command.get();
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            rejectedCalls.increment();
+            throw new RedisUnavailableException("Redis circuit breaker is open");
+        }
+
+        long start = circuitBreaker.now();
+        boolean failed = true;
+        try {
+            T result = command.get();
+            failed = false;
+            return result;
+        } catch (RuntimeException e) {
+            failed = isRedisFailure(e);
+            throw e;
+        } finally {
+            circuitBreaker.onResult(circuitBreaker.now() - start, failed);
+        }
+    }
+
+    // Spring 이 변환한 예외 또는 원인 중에 연결/타임아웃 오류가 있는 예외
+    static boolean isRedisFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessException
+                    || cause instanceof RedisConnectionException
+                    || cause instanceof RedisCommandTimeoutException
+                    || cause instanceof TimeoutException
+                    || cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
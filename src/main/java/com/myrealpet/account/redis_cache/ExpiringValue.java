@@ -0,0 +1,26 @@
+package com.myrealpet.account.redis_cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ExpiringValue {
+    private final String value;
+    private final long ttlMillis;
+
+    // 스크립트가 반환한 (값, TTL) 쌍 목록을 변환. 값이 없는 쌍은 null
+    public static List<ExpiringValue> fromPairs(List<Object> pairs) {
+        List<ExpiringValue> values = new ArrayList<>(pairs.size() / 2);
+        for (int i = 0; i + 1 < pairs.size(); i += 2) {
+            Long ttlMillis = (Long) pairs.get(i + 1);
+            values.add(pairs.get(i) != null
+                    ? new ExpiringValue((String) pairs.get(i), ttlMillis != null ? ttlMillis : -1L)
+                    : null);
+        }
+        return values;
+    }
+}
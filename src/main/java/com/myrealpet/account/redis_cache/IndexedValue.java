@@ -0,0 +1,25 @@
+package com.myrealpet.account.redis_cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+
+// 값 키와, 해당 키를 멤버로 가지는 인덱스 Sorted Set(점수: 만료 시각)을 함께 기록하기 위한 엔트리.
+// maxIndexSize 를 넘으면 만료가 가장 이른 멤버부터 인덱스에서 빼고 indexValuePrefixes 의 값 키도 삭제한다.
+@Getter
+@AllArgsConstructor
+public class IndexedValue {
+    private final String key;
+    private final String value;
+    private final String indexKey;
+    private final String indexMember;
+    private final Duration expiration;
+    private final List<String> indexValuePrefixes;
+    private final int maxIndexSize;
+
+    public IndexedValue(String key, String value, String indexKey, String indexMember, Duration expiration) {
+        this(key, value, indexKey, indexMember, expiration, List.of(), 0);
+    }
+}
@@ -0,0 +1,293 @@
+package com.myrealpet.account.redis_cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.myrealpet.account.util.InvalidationStamps;
+import com.myrealpet.account.util.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 조회 결과용 2 단계 캐시. L1 은 노드 로컬 Caffeine, L2 는 Redis(<name>:<키>, CBOR) 이며 둘 다 없으면 loader(DB) 로 채운다.
+// - 같은 키의 동시 미스는 노드 안에서 하나의 로딩으로 합친다 (L2 조회와 loader 실행 모두)
+// - 값마다 loader 실행 시간과 논리 만료 시각을 함께 저장하고, 만료가 가까울수록 높은 확률로 조회 하나가 미리 다시 읽는다
+//   (XFetch: now - 실행시간 * beta * ln(rand) >= 만료 시각). 나머지 조회는 그동안 기존 값을 받는다
+// - invalidate 는 커밋 후 L1/L2 를 지우고 pub/sub 으로 다른 노드의 L1 도 지운다
+// - L2 는 키별 버전(<name>_version:<키>)을 두고 무효화마다 올린다. 로딩 전에 읽은 버전이 바뀌었으면 L2 에 저장하지 않아
+//   다른 노드의 무효화보다 늦게 끝난 로딩이 이전 값을 다시 캐시하지 않는다
+// 없는 값(Optional.empty)은 캐시하지 않는다
+@Slf4j
+public class ReadThroughCache<K, V> implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache_invalidation";
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<String>> GET_SCRIPT =
+            (RedisScript) RedisScript.of(new ClassPathResource("scripts/cache_get_versioned.lua"), List.class);
+
+    private static final RedisScript<Long> SET_IF_VERSION_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/cache_set_if_version.lua"), Long.class);
+
+    private static final RedisScript<Long> EVICT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/cache_evict.lua"), Long.class);
+
+    private final String name;
+    private final String keyPrefix;
+    private final String versionKeyPrefix;
+    private final Class<V> type;
+    private final RedisCacheService redisCacheService;
+    private final long localTtlNanos;
+    private final Duration ttl;
+    private final double earlyRefreshBeta;
+    private final CborCodec codec = new CborCodec();
+    private final Cache<String, Entry<V>> local;
+    private final SingleFlight<String, Optional<V>> flights = new SingleFlight<>();
+    // 로딩 중에 같은 키가 무효화됐는지 확인해 이전 값을 다시 캐시하지 않는다. 다른 키의 무효화는 로딩 결과를 버리지 않는다
+    private final InvalidationStamps invalidations = new InvalidationStamps(1024);
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteErrors;
+    private final Counter earlyRefreshes;
+
+    // redisCacheService 가 null 이면 L1 만 사용하며 값의 논리 만료는 localTtl 이 된다
+    public ReadThroughCache(String name, Class<V> type,
+                            RedisCacheService redisCacheService, RedisMessageListenerContainer listenerContainer,
+                            MeterRegistry meterRegistry, long maximumSize,
+                            Duration localTtl, Duration redisTtl, double earlyRefreshBeta) {
+        this.name = name;
+        this.keyPrefix = name + ":";
+        this.versionKeyPrefix = name + "_version:";
+        this.type = type;
+        this.redisCacheService = redisCacheService;
+        this.localTtlNanos = localTtl.toNanos();
+        this.ttl = redisCacheService != null ? redisTtl : localTtl;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new EntryExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name);
+        this.remoteHits = meterRegistry.counter("read_through_cache.redis", "cache", name, "result", "hit");
+        this.remoteMisses = meterRegistry.counter("read_through_cache.redis", "cache", name, "result", "miss");
+        this.remoteErrors = meterRegistry.counter("read_through_cache.redis", "cache", name, "result", "error");
+        this.earlyRefreshes = meterRegistry.counter("read_through_cache.early_refresh", "cache", name);
+        FunctionCounter.builder("read_through_cache.coalesced", flights, SingleFlight::joinedCount)
+                .description("Lookups that shared another lookup's in-flight load")
+                .tag("cache", name)
+                .register(meterRegistry);
+
+        if (redisCacheService != null) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        }
+    }
+
+    public Optional<V> get(K key, Supplier<Optional<V>> loader) {
+        String cacheKey = keyPrefix + key;
+        Entry<V> entry = local.getIfPresent(cacheKey);
+        if (entry != null && (!shouldRefreshEarly(entry) || flights.isLoading(cacheKey))) {
+            return Optional.of(entry.value());
+        }
+        if (entry != null) {
+            earlyRefreshes.increment();
+        }
+        return flights.load(cacheKey, () -> load(key, cacheKey, loader));
+    }
+
+    // 진행 중인 트랜잭션이 있으면 커밋 후에 지워 커밋 전 값이 다시 캐시되지 않도록 한다
+    public void invalidate(K key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(key);
+                }
+            });
+        } else {
+            evict(key);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String cacheKey = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (cacheKey.startsWith(keyPrefix)) {
+            evictLocal(cacheKey);
+        }
+    }
+
+    // 다른 노드가 이미 다시 읽어 L2 를 갱신했으면 그 값을 사용
+    private Optional<V> load(K key, String cacheKey, Supplier<Optional<V>> loader) {
+        long stamp = invalidations.stamp();
+        Remote<V> remote = getRemote(key, cacheKey);
+        if (remote != null && remote.entry() != null && !shouldRefreshEarly(remote.entry())) {
+            putLocal(cacheKey, remote.entry(), stamp);
+            return Optional.of(remote.entry().value());
+        }
+
+        long startedAt = System.nanoTime();
+        Optional<V> loaded = loader.get();
+        long computeMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        loaded.ifPresent(value -> put(key, cacheKey,
+                new Entry<>(value, computeMillis, System.currentTimeMillis() + ttl.toMillis()), stamp,
+                remote != null ? remote.version() : null));
+        return loaded;
+    }
+
+    private boolean shouldRefreshEarly(Entry<V> entry) {
+        if (earlyRefreshBeta <= 0) {
+            return false;
+        }
+
+        double gap = -entry.computeMillis() * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= entry.expiresAtMillis();
+    }
+
+    // version 은 로딩 전에 L2 에서 읽은 버전이며, 읽지 못했으면(null) L2 에는 저장하지 않는다
+    private void put(K key, String cacheKey, Entry<V> entry, long stamp, String version) {
+        if (invalidations.isInvalidatedSince(cacheKey, stamp)) {
+            return;
+        }
+
+        putLocal(cacheKey, entry, stamp);
+        if (version == null) {
+            return;
+        }
+
+        try {
+            byte[] value = codec.encode(new RemoteEntry(codec.encode(entry.value()), entry.computeMillis(), entry.expiresAtMillis()));
+            Long stored = redisCacheService.executeBinaryScript(SET_IF_VERSION_SCRIPT,
+                    List.of(binary(cacheKey), binary(versionKeyPrefix + key)),
+                    version, new String(value, StandardCharsets.ISO_8859_1), String.valueOf(ttl.toMillis()));
+            if (stored == null || stored == 0) {
+                log.debug("Skipped caching stale {} {}", name, cacheKey);
+            }
+        } catch (DataAccessException | SerializationException e) {
+            log.debug("Failed to cache {}: {}", cacheKey, e.getMessage());
+        }
+    }
+
+    // evictLocal 은 스탬프를 올린 뒤 같은 키를 지우므로, 확인과 저장을 키 잠금 안에서 하면 무효화 후에 값이 남지 않는다
+    private void putLocal(String cacheKey, Entry<V> entry, long stamp) {
+        local.asMap().compute(cacheKey,
+                (ignored, current) -> invalidations.isInvalidatedSince(cacheKey, stamp) ? current : entry);
+    }
+
+    // L2 값과 그 버전을 함께 읽는다. Redis 를 쓰지 않거나 장애면 null 이며, 형식이 다른 값은 버전만 가진 캐시 미스로 처리한다
+    private Remote<V> getRemote(K key, String cacheKey) {
+        if (redisCacheService == null) {
+            return null;
+        }
+
+        List<String> result;
+        try {
+            result = redisCacheService.executeBinaryScript(GET_SCRIPT,
+                    List.of(binary(cacheKey), binary(versionKeyPrefix + key)));
+        } catch (DataAccessException e) {
+            remoteErrors.increment();
+            return null;
+        }
+        if (result == null || result.isEmpty()) {
+            remoteErrors.increment();
+            return null;
+        }
+
+        String version = result.get(0);
+        String value = result.size() > 1 ? result.get(1) : null;
+        if (value == null) {
+            remoteMisses.increment();
+            return new Remote<>(null, version);
+        }
+
+        try {
+            RemoteEntry remote = codec.decode(value.getBytes(StandardCharsets.ISO_8859_1), RemoteEntry.class);
+            if (remote.value() == null) {
+                remoteMisses.increment();
+                return new Remote<>(null, version);
+            }
+            remoteHits.increment();
+            return new Remote<>(new Entry<>(codec.decode(remote.value(), type), remote.computeMillis(), remote.expiresAtMillis()),
+                    version);
+        } catch (SerializationException e) {
+            remoteErrors.increment();
+            return new Remote<>(null, version);
+        }
+    }
+
+    private void evict(K key) {
+        String cacheKey = keyPrefix + key;
+        evictLocal(cacheKey);
+        if (redisCacheService == null) {
+            return;
+        }
+
+        try {
+            redisCacheService.executeScript(EVICT_SCRIPT, List.of(cacheKey, versionKeyPrefix + key),
+                    String.valueOf(ttl.toMillis()), INVALIDATION_CHANNEL);
+        } catch (DataAccessException e) {
+            log.warn("Failed to invalidate cached {} {}: {}", name, cacheKey, e.getMessage());
+        }
+    }
+
+    // 바이너리 스크립트는 키도 ISO-8859-1 로 직렬화하므로 UTF-8 키(한글 username 등)를 바이트 그대로 넘긴다
+    private static String binary(String key) {
+        return new String(key.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+    }
+
+    private void evictLocal(String cacheKey) {
+        invalidations.invalidate(cacheKey);
+        local.invalidate(cacheKey);
+    }
+
+    private record Entry<V>(V value, long computeMillis, long expiresAtMillis) {
+    }
+
+    private record Remote<V>(Entry<V> entry, String version) {
+    }
+
+    // L2 에 저장하는 형식. 값은 타입별 CBOR 로 따로 인코딩해 담는다
+    record RemoteEntry(byte[] value, long computeMillis, long expiresAtMillis) {
+    }
+
+    // L1 은 localTtl 과 논리 만료 중 이른 시각에 만료
+    private class EntryExpiry implements Expiry<String, Entry<V>> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry<V> entry, long currentTime) {
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(entry.expiresAtMillis() - System.currentTimeMillis());
+            return Math.max(0, Math.min(localTtlNanos, remainingNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry<V> entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry<V> entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
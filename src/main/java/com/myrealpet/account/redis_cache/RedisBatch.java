@@ -0,0 +1,109 @@
+package com.myrealpet.account.redis_cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// RedisCacheService.executeBatch 로 한 번의 파이프라인 왕복에 보낼 명령 목록.
+// 결과는 추가한 순서대로 반환되며 명령별 결과 타입은 다음과 같다.
+// get: String(없으면 null), set/expire/addToSortedSet: Boolean, delete/removeIndexMember/removeSortedSetRangeByScore/publish: Long,
+// getSortedSetRangeByScore: Set<String>
+// 파이프라인은 원자적이지 않으므로 원자성이 필요한 처리는 스크립트를 사용해야 한다
+public class RedisBatch {
+
+    private final List<Operation> operations = new ArrayList<>();
+
+    public RedisBatch get(String key) {
+        return add(new Get(key));
+    }
+
+    public RedisBatch set(String key, String value, Duration duration) {
+        return add(new Set(key, value, duration));
+    }
+
+    public RedisBatch delete(List<String> keys) {
+        return keys.isEmpty() ? this : add(new Delete(List.copyOf(keys)));
+    }
+
+    public RedisBatch expire(String key, Duration duration) {
+        return add(new Expire(key, duration));
+    }
+
+    public RedisBatch removeIndexMember(String indexKey, String member) {
+        return add(new RemoveIndexMember(indexKey, member));
+    }
+
+    public RedisBatch addToSortedSet(String key, String value, double score) {
+        return add(new AddToSortedSet(key, value, score));
+    }
+
+    public RedisBatch getSortedSetRangeByScore(String key, double min, double max) {
+        return add(new GetSortedSetRangeByScore(key, min, max));
+    }
+
+    public RedisBatch removeSortedSetRangeByScore(String key, double min, double max) {
+        return add(new RemoveSortedSetRangeByScore(key, min, max));
+    }
+
+    public RedisBatch publish(String channel, String message) {
+        return add(new Publish(channel, message));
+    }
+
+    public int size() {
+        return operations.size();
+    }
+
+    List<Operation> operations() {
+        return Collections.unmodifiableList(operations);
+    }
+
+    private RedisBatch add(Operation operation) {
+        operations.add(operation);
+        return this;
+    }
+
+    // key: 메트릭 키스페이스 구분용 대표 키
+    sealed interface Operation {
+        String key();
+    }
+
+    record Get(String key) implements Operation {
+    }
+
+    record Set(String key, String value, Duration duration) implements Operation {
+    }
+
+    record Delete(List<String> keys) implements Operation {
+        @Override
+        public String key() {
+            return keys.get(0);
+        }
+    }
+
+    record Expire(String key, Duration duration) implements Operation {
+    }
+
+    record RemoveIndexMember(String indexKey, String member) implements Operation {
+        @Override
+        public String key() {
+            return indexKey;
+        }
+    }
+
+    record AddToSortedSet(String key, String value, double score) implements Operation {
+    }
+
+    record GetSortedSetRangeByScore(String key, double min, double max) implements Operation {
+    }
+
+    record RemoveSortedSetRangeByScore(String key, double min, double max) implements Operation {
+    }
+
+    record Publish(String channel, String message) implements Operation {
+        @Override
+        public String key() {
+            return channel;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.myrealpet.account.redis_cache;
 
+import org.springframework.data.redis.core.script.RedisScript;
+
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public interface RedisCacheService {
@@ -10,10 +14,42 @@ public interface RedisCacheService {
     void deleteByKey(String token);
 
     void setValueWithExpiration(String key, String value, Duration duration);
+
+    // 객체를 CBOR 로 직렬화해 저장/조회. 엔티티나 DTO 처럼 구조가 있는 값을 캐시할 때 사용
+    <T> void setObject(String key, T value, Duration duration);
+    <T> T getObject(String key, Class<T> type);
+
+    List<String> setIndexedValues(List<IndexedValue> values);
     String getValue(String key);
+    // 요청한 키 순서대로 값을 반환. 없는 키는 null
+    List<String> getValues(List<String> keys);
+    void setValuesWithExpiration(Map<String, String> values, Duration duration);
+    ExpiringValue getFirstValueWithExpiration(List<String> keys);
+    // 조회와 같은 왕복 안에서 수명의 일정 비율이 지난 키의 만료를 연장
+    ExpiringValue getFirstValueWithExpiration(List<String> keys, SlidingExpiration sliding);
+    // 키 그룹마다 getFirstValueWithExpiration 결과를 한 번의 왕복으로 조회. 없는 그룹은 null
+    List<ExpiringValue> getFirstValuesWithExpiration(List<List<String>> keyGroups);
     void deleteValue(String key);
+    // 삭제된 키 수를 반환
+    long deleteValues(List<String> keys);
+    void removeIndexMember(String indexKey, String member);
+    long deleteIndexedValues(Map<String, List<String>> indexKeyPrefixes);
     void setExpiration(String key, Duration duration);
     void addToSet(String key, String value);
     void removeFromSet(String key, String value);
     Set<String> getSetMembers(String key);
+
+    void addToSortedSet(String key, String value, double score);
+    Set<String> getSortedSetRangeByScore(String key, double min, double max);
+    void removeSortedSetRangeByScore(String key, double min, double max);
+
+    void publish(String channel, String message);
+
+    // 배치의 명령들을 한 번의 파이프라인 왕복으로 실행하고 결과를 명령 순서대로 반환
+    List<Object> executeBatch(RedisBatch batch);
+
+    <T> T executeScript(RedisScript<T> script, List<String> keys, String... args);
+
+    // 키/인자/결과 문자열을 ISO-8859-1 로 변환해 각 문자를 바이트 하나로 그대로 전달하는 스크립트 실행
+    <T> T executeBinaryScript(RedisScript<T> script, List<String> keys, String... args);
 }
@@ -1,21 +1,77 @@
 package com.myrealpet.account.redis_cache;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.myrealpet.account.redis_cache.RedisMetrics.Operation;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RedisCacheServiceImpl implements RedisCacheService {
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<Object>> FIRST_VALUE_WITH_TTL_SCRIPT =
+            (RedisScript) RedisScript.of(new ClassPathResource("scripts/first_value_with_ttl.lua"), List.class);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<Object>> FIRST_VALUES_WITH_TTL_SCRIPT =
+            (RedisScript) RedisScript.of(new ClassPathResource("scripts/first_values_with_ttl.lua"), List.class);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<String>> SET_INDEXED_VALUES_SCRIPT =
+            (RedisScript) RedisScript.of(new ClassPathResource("scripts/set_indexed_values.lua"), List.class);
+
+    private static final RedisScript<Long> REMOVE_INDEX_MEMBER_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/remove_index_member.lua"), Long.class);
+
+    private static final RedisScript<Long> DELETE_INDEXED_VALUES_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/delete_indexed_values.lua"), Long.class);
+
+    private static final StringRedisSerializer BINARY_SERIALIZER = new StringRedisSerializer(StandardCharsets.ISO_8859_1);
+
     final private StringRedisTemplate redisTemplate;
+    final private StringRedisTemplate binaryRedisTemplate;
+    final private RedisTemplate<String, byte[]> objectRedisTemplate;
+    final private CborCodec cborCodec = new CborCodec();
+    final private RedisMetrics metrics;
+
+    public RedisCacheServiceImpl(StringRedisTemplate redisTemplate, RedisMetrics metrics) {
+        this.redisTemplate = redisTemplate;
+        this.metrics = metrics;
+        this.binaryRedisTemplate = new StringRedisTemplate();
+        binaryRedisTemplate.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        binaryRedisTemplate.setKeySerializer(BINARY_SERIALIZER);
+        binaryRedisTemplate.setValueSerializer(BINARY_SERIALIZER);
+        binaryRedisTemplate.setHashKeySerializer(BINARY_SERIALIZER);
+        binaryRedisTemplate.setHashValueSerializer(BINARY_SERIALIZER);
+        binaryRedisTemplate.afterPropertiesSet();
+
+        this.objectRedisTemplate = new RedisTemplate<>();
+        objectRedisTemplate.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        objectRedisTemplate.setKeySerializer(RedisSerializer.string());
+        objectRedisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        objectRedisTemplate.afterPropertiesSet();
+    }
 
     @Override
     public <K, V> void setKeyAndValue(K key, V value) {
@@ -28,13 +84,15 @@ public class RedisCacheServiceImpl implements RedisCacheService {
         String valueAsString = String.valueOf(value);
 
         ValueOperations<String, String> valueOps = redisTemplate.opsForValue();
-        valueOps.set(keyAsString, valueAsString, timeout);
+        metrics.payload(Operation.SET, keyAsString, valueAsString.length());
+        metrics.run(Operation.SET, keyAsString, () -> valueOps.set(keyAsString, valueAsString, timeout));
     }
 
     @Override
     public <T> T getValueByKey(String key, Class<T> clazz) {
         ValueOperations<String, String> ops = redisTemplate.opsForValue();
-        String value = ops.get(key);
+        String value = metrics.call(Operation.GET, key, () -> ops.get(key));
+        metrics.lookup(Operation.GET, key, value);
 
         if(value == null) {
             return null;
@@ -57,46 +115,286 @@ public class RedisCacheServiceImpl implements RedisCacheService {
 
     @Override
     public void deleteByKey(String token) {
-        redisTemplate.delete(token);
+        metrics.run(Operation.DELETE, token, () -> redisTemplate.delete(token));
     }
 
     @Override
     public void setValueWithExpiration(String key, String value, Duration duration) {
         ValueOperations<String, String> valueOps = redisTemplate.opsForValue();
-        valueOps.set(key, value, duration);
+        metrics.payload(Operation.SET, key, value.length());
+        metrics.run(Operation.SET, key, () -> valueOps.set(key, value, duration));
+    }
+
+    @Override
+    public <T> void setObject(String key, T value, Duration duration) {
+        byte[] bytes = cborCodec.encode(value);
+        metrics.payload(Operation.SET_OBJECT, key, bytes.length);
+        metrics.run(Operation.SET_OBJECT, key, () -> objectRedisTemplate.opsForValue().set(key, bytes, duration));
+    }
+
+    @Override
+    public <T> T getObject(String key, Class<T> type) {
+        byte[] bytes = metrics.call(Operation.GET_OBJECT, key, () -> objectRedisTemplate.opsForValue().get(key));
+        metrics.lookup(Operation.GET_OBJECT, key, bytes != null, bytes != null ? bytes.length : 0);
+        return bytes != null ? cborCodec.decode(bytes, type) : null;
+    }
+
+    @Override
+    public List<String> setIndexedValues(List<IndexedValue> values) {
+        List<String> keys = new ArrayList<>(values.size() * 2);
+        List<String> args = new ArrayList<>(values.size() * 5 + 1);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        for (IndexedValue value : values) {
+            keys.add(value.getKey());
+            keys.add(value.getIndexKey());
+            args.add(value.getValue());
+            args.add(value.getIndexMember());
+            args.add(String.valueOf(value.getExpiration().toMillis()));
+            args.add(String.valueOf(value.getMaxIndexSize()));
+            args.add(String.join(" ", value.getIndexValuePrefixes()));
+            metrics.payload(Operation.SET_INDEXED, value.getKey(), value.getValue().length());
+        }
+
+        // 값 저장, 인덱스 갱신, 만료 멤버 정리, 최대 크기 초과분 제거를 한 번의 스크립트 호출로 처리
+        List<String> evicted = metrics.call(Operation.SET_INDEXED, first(keys),
+                () -> redisTemplate.execute(SET_INDEXED_VALUES_SCRIPT, keys, args.toArray()));
+        return evicted != null ? evicted : List.of();
     }
 
     @Override
     public String getValue(String key) {
         ValueOperations<String, String> valueOps = redisTemplate.opsForValue();
-        return valueOps.get(key);
+        String value = metrics.call(Operation.GET, key, () -> valueOps.get(key));
+        metrics.lookup(Operation.GET, key, value);
+        return value;
+    }
+
+    @Override
+    public List<String> getValues(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        List<String> values = metrics.call(Operation.MGET, keys.get(0), () -> redisTemplate.opsForValue().multiGet(keys));
+        if (values == null) {
+            return List.of();
+        }
+        for (int i = 0; i < values.size(); i++) {
+            metrics.lookup(Operation.MGET, keys.get(i), values.get(i));
+        }
+        return values;
+    }
+
+    // MSET 은 만료를 지정할 수 없으므로 SET PX 를 파이프라인으로 전송
+    @Override
+    public void setValuesWithExpiration(Map<String, String> values, Duration duration) {
+        RedisBatch batch = new RedisBatch();
+        values.forEach((key, value) -> batch.set(key, value, duration));
+        executeBatch(batch);
+    }
+
+    @Override
+    public ExpiringValue getFirstValueWithExpiration(List<String> keys) {
+        // 여러 키스페이스를 서버 측 스크립트로 한 번에 조회
+        return lookupFirst(keys, metrics.call(Operation.GET_FIRST, first(keys),
+                () -> redisTemplate.execute(FIRST_VALUE_WITH_TTL_SCRIPT, keys)));
+    }
+
+    @Override
+    public ExpiringValue getFirstValueWithExpiration(List<String> keys, SlidingExpiration sliding) {
+        List<String> args = new ArrayList<>(keys.size() + 4);
+        args.add(String.valueOf(sliding.getRefreshFraction()));
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(sliding.getIndexKeyPrefix());
+        args.add(sliding.getIndexMember());
+        sliding.getLifetimes().forEach(lifetime -> args.add(String.valueOf(lifetime.toMillis())));
+
+        return lookupFirst(keys, metrics.call(Operation.GET_FIRST, first(keys),
+                () -> redisTemplate.execute(FIRST_VALUE_WITH_TTL_SCRIPT, keys, args.toArray())));
+    }
+
+    private ExpiringValue lookupFirst(List<String> keys, List<Object> result) {
+        ExpiringValue value = toExpiringValue(result);
+        metrics.lookup(Operation.GET_FIRST, first(keys), value != null ? value.getValue() : null);
+        return value;
+    }
+
+    // 스크립트의 nil 반환은 null 하나만 담긴 리스트로 온다
+    private static ExpiringValue toExpiringValue(List<Object> result) {
+        if (result == null || result.size() < 2) {
+            return null;
+        }
+
+        Long ttlMillis = (Long) result.get(1);
+        return new ExpiringValue((String) result.get(0), ttlMillis != null ? ttlMillis : -1L);
+    }
+
+    @Override
+    public List<ExpiringValue> getFirstValuesWithExpiration(List<List<String>> keyGroups) {
+        if (keyGroups.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> keys = new ArrayList<>(keyGroups.size() * 2);
+        String[] groupSizes = new String[keyGroups.size()];
+        for (int i = 0; i < keyGroups.size(); i++) {
+            keys.addAll(keyGroups.get(i));
+            groupSizes[i] = String.valueOf(keyGroups.get(i).size());
+        }
+
+        List<Object> result = metrics.call(Operation.GET_FIRST_EACH, first(keys),
+                () -> redisTemplate.execute(FIRST_VALUES_WITH_TTL_SCRIPT, keys, (Object[]) groupSizes));
+        List<ExpiringValue> values = ExpiringValue.fromPairs(result != null ? result : List.of());
+        for (int i = 0; i < values.size(); i++) {
+            ExpiringValue value = values.get(i);
+            metrics.lookup(Operation.GET_FIRST_EACH, first(keyGroups.get(i)), value != null ? value.getValue() : null);
+        }
+        return values;
     }
 
     @Override
     public void deleteValue(String key) {
-        redisTemplate.delete(key);
+        metrics.run(Operation.DELETE, key, () -> redisTemplate.delete(key));
+    }
+
+    @Override
+    public long deleteValues(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long deleted = metrics.call(Operation.DELETE, keys.get(0), () -> redisTemplate.delete(keys));
+        return deleted != null ? deleted : 0;
+    }
+
+    @Override
+    public void removeIndexMember(String indexKey, String member) {
+        metrics.run(Operation.REMOVE_INDEX_MEMBER, indexKey,
+                () -> redisTemplate.execute(REMOVE_INDEX_MEMBER_SCRIPT, List.of(indexKey), member));
+    }
+
+    @Override
+    public long deleteIndexedValues(Map<String, List<String>> indexKeyPrefixes) {
+        List<String> indexKeys = new ArrayList<>(indexKeyPrefixes.size());
+        List<String> prefixes = new ArrayList<>(indexKeyPrefixes.size());
+        indexKeyPrefixes.forEach((indexKey, valuePrefixes) -> {
+            indexKeys.add(indexKey);
+            prefixes.add(String.join(" ", valuePrefixes));
+        });
+
+        Long removed = metrics.call(Operation.DELETE_INDEXED, first(indexKeys),
+                () -> redisTemplate.execute(DELETE_INDEXED_VALUES_SCRIPT, indexKeys, prefixes.toArray()));
+        return removed != null ? removed : 0L;
     }
 
     @Override
     public void setExpiration(String key, Duration duration) {
-        redisTemplate.expire(key, duration);
+        metrics.run(Operation.EXPIRE, key, () -> redisTemplate.expire(key, duration));
     }
 
     @Override
     public void addToSet(String key, String value) {
         SetOperations<String, String> setOps = redisTemplate.opsForSet();
-        setOps.add(key, value);
+        metrics.run(Operation.SET_ADD, key, () -> setOps.add(key, value));
     }
 
     @Override
     public void removeFromSet(String key, String value) {
         SetOperations<String, String> setOps = redisTemplate.opsForSet();
-        setOps.remove(key, value);
+        metrics.run(Operation.SET_REMOVE, key, () -> setOps.remove(key, value));
     }
 
     @Override
     public Set<String> getSetMembers(String key) {
         SetOperations<String, String> setOps = redisTemplate.opsForSet();
-        return setOps.members(key);
+        return metrics.call(Operation.SET_MEMBERS, key, () -> setOps.members(key));
+    }
+
+    @Override
+    public void addToSortedSet(String key, String value, double score) {
+        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
+        metrics.run(Operation.ZSET_ADD, key, () -> zSetOps.add(key, value, score));
+    }
+
+    @Override
+    public Set<String> getSortedSetRangeByScore(String key, double min, double max) {
+        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
+        return metrics.call(Operation.ZSET_RANGE, key, () -> zSetOps.rangeByScore(key, min, max));
+    }
+
+    @Override
+    public void removeSortedSetRangeByScore(String key, double min, double max) {
+        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
+        metrics.run(Operation.ZSET_REMOVE_RANGE, key, () -> zSetOps.removeRangeByScore(key, min, max));
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        metrics.payload(Operation.PUBLISH, channel, message.length());
+        metrics.run(Operation.PUBLISH, channel, () -> redisTemplate.convertAndSend(channel, message));
+    }
+
+    @Override
+    public List<Object> executeBatch(RedisBatch batch) {
+        if (batch.size() == 0) {
+            return List.of();
+        }
+        List<RedisBatch.Operation> operations = batch.operations();
+        List<Object> results = metrics.call(Operation.BATCH, operations.get(0).key(),
+                () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection commands = (StringRedisConnection) connection;
+                    for (RedisBatch.Operation operation : operations) {
+                        pipeline(commands, operation);
+                    }
+                    return null;
+                }));
+
+        for (int i = 0; i < operations.size(); i++) {
+            RedisBatch.Operation operation = operations.get(i);
+            if (operation instanceof RedisBatch.Get get) {
+                metrics.lookup(Operation.BATCH_GET, get.key(), (String) results.get(i));
+            } else if (operation instanceof RedisBatch.Set set) {
+                metrics.payload(Operation.BATCH, set.key(), set.value().length());
+            }
+        }
+        return results;
+    }
+
+    private void pipeline(StringRedisConnection commands, RedisBatch.Operation operation) {
+        if (operation instanceof RedisBatch.Get get) {
+            commands.get(get.key());
+        } else if (operation instanceof RedisBatch.Set set) {
+            commands.set(set.key(), set.value(), Expiration.from(set.duration()), SetOption.upsert());
+        } else if (operation instanceof RedisBatch.Delete delete) {
+            commands.del(delete.keys().toArray(String[]::new));
+        } else if (operation instanceof RedisBatch.Expire expire) {
+            commands.pExpire(expire.key(), expire.duration().toMillis());
+        } else if (operation instanceof RedisBatch.RemoveIndexMember remove) {
+            // 파이프라인 안에서는 NOSCRIPT 재시도가 불가능하므로 EVALSHA 대신 EVAL 사용
+            commands.eval(REMOVE_INDEX_MEMBER_SCRIPT.getScriptAsString(), ReturnType.INTEGER, 1,
+                    remove.indexKey(), remove.member());
+        } else if (operation instanceof RedisBatch.AddToSortedSet add) {
+            commands.zAdd(add.key(), add.score(), add.value());
+        } else if (operation instanceof RedisBatch.GetSortedSetRangeByScore range) {
+            commands.zRangeByScore(range.key(), range.min(), range.max());
+        } else if (operation instanceof RedisBatch.RemoveSortedSetRangeByScore remove) {
+            commands.zRemRangeByScore(remove.key(), remove.min(), remove.max());
+        } else if (operation instanceof RedisBatch.Publish publish) {
+            commands.publish(publish.channel(), publish.message());
+        } else {
+            throw new IllegalArgumentException("Unsupported batch operation: " + operation);
+        }
+    }
+
+    @Override
+    public <T> T executeScript(RedisScript<T> script, List<String> keys, String... args) {
+        return metrics.call(Operation.SCRIPT, first(keys), () -> redisTemplate.execute(script, keys, (Object[]) args));
+    }
+
+    @Override
+    public <T> T executeBinaryScript(RedisScript<T> script, List<String> keys, String... args) {
+        return metrics.call(Operation.SCRIPT, first(keys), () -> binaryRedisTemplate.execute(script, keys, (Object[]) args));
+    }
+
+    private static String first(List<String> keys) {
+        return keys.isEmpty() ? null : keys.get(0);
     }
 }
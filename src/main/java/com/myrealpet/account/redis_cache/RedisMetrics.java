@@ -0,0 +1,178 @@
+package com.myrealpet.account.redis_cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// RedisCacheServiceImpl 명령별 지연 시간, 조회 hit/miss, 페이로드 크기 메트릭. 명령과 키스페이스(키의 첫 ':' 앞 부분)로 태그를 붙인다.
+// 태그 수가 늘어나지 않도록 keyspaces 에 없는 키스페이스는 other 로 묶고, 미터는 (명령, 키스페이스) 별로 처음 사용할 때 한 번만 만들어
+// 배열에 보관하므로 호출마다 맵 조회나 태그 생성이 없다. 페이로드 크기는 문자열 길이 기준(토큰/ID 값은 ASCII)
+@Component
+public class RedisMetrics {
+
+    static final String OTHER_KEYSPACE = "other";
+    static final String DEFAULT_KEYSPACES = "auth_token,access_token,refresh_token,refresh_used,refresh_family,user_tokens,t,"
+            + "revoked_token,revoked_account,revoked_tokens,account,account_username,account_profile,account_profile_nickname";
+
+    // 조회 명령은 hit/miss 와 읽은 값 크기, 쓰기 명령은 쓴 값 크기를 함께 기록
+    public enum Operation {
+        GET(Kind.LOOKUP), MGET(Kind.LOOKUP), GET_OBJECT(Kind.LOOKUP), GET_FIRST(Kind.LOOKUP),
+        GET_FIRST_EACH(Kind.LOOKUP), BATCH_GET(Kind.LOOKUP),
+        SET(Kind.WRITE), SET_OBJECT(Kind.WRITE), SET_INDEXED(Kind.WRITE), PUBLISH(Kind.WRITE), BATCH(Kind.WRITE),
+        DELETE(Kind.OTHER), EXPIRE(Kind.OTHER), REMOVE_INDEX_MEMBER(Kind.OTHER), DELETE_INDEXED(Kind.OTHER),
+        SET_ADD(Kind.OTHER), SET_REMOVE(Kind.OTHER), SET_MEMBERS(Kind.OTHER), ZSET_ADD(Kind.OTHER),
+        ZSET_RANGE(Kind.OTHER), ZSET_REMOVE_RANGE(Kind.OTHER), SCRIPT(Kind.OTHER);
+
+        private final String tag = name().toLowerCase();
+        private final Kind kind;
+
+        Operation(Kind kind) {
+            this.kind = kind;
+        }
+    }
+
+    private enum Kind {
+        LOOKUP, WRITE, OTHER
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final List<String> keyspaces;
+    private final boolean histogram;
+    private final Tags tags;
+    private final Meters[][] meters;
+
+    @Autowired
+    public RedisMetrics(MeterRegistry meterRegistry,
+                        @Value("${redis.metrics.enabled:true}") boolean enabled,
+                        @Value("${redis.metrics.keyspaces:" + DEFAULT_KEYSPACES + "}") List<String> keyspaces,
+                        @Value("${redis.metrics.histogram:true}") boolean histogram) {
+        this(meterRegistry, enabled, keyspaces, histogram, Tags.empty());
+    }
+
+    public RedisMetrics(MeterRegistry meterRegistry, boolean enabled, List<String> keyspaces, boolean histogram, Tags tags) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.keyspaces = List.copyOf(keyspaces);
+        this.histogram = histogram;
+        this.tags = tags;
+        this.meters = new Meters[Operation.values().length][keyspaces.size() + 1];
+    }
+
+    // 토큰 저장소 샤드처럼 Redis 마다 따로 측정할 때 tags 로 구분
+    public RedisMetrics withTags(Tags tags) {
+        return new RedisMetrics(meterRegistry, enabled, keyspaces, histogram, this.tags.and(tags));
+    }
+
+    public <T> T call(Operation operation, String key, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        Meters operationMeters = meters(operation, key);
+        long startedAt = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            operationMeters.latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void run(Operation operation, String key, Runnable call) {
+        call(operation, key, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    // 조회 결과 하나의 hit/miss 와 크기 기록
+    public void lookup(Operation operation, String key, String value) {
+        lookup(operation, key, value != null, value != null ? value.length() : 0);
+    }
+
+    public void lookup(Operation operation, String key, boolean hit, int size) {
+        if (!enabled) {
+            return;
+        }
+
+        Meters operationMeters = meters(operation, key);
+        if (hit) {
+            operationMeters.hits.increment();
+            operationMeters.payload.record(size);
+        } else {
+            operationMeters.misses.increment();
+        }
+    }
+
+    public void payload(Operation operation, String key, int size) {
+        if (enabled) {
+            meters(operation, key).payload.record(size);
+        }
+    }
+
+    private Meters meters(Operation operation, String key) {
+        int keyspace = keyspaceIndex(key);
+        Meters operationMeters = meters[operation.ordinal()][keyspace];
+        if (operationMeters == null) {
+            // 동시에 만들어도 레지스트리가 같은 미터를 돌려주므로 잠금 없이 채운다
+            operationMeters = new Meters(operation, keyspace < keyspaces.size() ? keyspaces.get(keyspace) : OTHER_KEYSPACE);
+            meters[operation.ordinal()][keyspace] = operationMeters;
+        }
+        return operationMeters;
+    }
+
+    private int keyspaceIndex(String key) {
+        if (key != null) {
+            for (int i = 0; i < keyspaces.size(); i++) {
+                String keyspace = keyspaces.get(i);
+                if (key.startsWith(keyspace) && (key.length() == keyspace.length() || key.charAt(keyspace.length()) == ':')) {
+                    return i;
+                }
+            }
+        }
+        return keyspaces.size();
+    }
+
+    private class Meters {
+
+        private final Timer latency;
+        private final Counter hits;
+        private final Counter misses;
+        private final DistributionSummary payload;
+
+        private Meters(Operation operation, String keyspace) {
+            Tags meterTags = tags.and("operation", operation.tag, "keyspace", keyspace);
+            this.latency = Timer.builder("redis.command")
+                    .description("Redis command latency")
+                    .tags(meterTags)
+                    .publishPercentileHistogram(histogram)
+                    .register(meterRegistry);
+            boolean lookup = operation.kind == Kind.LOOKUP;
+            this.hits = lookup ? lookupCounter(meterTags, "hit") : null;
+            this.misses = lookup ? lookupCounter(meterTags, "miss") : null;
+            this.payload = operation.kind != Kind.OTHER
+                    ? DistributionSummary.builder("redis.command.payload")
+                            .description("Redis value size read or written")
+                            .baseUnit("bytes")
+                            .tags(meterTags)
+                            .register(meterRegistry)
+                    : null;
+        }
+
+        private Counter lookupCounter(Tags meterTags, String result) {
+            return Counter.builder("redis.command.lookups")
+                    .tags(meterTags)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.myrealpet.account.redis_cache;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 서킷 브레이커가 열려 Redis 호출을 보내지 않고 바로 실패시킬 때 발생
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class RedisUnavailableException extends DataAccessResourceFailureException {
+
+    public RedisUnavailableException(String message) {
+        super(message);
+    }
+}
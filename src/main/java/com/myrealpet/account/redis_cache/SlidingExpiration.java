@@ -0,0 +1,25 @@
+package com.myrealpet.account.redis_cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+
+// 조회한 키가 전체 수명의 refreshFraction 이상 지났으면 전체 수명으로 다시 연장하기 위한 정보.
+// lifetimes 는 조회 키와 같은 순서이며, 연장 시 indexKeyPrefix + 계정 ID 인덱스에서 indexMember 의 점수(만료 시각)도 갱신한다.
+// 연장 후에는 남은 TTL 이 다시 전체 수명이 되므로 토큰당 한 주기에 최대 한 번만 쓰기가 발생한다.
+@Getter
+@AllArgsConstructor
+public class SlidingExpiration {
+    private final List<Duration> lifetimes;
+    private final double refreshFraction;
+    private final String indexKeyPrefix;
+    private final String indexMember;
+
+    // 남은 TTL 로 보아 연장 대상인지 여부
+    public boolean shouldRefresh(long ttlMillis, Duration lifetime) {
+        long lifetimeMillis = lifetime.toMillis();
+        return lifetimeMillis > 0 && ttlMillis > 0 && ttlMillis <= lifetimeMillis * (1 - refreshFraction);
+    }
+}
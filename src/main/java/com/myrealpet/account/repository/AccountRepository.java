@@ -2,9 +2,11 @@ package com.myrealpet.account.repository;
 
 import com.myrealpet.account.entity.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,9 +20,17 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     
     Optional<Account> findByProviderAndProviderId(Account.AuthProvider provider, String providerId);
     
+    // 트랜잭션 밖(로그인)에서 호출돼도 조회 후 바로 커넥션을 반납하도록 자체 읽기 트랜잭션으로 실행
+    @Transactional(readOnly = true)
     Optional<Account> findByUsernameAndIsActiveTrue(String username);
     
     
     @Query("SELECT a FROM Account a WHERE a.isActive = false")
     List<Account> findInactiveAccounts();
+
+    // 읽은 뒤 비밀번호가 바뀌지 않았을 때만 갱신 (로그인 시 재해시용)
+    @Modifying
+    @Query("UPDATE Account a SET a.password = :newPassword WHERE a.id = :id AND a.password = :oldPassword")
+    int updatePasswordIfUnchanged(@Param("id") Long id, @Param("oldPassword") String oldPassword,
+                                  @Param("newPassword") String newPassword);
 }
\ No newline at end of file
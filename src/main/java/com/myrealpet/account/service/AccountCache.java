@@ -0,0 +1,100 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.redis_cache.ReadThroughCache;
+import com.myrealpet.account.redis_cache.RedisCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// 계정 조회용 2 단계 캐시 (ReadThroughCache). 계정은 ID 로 캐시하고 username 은 ID 로의 매핑만 캐시한다.
+// 캐시에는 비밀번호 해시를 뺀 CachedAccount 를 저장하므로 캐시에서 꺼낸 계정의 password 는 항상 null 이다 (비밀번호 확인은 DB 에서 읽는다).
+// 인메모리 토큰 저장소(Redis 없는 단일 노드)에서는 L1 만 사용
+@Component
+public class AccountCache {
+
+    private final boolean enabled;
+    private final ReadThroughCache<Long, CachedAccount> accounts;
+    private final ReadThroughCache<String, Long> accountIds;
+
+    public AccountCache(RedisCacheService redisCacheService,
+                        RedisMessageListenerContainer listenerContainer,
+                        MeterRegistry meterRegistry,
+                        @Value("${account.cache.enabled:true}") boolean enabled,
+                        @Value("${token.store:redis}") String storeType,
+                        @Value("${account.cache.maximum-size:50000}") long maximumSize,
+                        @Value("${account.cache.local-ttl:1m}") Duration localTtl,
+                        @Value("${account.cache.redis-ttl:10m}") Duration redisTtl,
+                        @Value("${account.cache.early-refresh-beta:1.0}") double earlyRefreshBeta) {
+        this.enabled = enabled;
+        RedisCacheService remote = storeType.equals("memory") ? null : redisCacheService;
+        this.accounts = new ReadThroughCache<>("account", CachedAccount.class, remote, listenerContainer,
+                meterRegistry, maximumSize, localTtl, redisTtl, earlyRefreshBeta);
+        this.accountIds = new ReadThroughCache<>("account_username", Long.class, remote, listenerContainer,
+                meterRegistry, maximumSize, localTtl, redisTtl, earlyRefreshBeta);
+    }
+
+    public Optional<Account> findById(Long id, Supplier<Optional<Account>> loader) {
+        return enabled
+                ? accounts.get(id, () -> loader.get().map(CachedAccount::of)).map(CachedAccount::toAccount)
+                : loader.get();
+    }
+
+    // username 으로 읽은 계정은 ID 캐시를 채울 때 그대로 사용해 DB 를 한 번만 조회
+    public Optional<Account> findByUsername(String username, Supplier<Optional<Account>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        CachedAccount[] loaded = new CachedAccount[1];
+        Optional<Account> account = accountIds.get(username, () -> loader.get().map(value -> {
+            loaded[0] = CachedAccount.of(value);
+            return value.getId();
+        })).flatMap(id -> accounts.get(id, () -> loaded[0] != null
+                ? Optional.of(loaded[0])
+                : loader.get().filter(value -> value.getId().equals(id)).map(CachedAccount::of)))
+                .map(CachedAccount::toAccount);
+
+        // 삭제 후 같은 username 으로 다시 가입한 경우 등 매핑이 어긋나면 캐시를 거치지 않음
+        if (account.isPresent() && !account.get().getUsername().equals(username)) {
+            accountIds.invalidate(username);
+            return loader.get();
+        }
+        return account;
+    }
+
+    public void invalidate(Account account) {
+        if (!enabled) {
+            return;
+        }
+
+        accounts.invalidate(account.getId());
+        accountIds.invalidate(account.getUsername());
+    }
+
+    // 캐시하는 계정 정보. 비밀번호 해시는 담지 않으며, 꺼낼 때마다 새 Account 로 만들어 호출자끼리 인스턴스를 공유하지 않는다
+    record CachedAccount(Long id, String username, String name, String phoneNumber,
+                         Account.AuthProvider provider, String providerId, Account.Role role, Boolean isActive,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        // 같은 영속성 컨텍스트에서 연관 관계로 먼저 읽힌 계정은 프록시로 반환되므로 실제 엔티티에서 복사
+        static CachedAccount of(Account account) {
+            Account entity = Hibernate.unproxy(account, Account.class);
+            return new CachedAccount(entity.getId(), entity.getUsername(), entity.getName(), entity.getPhoneNumber(),
+                    entity.getProvider(), entity.getProviderId(), entity.getRole(), entity.getIsActive(),
+                    entity.getCreatedAt(), entity.getUpdatedAt());
+        }
+
+        Account toAccount() {
+            return new Account(id, username, null, name, phoneNumber, provider, providerId, role, isActive,
+                    createdAt, updatedAt);
+        }
+    }
+}
@@ -44,6 +44,8 @@ public interface AccountService {
 
     LoginResponse loginWithKakaoToken(String kakaoAccessToken);
 
+    LoginResponse refreshToken(String refreshToken);
+
     Account getCurrentUser(String token);
 
 }
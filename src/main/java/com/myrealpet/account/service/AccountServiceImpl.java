@@ -5,10 +5,11 @@ import com.myrealpet.account.dto.RegisterRequest;
 import com.myrealpet.account.entity.Account;
 import com.myrealpet.account.repository.AccountRepository;
 import lombok.RequiredArgsConstructor;
-import com.myrealpet.account.util.PasswordEncoder;
 import com.myrealpet.account.util.PhoneNumberFormatter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpEntity;
@@ -25,26 +26,36 @@ import java.util.Map;
 public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashExecutor passwordHashExecutor;
     private final TokenService tokenService;
     private final PhoneNumberFormatter phoneNumberFormatter;
+    private final AccountCache accountCache;
+    private final TransactionTemplate transactionTemplate;
 
+    // login 과 같이 해시는 트랜잭션 밖에서 계산하고 저장만 짧은 트랜잭션으로 실행한다.
+    // 중복 확인은 해시 전에 한 번 해 불필요한 해시를 피하고, 그 사이 가입한 경우를 위해 저장 트랜잭션에서 다시 한다
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Account createAccount(String username, String password) {
+        checkUsernameAvailable(username);
+        String encodedPassword = passwordHashExecutor.encode(password);
+
+        return transactionTemplate.execute(status -> {
+            checkUsernameAvailable(username);
+            return accountRepository.save(Account.builder()
+                    .username(username)
+                    .password(encodedPassword)
+                    .provider(Account.AuthProvider.LOCAL)
+                    .role(Account.Role.USER)
+                    .isActive(true)
+                    .build());
+        });
+    }
+
+    private void checkUsernameAvailable(String username) {
         if (accountRepository.existsByUsername(username)) {
             throw new IllegalArgumentException("Username already exists: " + username);
         }
-
-        Account account = Account.builder()
-                .username(username)
-                .password(passwordEncoder.encode(password))
-                .provider(Account.AuthProvider.LOCAL)
-                .role(Account.Role.USER)
-                .isActive(true)
-                .build();
-
-        return accountRepository.save(account);
     }
 
     @Override
@@ -72,12 +83,12 @@ public class AccountServiceImpl implements AccountService {
 
     @Override
     public Optional<Account> findAccountById(Long id) {
-        return accountRepository.findById(id);
+        return accountCache.findById(id, () -> accountRepository.findById(id));
     }
 
     @Override
     public Optional<Account> findAccountByUsername(String username) {
-        return accountRepository.findByUsername(username);
+        return accountCache.findByUsername(username, () -> accountRepository.findByUsername(username));
     }
 
 
@@ -96,14 +107,20 @@ public class AccountServiceImpl implements AccountService {
         return accountRepository.findInactiveAccounts();
     }
 
+    // 해시는 트랜잭션 밖에서 계산하고, 조회와 변경은 같은 짧은 트랜잭션에서 실행
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Account updatePassword(Long accountId, String newPassword) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+        String encodedPassword = passwordHashExecutor.encode(newPassword);
 
-        account.updatePassword(passwordEncoder.encode(newPassword));
-        return accountRepository.save(account);
+        return transactionTemplate.execute(status -> {
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+
+            account.updatePassword(encodedPassword);
+            accountCache.invalidate(account);
+            return accountRepository.save(account);
+        });
     }
 
     @Override
@@ -113,6 +130,7 @@ public class AccountServiceImpl implements AccountService {
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
 
         account.deactivate();
+        accountCache.invalidate(account);
         return accountRepository.save(account);
     }
 
@@ -123,6 +141,7 @@ public class AccountServiceImpl implements AccountService {
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
 
         account.activate();
+        accountCache.invalidate(account);
         return accountRepository.save(account);
     }
 
@@ -133,6 +152,7 @@ public class AccountServiceImpl implements AccountService {
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
 
         accountRepository.delete(account);
+        accountCache.invalidate(account);
     }
 
     @Override
@@ -140,40 +160,52 @@ public class AccountServiceImpl implements AccountService {
         return accountRepository.existsByUsername(username);
     }
 
+    // 해시 대기열 대기와 해시 계산 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 밖에서 실행한다.
+    // 조회는 리포지토리의 읽기 트랜잭션으로 끝나고, 재해시 저장만 짧은 트랜잭션으로 실행
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoginResponse login(String username, String password) {
         Account account = accountRepository.findByUsernameAndIsActiveTrue(username)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid username or account is deactivated"));
 
-        if (!passwordEncoder.matches(password, account.getPassword())) {
+        if (!passwordHashExecutor.matches(password, account.getPassword())) {
             throw new IllegalArgumentException("Invalid password");
         }
 
-        String token = tokenService.generateToken(account.getId());
+        // 이전 형식이나 약한 설정으로 저장된 해시는 평문을 알고 있는 지금 현재 설정으로 다시 해시.
+        // 그 사이 비밀번호가 바뀌었으면 덮어쓰지 않으며, 계정 캐시에는 비밀번호가 없으므로 무효화하지 않는다
+        if (passwordHashExecutor.needsRehash(account.getPassword())) {
+            String rehashed = passwordHashExecutor.encode(password);
+            transactionTemplate.executeWithoutResult(status ->
+                    accountRepository.updatePasswordIfUnchanged(account.getId(), account.getPassword(), rehashed));
+        }
+
+        String token = tokenService.generateToken(account.getId(), account.getRole());
         return LoginResponse.of(token, account.getId(), account.getUsername(), tokenService.getTokenExpiration());
     }
 
+    // createAccount 와 같이 해시는 트랜잭션 밖에서 계산하고, 토큰은 저장이 커밋된 뒤 발급
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoginResponse register(RegisterRequest registerRequest) {
-        if (accountRepository.existsByUsername(registerRequest.getId())) {
-            throw new IllegalArgumentException("Username already exists: " + registerRequest.getId());
-        }
+        checkUsernameAvailable(registerRequest.getId());
 
         String formattedPhoneNumber = phoneNumberFormatter.formatPhoneNumber(registerRequest.getPhoneNumber());
-
-        Account account = Account.builder()
-                .username(registerRequest.getId())
-                .password(passwordEncoder.encode(registerRequest.getPassword()))
-                .name(registerRequest.getName())
-                .phoneNumber(formattedPhoneNumber)
-                .provider(Account.AuthProvider.LOCAL)
-                .role(Account.Role.USER)
-                .isActive(true)
-                .build();
-
-        Account savedAccount = accountRepository.save(account);
-        String token = tokenService.generateToken(savedAccount.getId());
+        String encodedPassword = passwordHashExecutor.encode(registerRequest.getPassword());
+
+        Account savedAccount = transactionTemplate.execute(status -> {
+            checkUsernameAvailable(registerRequest.getId());
+            return accountRepository.save(Account.builder()
+                    .username(registerRequest.getId())
+                    .password(encodedPassword)
+                    .name(registerRequest.getName())
+                    .phoneNumber(formattedPhoneNumber)
+                    .provider(Account.AuthProvider.LOCAL)
+                    .role(Account.Role.USER)
+                    .isActive(true)
+                    .build());
+        });
+        String token = tokenService.generateToken(savedAccount.getId(), savedAccount.getRole());
         return LoginResponse.of(token, savedAccount.getId(), savedAccount.getUsername(), tokenService.getTokenExpiration());
     }
 
@@ -238,16 +270,15 @@ public class AccountServiceImpl implements AccountService {
                 account = accountRepository.save(account);
             }
 
-            // JWT 토큰 생성
-            String accessJwtToken = tokenService.generateAccessToken(account.getId());
-            String refreshJwtToken = tokenService.generateRefreshToken(account.getId());
+            // JWT 토큰 생성 (access + refresh 를 한 번에 발급)
+            TokenPair tokenPair = tokenService.generateTokenPair(account.getId(), account.getRole());
 
             return LoginResponse.builder()
-                .token(accessJwtToken)
-                .refreshToken(refreshJwtToken)
+                .token(tokenPair.getAccessToken())
+                .refreshToken(tokenPair.getRefreshToken())
                 .accountId(account.getId())
                 .username(account.getUsername())
-                .expiresInSeconds(3600L) // 1시간
+                .expiresInSeconds(tokenService.getAccessTokenExpiration().toSeconds())
                 .build();
 
         } catch (Exception e) {
@@ -255,6 +286,33 @@ public class AccountServiceImpl implements AccountService {
         }
     }
 
+    // 리프레시 토큰에는 로그인 당시의 역할이 기록돼 있으므로 교체 후 현재 계정 상태를 다시 확인한다.
+    // 비활성화/삭제된 계정은 패밀리를 포함한 모든 토큰을 폐기하고, 역할이 바뀌었으면 이전 역할의 토큰을 모두 폐기한 뒤 새로 발급
+    @Override
+    public LoginResponse refreshToken(String refreshToken) {
+        TokenPair tokenPair = tokenService.rotateRefreshToken(refreshToken);
+
+        Account account = findAccountById(tokenPair.getAccountId())
+                .filter(Account::getIsActive)
+                .orElse(null);
+        if (account == null) {
+            tokenService.invalidateAllUserTokens(tokenPair.getAccountId());
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        if (account.getRole() != tokenPair.getRole()) {
+            tokenService.invalidateAllUserTokens(account.getId());
+            tokenPair = tokenService.generateTokenPair(account.getId(), account.getRole());
+        }
+
+        return LoginResponse.builder()
+            .token(tokenPair.getAccessToken())
+            .refreshToken(tokenPair.getRefreshToken())
+            .accountId(account.getId())
+            .username(account.getUsername())
+            .expiresInSeconds(tokenService.getAccessTokenExpiration().toSeconds())
+            .build();
+    }
+
     @Override
     public Account getCurrentUser(String token) {
         try {
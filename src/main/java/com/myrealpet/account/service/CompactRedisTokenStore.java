@@ -0,0 +1,334 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.redis_cache.ExpiringValue;
+import com.myrealpet.account.redis_cache.IndexedValue;
+import com.myrealpet.account.redis_cache.RedisCacheService;
+import com.myrealpet.account.redis_cache.SlidingExpiration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+// 액세스/일반 토큰을 키 하나씩 두지 않고, 16 바이트(샤딩 시 슬롯 포함 18 바이트) 토큰 ID 의 앞 bucketBits 비트로 나눈 작은 Hash 버킷에
+// 나머지 바이트를 필드로 저장하는 Redis 레이아웃. 필드 값은 만료 시각(6 바이트)과 계정 ID 이며,
+// 만료된 필드는 조회 시와 같은 버킷에 쓸 때 정리되고 버킷은 가장 늦은 필드 만료 시각에 맞춰 만료된다.
+// 버킷당 토큰 수가 hash-max-listpack-entries 이하로 유지되도록 bucketBits 를 정해야 압축 인코딩이 유지된다.
+// 리프레시 토큰과 이 레이아웃 이전에 발급된 토큰은 기존 키 형식을 그대로 사용한다.
+@Component
+@ConditionalOnProperty(name = "token.store", havingValue = "redis-compact")
+public class CompactRedisTokenStore implements TokenStore {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<String>> SET_INDEXED_VALUES_SCRIPT =
+            (RedisScript) RedisScript.of(new ClassPathResource("scripts/compact_set_indexed_values.lua"), List.class);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<Object>> GET_FIRST_SCRIPT =
+            (RedisScript) RedisScript.of(new ClassPathResource("scripts/compact_get_first.lua"), List.class);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<Object>> GET_FIRST_EACH_SCRIPT =
+            (RedisScript) RedisScript.of(new ClassPathResource("scripts/compact_get_first_each.lua"), List.class);
+
+    private static final RedisScript<Void> DELETE_VALUES_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/compact_delete_values.lua"));
+
+    private static final RedisScript<Long> REMOVE_INDEX_MEMBER_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/remove_index_member.lua"), Long.class);
+
+    private static final RedisScript<Void> DELETE_INDEX_MEMBERS_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/compact_delete_index_members.lua"));
+
+    private static final RedisScript<Long> DELETE_INDEXED_VALUES_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/compact_delete_indexed_values.lua"), Long.class);
+
+    private static final List<String> COMPACT_PREFIXES =
+            List.of(RefreshTokenRotation.ACCESS_TOKEN_PREFIX, "auth_token:");
+    private static final String BUCKET_PREFIX = "t:";
+    private static final int TOKEN_LENGTH = 22;
+    private static final int SLOTTED_TOKEN_LENGTH = 24;
+    private static final int ID_BYTES = 16;
+    private static final int SLOTTED_ID_BYTES = 18;
+    private static final int MAX_BUCKET_BITS = 24;
+
+    private final RedisCacheService redisCacheService;
+    private final RedisTokenStore standardStore;
+    private final int bucketBits;
+
+    public CompactRedisTokenStore(RedisCacheService redisCacheService,
+                                  @Value("${token.compact.bucket-bits:16}") int bucketBits) {
+        if (bucketBits < 1 || bucketBits > MAX_BUCKET_BITS) {
+            throw new IllegalArgumentException("token.compact.bucket-bits must be between 1 and " + MAX_BUCKET_BITS);
+        }
+        this.redisCacheService = redisCacheService;
+        this.standardStore = new RedisTokenStore(redisCacheService);
+        this.bucketBits = bucketBits;
+    }
+
+    @Override
+    public List<String> save(List<IndexedValue> values) {
+        List<String> keys = new ArrayList<>(values.size() * 2);
+        List<String> args = new ArrayList<>(values.size() * 6 + 3);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(BUCKET_PREFIX);
+        args.add(String.valueOf(bucketBits));
+
+        for (IndexedValue value : values) {
+            String id = compactId(value.getKey());
+            keys.add(id != null ? bucketKey(id) : value.getKey());
+            keys.add(value.getIndexKey());
+            args.add(id != null ? "c" : "s");
+            args.add(value.getValue());
+            args.add(id != null ? id : value.getIndexMember());
+            args.add(String.valueOf(value.getExpiration().toMillis()));
+            args.add(String.valueOf(value.getMaxIndexSize()));
+            args.add(String.join(" ", value.getIndexValuePrefixes()));
+        }
+
+        List<String> evicted = redisCacheService.executeBinaryScript(SET_INDEXED_VALUES_SCRIPT, keys, args.toArray(String[]::new));
+        return evicted != null ? evicted.stream().map(CompactRedisTokenStore::token).toList() : List.of();
+    }
+
+    @Override
+    public String find(String key) {
+        return standardStore.find(key);
+    }
+
+    @Override
+    public ExpiringValue findFirst(List<String> keys) {
+        String id = compactId(keys);
+        if (id == null) {
+            return standardStore.findFirst(keys);
+        }
+
+        // 버킷 필드를 먼저 보고, 없으면 이전 형식 키를 같은 왕복 안에서 조회
+        List<Object> result = redisCacheService.executeBinaryScript(GET_FIRST_SCRIPT, withBucket(id, keys),
+                field(id), String.valueOf(System.currentTimeMillis()));
+        // 스크립트가 nil 을 반환하면 null 하나만 담긴 목록이 온다
+        if (result == null || result.size() < 2) {
+            return null;
+        }
+
+        Long ttlMillis = (Long) result.get(1);
+        return new ExpiringValue((String) result.get(0), ttlMillis != null ? ttlMillis : -1L);
+    }
+
+    @Override
+    public ExpiringValue findFirst(List<String> keys, SlidingExpiration sliding) {
+        String id = compactId(keys);
+        if (id == null) {
+            return standardStore.findFirst(keys, sliding);
+        }
+
+        List<String> args = new ArrayList<>(keys.size() + 6);
+        args.add(field(id));
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(String.valueOf(sliding.getRefreshFraction()));
+        args.add(sliding.getIndexKeyPrefix());
+        args.add(id);
+        args.add(sliding.getIndexMember());
+        sliding.getLifetimes().forEach(lifetime -> args.add(String.valueOf(lifetime.toMillis())));
+
+        List<Object> result = redisCacheService.executeBinaryScript(GET_FIRST_SCRIPT, withBucket(id, keys),
+                args.toArray(String[]::new));
+        if (result == null || result.size() < 2) {
+            return null;
+        }
+
+        Long ttlMillis = (Long) result.get(1);
+        return new ExpiringValue((String) result.get(0), ttlMillis != null ? ttlMillis : -1L);
+    }
+
+    // compact 형식이 아닌 그룹은 모아서 기존 형식으로 한 번 더 조회
+    @Override
+    public List<ExpiringValue> findFirstEach(List<List<String>> keyGroups) {
+        List<ExpiringValue> values = new ArrayList<>(keyGroups.size());
+        List<Integer> compactIndexes = new ArrayList<>(keyGroups.size());
+        List<Integer> standardIndexes = new ArrayList<>();
+        List<String> compactKeys = new ArrayList<>(keyGroups.size() * 3);
+        List<String> compactArgs = new ArrayList<>(keyGroups.size() * 2 + 1);
+        List<List<String>> standardGroups = new ArrayList<>();
+        compactArgs.add(String.valueOf(System.currentTimeMillis()));
+
+        for (int i = 0; i < keyGroups.size(); i++) {
+            List<String> keys = keyGroups.get(i);
+            values.add(null);
+            String id = compactId(keys);
+            if (id == null) {
+                standardIndexes.add(i);
+                standardGroups.add(keys);
+                continue;
+            }
+            compactIndexes.add(i);
+            compactKeys.addAll(withBucket(id, keys));
+            compactArgs.add(field(id));
+            compactArgs.add(String.valueOf(keys.size() + 1));
+        }
+
+        if (!compactIndexes.isEmpty()) {
+            List<Object> result = redisCacheService.executeBinaryScript(GET_FIRST_EACH_SCRIPT, compactKeys,
+                    compactArgs.toArray(String[]::new));
+            fill(values, compactIndexes, ExpiringValue.fromPairs(result != null ? result : List.of()));
+        }
+        if (!standardIndexes.isEmpty()) {
+            fill(values, standardIndexes, standardStore.findFirstEach(standardGroups));
+        }
+        return values;
+    }
+
+    private static void fill(List<ExpiringValue> values, List<Integer> indexes, List<ExpiringValue> found) {
+        for (int i = 0; i < indexes.size() && i < found.size(); i++) {
+            values.set(indexes.get(i), found.get(i));
+        }
+    }
+
+    @Override
+    public void delete(List<String> keys) {
+        String id = compactId(keys);
+        if (id == null) {
+            standardStore.delete(keys);
+            return;
+        }
+
+        redisCacheService.executeBinaryScript(DELETE_VALUES_SCRIPT, withBucket(id, keys), field(id));
+    }
+
+    @Override
+    public void removeFromIndex(String indexKey, String member) {
+        String id = binaryId(member);
+        if (id == null) {
+            standardStore.removeFromIndex(indexKey, member);
+            return;
+        }
+
+        redisCacheService.executeBinaryScript(REMOVE_INDEX_MEMBER_SCRIPT, List.of(indexKey), id, member);
+    }
+
+    // compact 토큰은 버킷 필드를, 이전 형식 토큰은 값 키를 한 번의 스크립트 호출로 삭제
+    @Override
+    public void deleteAllFromIndex(String indexKey, List<String> members, List<String> valuePrefixes) {
+        if (members.isEmpty()) {
+            return;
+        }
+
+        List<String> args = new ArrayList<>(members.size() * 2 + 3);
+        args.add(BUCKET_PREFIX);
+        args.add(String.valueOf(bucketBits));
+        args.add(String.join(" ", valuePrefixes));
+        for (String member : members) {
+            String id = binaryId(member);
+            args.add(id != null ? id : "");
+            args.add(member);
+        }
+        redisCacheService.executeBinaryScript(DELETE_INDEX_MEMBERS_SCRIPT, List.of(indexKey), args.toArray(String[]::new));
+    }
+
+    @Override
+    public long deleteIndexed(Map<String, List<String>> indexKeyPrefixes) {
+        List<String> indexKeys = new ArrayList<>(indexKeyPrefixes.size());
+        List<String> args = new ArrayList<>(indexKeyPrefixes.size() + 2);
+        args.add(BUCKET_PREFIX);
+        args.add(String.valueOf(bucketBits));
+        indexKeyPrefixes.forEach((indexKey, valuePrefixes) -> {
+            indexKeys.add(indexKey);
+            args.add(String.join(" ", valuePrefixes));
+        });
+
+        Long removed = redisCacheService.executeBinaryScript(DELETE_INDEXED_VALUES_SCRIPT, indexKeys, args.toArray(String[]::new));
+        return removed != null ? removed : 0L;
+    }
+
+    // 새 액세스 토큰의 버킷과 ID 를 함께 넘겨 교체와 compact 레이아웃 저장, 세션 수 제한을 한 번의 스크립트로 처리
+    @Override
+    public RefreshTokenRotation rotateRefreshToken(String refreshToken, String newRefreshToken, Duration refreshExpiration,
+                                                   String accessReference, boolean storeAccessToken, Duration accessExpiration,
+                                                   int maxSessions) {
+        String id = storeAccessToken ? binaryId(accessReference) : null;
+        if (id == null) {
+            return standardStore.rotateRefreshToken(refreshToken, newRefreshToken, refreshExpiration,
+                    accessReference, storeAccessToken, accessExpiration, maxSessions);
+        }
+
+        List<String> keys = new ArrayList<>(RefreshTokenRotation.keys(refreshToken, newRefreshToken));
+        keys.add(bucketKey(id));
+        List<String> args = new ArrayList<>(List.of(RefreshTokenRotation.args(refreshToken, newRefreshToken,
+                refreshExpiration, accessReference, true, accessExpiration, maxSessions)));
+        args.add(BUCKET_PREFIX);
+        args.add(String.valueOf(bucketBits));
+        args.add(id);
+
+        List<Object> result = redisCacheService.executeBinaryScript(RefreshTokenRotation.SCRIPT, keys,
+                args.toArray(String[]::new));
+        return RefreshTokenRotation.from(result, CompactRedisTokenStore::token);
+    }
+
+    private String compactId(List<String> keys) {
+        for (String key : keys) {
+            String id = compactId(key);
+            if (id != null) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    private String compactId(String key) {
+        for (String prefix : COMPACT_PREFIXES) {
+            if (key.startsWith(prefix)) {
+                return binaryId(key.substring(prefix.length()));
+            }
+        }
+        return null;
+    }
+
+    // 22/24 자 base64url 토큰을 16/18 바이트 ID 로 변환(바이트당 문자 하나인 ISO-8859-1 문자열). 다른 형식이면 null
+    private static String binaryId(String token) {
+        if (token.length() != TOKEN_LENGTH && token.length() != SLOTTED_TOKEN_LENGTH) {
+            return null;
+        }
+
+        try {
+            byte[] id = Base64.getUrlDecoder().decode(token);
+            // 마지막 문자의 사용되지 않는 하위 비트가 0 인 표준 인코딩만 허용해 토큰과 ID 를 1:1 로 유지
+            if (!Base64.getUrlEncoder().withoutPadding().encodeToString(id).equals(token)) {
+                return null;
+            }
+            return new String(id, StandardCharsets.ISO_8859_1);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String token(String member) {
+        if (member.length() != ID_BYTES && member.length() != SLOTTED_ID_BYTES) {
+            return member;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(member.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private List<String> withBucket(String id, List<String> keys) {
+        List<String> bucketAndKeys = new ArrayList<>(keys.size() + 1);
+        bucketAndKeys.add(bucketKey(id));
+        bucketAndKeys.addAll(keys);
+        return bucketAndKeys;
+    }
+
+    // ID 앞 24 비트 중 상위 bucketBits 비트를 버킷 번호로 사용
+    private String bucketKey(String id) {
+        int prefix = id.charAt(0) << 16 | id.charAt(1) << 8 | id.charAt(2);
+        return BUCKET_PREFIX + (prefix >>> (MAX_BUCKET_BITS - bucketBits));
+    }
+
+    // 버킷 비트가 끝나는 바이트 이후를 필드로 사용
+    private String field(String id) {
+        return id.substring(bucketBits / 8);
+    }
+}
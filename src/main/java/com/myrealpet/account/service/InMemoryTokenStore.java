@@ -0,0 +1,535 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.redis_cache.ExpiringValue;
+import com.myrealpet.account.redis_cache.IndexedValue;
+import com.myrealpet.account.redis_cache.SlidingExpiration;
+import com.myrealpet.account.util.TimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Redis 없이 동작하는 단일 노드용 토큰 저장소. 키 해시로 나눈 stripe 마다 락과 타이밍 휠을 두어
+// 조회는 한 stripe 락만 잡고, 만료는 전체 스캔 없이 휠이 돌아갈 때 해당 항목만 제거한다.
+// 만료 시각은 조회 시에도 확인하므로 휠의 tick 단위와 무관하게 만료된 값은 보이지 않는다.
+@Component
+@ConditionalOnProperty(name = "token.store", havingValue = "memory")
+public class InMemoryTokenStore implements TokenStore {
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public InMemoryTokenStore(@Value("${token.memory-store.stripes:64}") int stripeCount,
+                              @Value("${token.memory-store.tick:1s}") Duration tick) {
+        int count = 1;
+        while (count < stripeCount) {
+            count <<= 1;
+        }
+
+        long now = System.currentTimeMillis();
+        this.stripes = new Stripe[count];
+        this.stripeMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(new TimingWheel<>(tick.toMillis(), now));
+        }
+    }
+
+    @Override
+    public List<String> save(List<IndexedValue> values) {
+        List<String> keys = new ArrayList<>(values.size() * 2);
+        values.forEach(value -> {
+            keys.add(value.getKey());
+            keys.add(value.getIndexKey());
+        });
+
+        long now = System.currentTimeMillis();
+        List<String> evicted = new ArrayList<>();
+        List<String> evictedKeys = new ArrayList<>();
+        lock(keys);
+        try {
+            for (IndexedValue value : values) {
+                long expiresAt = now + value.getExpiration().toMillis();
+                put(value.getKey(), value.getValue(), expiresAt);
+                addIndexMember(value.getIndexKey(), value.getIndexMember(), expiresAt, now);
+
+                for (String member : evictOldest(value.getIndexKey(), value.getMaxIndexSize(), value.getIndexMember())) {
+                    evicted.add(member);
+                    value.getIndexValuePrefixes().forEach(prefix -> evictedKeys.add(prefix + member));
+                }
+            }
+        } finally {
+            unlock(keys);
+        }
+
+        // 제거된 세션의 값 키는 다른 stripe 에 있을 수 있으므로 락을 놓은 뒤 각각 삭제
+        delete(evictedKeys);
+        return evicted;
+    }
+
+    @Override
+    public String find(String key) {
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            return getString(key, System.currentTimeMillis());
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public ExpiringValue findFirst(List<String> keys) {
+        long now = System.currentTimeMillis();
+        for (String key : keys) {
+            Stripe stripe = stripe(key);
+            stripe.lock.lock();
+            try {
+                Entry entry = live(key, now);
+                if (entry != null && entry.value instanceof String value) {
+                    return new ExpiringValue(value, entry.expiresAt > 0 ? entry.expiresAt - now : -1L);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    // 연장이 필요할 때만 값 키와 인덱스 stripe 를 함께 잠그고 다시 확인한 뒤 연장
+    @Override
+    public ExpiringValue findFirst(List<String> keys, SlidingExpiration sliding) {
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            ExpiringValue found = findFirst(List.of(key));
+            if (found == null) {
+                continue;
+            }
+
+            Duration lifetime = sliding.getLifetimes().get(i);
+            if (!sliding.shouldRefresh(found.getTtlMillis(), lifetime)) {
+                return found;
+            }
+
+            String indexKey = sliding.getIndexKeyPrefix() + accountIdOf(found.getValue());
+            List<String> lockKeys = List.of(key, indexKey);
+            long now = System.currentTimeMillis();
+            lock(lockKeys);
+            try {
+                Entry entry = live(key, now);
+                if (entry == null || !(entry.value instanceof String value)) {
+                    return null;
+                }
+                if (!sliding.shouldRefresh(entry.expiresAt - now, lifetime)) {
+                    return new ExpiringValue(value, entry.expiresAt - now);
+                }
+
+                long expiresAt = now + lifetime.toMillis();
+                schedule(stripe(key), key, entry, expiresAt);
+                Entry index = live(indexKey, now);
+                if (index != null && index.value instanceof ScoredMembers members
+                        && members.scores.containsKey(sliding.getIndexMember())) {
+                    members.add(sliding.getIndexMember(), expiresAt);
+                    schedule(stripe(indexKey), indexKey, index, members.order.last().score());
+                }
+                return new ExpiringValue(value, lifetime.toMillis());
+            } finally {
+                unlock(lockKeys);
+            }
+        }
+        return null;
+    }
+
+    private static String accountIdOf(String value) {
+        int separator = value.indexOf(':');
+        return separator < 0 ? value : value.substring(0, separator);
+    }
+
+    // 같은 프로세스 안의 조회라 왕복 비용이 없으므로 그룹별로 findFirst 수행
+    @Override
+    public List<ExpiringValue> findFirstEach(List<List<String>> keyGroups) {
+        List<ExpiringValue> values = new ArrayList<>(keyGroups.size());
+        for (List<String> keys : keyGroups) {
+            values.add(findFirst(keys));
+        }
+        return values;
+    }
+
+    @Override
+    public void delete(List<String> keys) {
+        for (String key : keys) {
+            Stripe stripe = stripe(key);
+            stripe.lock.lock();
+            try {
+                remove(key);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void removeFromIndex(String indexKey, String member) {
+        Stripe stripe = stripe(indexKey);
+        stripe.lock.lock();
+        try {
+            removeMember(indexKey, member, System.currentTimeMillis());
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public long deleteIndexed(Map<String, List<String>> indexKeyPrefixes) {
+        long now = System.currentTimeMillis();
+        long removed = 0;
+
+        lockAll();
+        try {
+            for (Map.Entry<String, List<String>> index : indexKeyPrefixes.entrySet()) {
+                for (String member : getMembers(index.getKey(), now)) {
+                    for (String prefix : index.getValue()) {
+                        removed += remove(prefix + member) ? 1 : 0;
+                    }
+                }
+                removed += remove(index.getKey()) ? 1 : 0;
+            }
+        } finally {
+            unlockAll();
+        }
+        return removed;
+    }
+
+    // rotate_refresh_token.lua 와 같은 절차를 전체 stripe 락 아래에서 수행
+    @Override
+    public RefreshTokenRotation rotateRefreshToken(String refreshToken, String newRefreshToken, Duration refreshExpiration,
+                                                   String accessReference, boolean storeAccessToken, Duration accessExpiration,
+                                                   int maxSessions) {
+        List<String> keys = RefreshTokenRotation.keys(refreshToken, newRefreshToken);
+        String refreshKey = keys.get(0);
+        String usedKey = keys.get(1);
+        String newRefreshKey = keys.get(2);
+        long now = System.currentTimeMillis();
+
+        lockAll();
+        try {
+            Entry stored = live(refreshKey, now);
+            if (stored != null && stored.value instanceof String storedValue) {
+                String[] parsed = parseRefreshValue(storedValue, refreshToken);
+                String value = parsed[0] + ":" + parsed[1] + ":" + parsed[2];
+                String refreshIndex = RefreshTokenRotation.USER_TOKEN_PREFIX + parsed[0] + ":refresh";
+                String familyKey = RefreshTokenRotation.REFRESH_FAMILY_PREFIX + parsed[2];
+                long refreshExpiresAt = now + refreshExpiration.toMillis();
+
+                remove(refreshKey);
+                removeMember(refreshIndex, refreshToken, now);
+                if (stored.expiresAt > now) {
+                    put(usedKey, value, stored.expiresAt);
+                }
+
+                put(newRefreshKey, value, refreshExpiresAt);
+                addIndexMember(refreshIndex, newRefreshToken, refreshExpiresAt, now);
+                List<Object> result = new ArrayList<>();
+                result.add("rotated");
+                result.add(value);
+                result.addAll(evictOldestWithValues(refreshIndex, maxSessions, newRefreshToken,
+                        List.of(RefreshTokenRotation.REFRESH_TOKEN_PREFIX)));
+
+                if (storeAccessToken) {
+                    long accessExpiresAt = now + accessExpiration.toMillis();
+                    String accessIndex = RefreshTokenRotation.USER_TOKEN_PREFIX + parsed[0];
+                    put(RefreshTokenRotation.ACCESS_TOKEN_PREFIX + accessReference,
+                            parsed[1].isEmpty() ? parsed[0] : parsed[0] + ":" + parsed[1], accessExpiresAt);
+                    addIndexMember(accessIndex, accessReference, accessExpiresAt, now);
+                    result.addAll(evictOldestWithValues(accessIndex, maxSessions, accessReference,
+                            List.of(RefreshTokenRotation.ACCESS_TOKEN_PREFIX, RefreshTokenRotation.TOKEN_PREFIX)));
+                }
+
+                put(familyKey, newRefreshToken, refreshExpiresAt);
+                addMember(familyKey + ":access", accessReference, now);
+                if (!parsed[3].isEmpty()) {
+                    addMember(familyKey + ":access", parsed[3], now);
+                }
+                expire(familyKey + ":access", refreshExpiresAt, now);
+                return RefreshTokenRotation.from(result);
+            }
+
+            // 이미 교체된 토큰이 다시 사용됨: 해당 패밀리의 현재 토큰을 모두 폐기
+            String reused = getString(usedKey, now);
+            if (reused != null) {
+                String[] parsed = parseRefreshValue(reused, refreshToken);
+                String familyKey = RefreshTokenRotation.REFRESH_FAMILY_PREFIX + parsed[2];
+                String currentRefresh = getString(familyKey, now);
+                List<Object> result = new ArrayList<>();
+                result.add("reused");
+                result.add(reused);
+
+                if (currentRefresh != null) {
+                    remove(RefreshTokenRotation.REFRESH_TOKEN_PREFIX + currentRefresh);
+                    removeMember(RefreshTokenRotation.USER_TOKEN_PREFIX + parsed[0] + ":refresh", currentRefresh, now);
+                }
+                result.addAll(getMembers(familyKey + ":access", now));
+
+                remove(usedKey);
+                remove(familyKey);
+                remove(familyKey + ":access");
+                return RefreshTokenRotation.from(result);
+            }
+
+            return null;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // 휠을 현재 시각까지 진행시키며 만료된 항목 제거
+    @Scheduled(fixedDelayString = "${token.memory-store.tick:1s}")
+    public void expireEntries() {
+        long now = System.currentTimeMillis();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.wheel.advance(now, key -> {
+                    Entry entry = stripe.entries.get(key);
+                    if (entry != null && entry.expiresAt > 0 && entry.expiresAt <= now) {
+                        entry.timeout = null;
+                        stripe.entries.remove(key);
+                    }
+                });
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    // 이전 형식(accountId 만 저장)의 값은 토큰 자체를 패밀리 ID 로 사용
+    // accountId, role, family, 처음 함께 발급된 액세스 토큰 참조(없으면 빈 문자열)
+    private static String[] parseRefreshValue(String value, String token) {
+        String[] parts = value.split(":", 4);
+        if (parts.length < 3 || parts[0].isEmpty() || parts[2].isEmpty()) {
+            return new String[]{value, "", token, ""};
+        }
+        return parts.length == 4 ? parts : new String[]{parts[0], parts[1], parts[2], ""};
+    }
+
+    // 이하 메서드는 키가 속한 stripe 의 락을 잡은 상태에서만 호출
+
+    private Entry live(String key, long now) {
+        Entry entry = stripe(key).entries.get(key);
+        if (entry != null && entry.expiresAt > 0 && entry.expiresAt <= now) {
+            remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private String getString(String key, long now) {
+        Entry entry = live(key, now);
+        return entry != null && entry.value instanceof String value ? value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> getMembers(String key, long now) {
+        Entry entry = live(key, now);
+        if (entry != null && entry.value instanceof ScoredMembers scoredMembers) {
+            return scoredMembers.scores.keySet();
+        }
+        return entry != null && entry.value instanceof Set<?> members ? (Set<String>) members : Set.of();
+    }
+
+    private void put(String key, Object value, long expiresAt) {
+        Stripe stripe = stripe(key);
+        Entry entry = stripe.entries.computeIfAbsent(key, k -> new Entry());
+        entry.value = value;
+        schedule(stripe, key, entry, expiresAt);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addMember(String key, String member, long now) {
+        Entry entry = live(key, now);
+        if (entry == null || !(entry.value instanceof Set<?>)) {
+            put(key, new HashSet<String>(), 0);
+            entry = stripe(key).entries.get(key);
+        }
+        ((Set<String>) entry.value).add(member);
+    }
+
+    // 인덱스 멤버 추가 후 만료된 멤버를 정리하고, 인덱스는 가장 늦게 만료되는 멤버에 맞춰 만료
+    private void addIndexMember(String key, String member, long expiresAt, long now) {
+        Entry entry = live(key, now);
+        if (entry == null || !(entry.value instanceof ScoredMembers)) {
+            put(key, new ScoredMembers(), 0);
+            entry = stripe(key).entries.get(key);
+        }
+
+        ScoredMembers members = (ScoredMembers) entry.value;
+        members.add(member, expiresAt);
+        members.removeUpTo(now);
+        schedule(stripe(key), key, entry, members.order.last().score());
+    }
+
+    // 만료가 가장 이른 멤버부터 maxSize 를 넘는 만큼 제거하되, 방금 추가한 멤버는 제외
+    private List<String> evictOldest(String key, int maxSize, String addedMember) {
+        Entry entry = stripe(key).entries.get(key);
+        if (maxSize <= 0 || entry == null || !(entry.value instanceof ScoredMembers members)
+                || members.scores.size() <= maxSize) {
+            return List.of();
+        }
+
+        List<String> evicted = new ArrayList<>();
+        Iterator<ScoredMember> oldest = members.order.iterator();
+        while (members.scores.size() - evicted.size() > maxSize && oldest.hasNext()) {
+            ScoredMember candidate = oldest.next();
+            if (!candidate.member().equals(addedMember)) {
+                evicted.add(candidate.member());
+            }
+        }
+        evicted.forEach(members::remove);
+        return evicted;
+    }
+
+    // 전체 락을 잡은 교체 중에만 사용: 제거된 멤버의 값 키도 바로 삭제
+    private List<String> evictOldestWithValues(String key, int maxSize, String addedMember, List<String> valuePrefixes) {
+        List<String> evicted = evictOldest(key, maxSize, addedMember);
+        for (String member : evicted) {
+            valuePrefixes.forEach(prefix -> remove(prefix + member));
+        }
+        return evicted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void removeMember(String key, String member, long now) {
+        Entry entry = live(key, now);
+        if (entry == null) {
+            return;
+        }
+
+        boolean empty = false;
+        if (entry.value instanceof ScoredMembers members) {
+            empty = members.remove(member) && members.scores.isEmpty();
+        } else if (entry.value instanceof Set<?> members) {
+            empty = ((Set<String>) members).remove(member) && members.isEmpty();
+        }
+        if (empty) {
+            remove(key);
+        }
+    }
+
+    private void expire(String key, long expiresAt, long now) {
+        Entry entry = live(key, now);
+        if (entry != null) {
+            schedule(stripe(key), key, entry, expiresAt);
+        }
+    }
+
+    private boolean remove(String key) {
+        Stripe stripe = stripe(key);
+        Entry entry = stripe.entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        stripe.wheel.cancel(entry.timeout);
+        return true;
+    }
+
+    private void schedule(Stripe stripe, String key, Entry entry, long expiresAt) {
+        stripe.wheel.cancel(entry.timeout);
+        entry.expiresAt = expiresAt;
+        entry.timeout = expiresAt > 0 ? stripe.wheel.schedule(key, expiresAt) : null;
+    }
+
+    private Stripe stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+
+    // 여러 stripe 를 잡을 때는 교착을 피하기 위해 항상 인덱스 순서로 획득
+    private void lock(Collection<String> keys) {
+        stripeIndexes(keys).forEach(index -> stripes[index].lock.lock());
+    }
+
+    private void unlock(Collection<String> keys) {
+        stripeIndexes(keys).descendingSet().forEach(index -> stripes[index].lock.unlock());
+    }
+
+    private TreeSet<Integer> stripeIndexes(Collection<String> keys) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (String key : keys) {
+            int hash = key.hashCode();
+            indexes.add((hash ^ (hash >>> 16)) & stripeMask);
+        }
+        return indexes;
+    }
+
+    private void lockAll() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].lock.unlock();
+        }
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final TimingWheel<String> wheel;
+
+        private Stripe(TimingWheel<String> wheel) {
+            this.wheel = wheel;
+        }
+    }
+
+    // Redis Sorted Set 과 같이 점수(만료 시각) 순으로 정렬된 멤버 집합
+    private static final class ScoredMembers {
+
+        private final Map<String, Long> scores = new HashMap<>();
+        private final TreeSet<ScoredMember> order = new TreeSet<>(
+                Comparator.comparingLong(ScoredMember::score).thenComparing(ScoredMember::member));
+
+        private void add(String member, long score) {
+            Long previous = scores.put(member, score);
+            if (previous != null) {
+                order.remove(new ScoredMember(previous, member));
+            }
+            order.add(new ScoredMember(score, member));
+        }
+
+        private boolean remove(String member) {
+            Long score = scores.remove(member);
+            return score != null && order.remove(new ScoredMember(score, member));
+        }
+
+        private void removeUpTo(long score) {
+            while (!order.isEmpty() && order.first().score() <= score) {
+                scores.remove(order.pollFirst().member());
+            }
+        }
+    }
+
+    private record ScoredMember(long score, String member) {
+    }
+
+    private static final class Entry {
+
+        private Object value;
+        private long expiresAt;
+        private TimingWheel.Timeout<String> timeout;
+    }
+}
@@ -0,0 +1,109 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.util.PasswordEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 비밀번호 해시(로그인/가입/비밀번호 변경)를 CPU 수만큼의 전용 스레드에서 실행한다.
+// 해시 요청이 몰려도 동시에 CPU 를 쓰는 해시는 threads 개로 제한되고, 대기열(queue-capacity)이 가득 차면
+// 기다리지 않고 PasswordHashRejectedException 으로 바로 거절해 (503 + Retry-After) 다른 API 의 요청 스레드를 비워 둔다.
+// 대기열 길이는 executor.queued, 대기 시간은 executor.idle, 거절 수는 password_hash.rejected 로 기록 (name=password_hash)
+@Slf4j
+@Component
+public class PasswordHashExecutor {
+
+    private static final String NAME = "password_hash";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService executor;
+    private final Counter rejected;
+    private final Duration retryAfter;
+
+    public PasswordHashExecutor(PasswordEncoder passwordEncoder,
+                                MeterRegistry meterRegistry,
+                                @Value("${password.hash.threads:0}") int threads,
+                                @Value("${password.hash.queue-capacity:0}") int queueCapacity,
+                                @Value("${password.hash.retry-after:1s}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // 기본 대기열은 스레드당 해시 8 개 분량 (목표 지연 50ms 기준 최대 약 0.4s 대기)
+        int capacity = queueCapacity > 0 ? queueCapacity : poolSize * 8;
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        pool.prestartAllCoreThreads();
+
+        this.passwordEncoder = passwordEncoder;
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, NAME);
+        this.rejected = Counter.builder(NAME + ".rejected")
+                .description("Password hash requests rejected because the hashing queue was full")
+                .register(meterRegistry);
+        this.retryAfter = retryAfter;
+        log.info("Password hash executor: {} threads, queue capacity {}", poolSize, capacity);
+    }
+
+    public String encode(String password) {
+        return submit(() -> passwordEncoder.encode(password));
+    }
+
+    public boolean matches(String password, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(password, encodedPassword));
+    }
+
+    // 형식 확인만 하므로 요청 스레드에서 바로 실행
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.needsRehash(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashRejectedException(retryAfter);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
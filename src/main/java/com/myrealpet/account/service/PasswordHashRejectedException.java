@@ -0,0 +1,20 @@
+package com.myrealpet.account.service;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+// 비밀번호 해시 대기열이 가득 차 요청을 받지 않을 때 발생. retryAfter 후 다시 시도하도록 Retry-After 로 알린다
+@Getter
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashRejectedException(Duration retryAfter) {
+        super("Password hashing is at capacity");
+        this.retryAfter = retryAfter;
+    }
+}
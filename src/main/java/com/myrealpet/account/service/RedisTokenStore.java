@@ -0,0 +1,96 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.redis_cache.ExpiringValue;
+import com.myrealpet.account.redis_cache.IndexedValue;
+import com.myrealpet.account.redis_cache.RedisBatch;
+import com.myrealpet.account.redis_cache.RedisCacheService;
+import com.myrealpet.account.redis_cache.SlidingExpiration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "token.store", havingValue = "redis", matchIfMissing = true)
+public class RedisTokenStore implements TokenStore {
+
+    private final RedisCacheService redisCacheService;
+
+    @Override
+    public List<String> save(List<IndexedValue> values) {
+        return redisCacheService.setIndexedValues(values);
+    }
+
+    @Override
+    public String find(String key) {
+        return redisCacheService.getValue(key);
+    }
+
+    @Override
+    public ExpiringValue findFirst(List<String> keys) {
+        return redisCacheService.getFirstValueWithExpiration(keys);
+    }
+
+    @Override
+    public ExpiringValue findFirst(List<String> keys, SlidingExpiration sliding) {
+        return redisCacheService.getFirstValueWithExpiration(keys, sliding);
+    }
+
+    @Override
+    public List<ExpiringValue> findFirstEach(List<List<String>> keyGroups) {
+        return redisCacheService.getFirstValuesWithExpiration(keyGroups);
+    }
+
+    @Override
+    public void delete(List<String> keys) {
+        redisCacheService.deleteValues(keys);
+    }
+
+    @Override
+    public void removeFromIndex(String indexKey, String member) {
+        redisCacheService.removeIndexMember(indexKey, member);
+    }
+
+    @Override
+    public void deleteFromIndex(String indexKey, String member, List<String> keys) {
+        redisCacheService.executeBatch(new RedisBatch()
+                .removeIndexMember(indexKey, member)
+                .delete(keys));
+    }
+
+    @Override
+    public void deleteAllFromIndex(String indexKey, List<String> members, List<String> valuePrefixes) {
+        if (members.isEmpty()) {
+            return;
+        }
+
+        RedisBatch batch = new RedisBatch();
+        List<String> keys = new ArrayList<>(members.size() * valuePrefixes.size());
+        for (String member : members) {
+            batch.removeIndexMember(indexKey, member);
+            valuePrefixes.forEach(prefix -> keys.add(prefix + member));
+        }
+        redisCacheService.executeBatch(batch.delete(keys));
+    }
+
+    @Override
+    public long deleteIndexed(Map<String, List<String>> indexKeyPrefixes) {
+        return redisCacheService.deleteIndexedValues(indexKeyPrefixes);
+    }
+
+    @Override
+    public RefreshTokenRotation rotateRefreshToken(String refreshToken, String newRefreshToken, Duration refreshExpiration,
+                                                   String accessReference, boolean storeAccessToken, Duration accessExpiration,
+                                                   int maxSessions) {
+        return RefreshTokenRotation.from(redisCacheService.executeScript(
+                RefreshTokenRotation.SCRIPT,
+                RefreshTokenRotation.keys(refreshToken, newRefreshToken),
+                RefreshTokenRotation.args(refreshToken, newRefreshToken, refreshExpiration,
+                        accessReference, storeAccessToken, accessExpiration, maxSessions)));
+    }
+}
@@ -0,0 +1,96 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.entity.Account;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+// 리프레시 토큰 교체 스크립트 호출 인자 구성 및 결과 해석
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class RefreshTokenRotation {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final RedisScript<List<Object>> SCRIPT =
+            (RedisScript) RedisScript.of(new ClassPathResource("scripts/rotate_refresh_token.lua"), List.class);
+
+    static final String REFRESH_TOKEN_PREFIX = "refresh_token:";
+    static final String REFRESH_USED_PREFIX = "refresh_used:";
+    static final String REFRESH_FAMILY_PREFIX = "refresh_family:";
+    static final String ACCESS_TOKEN_PREFIX = "access_token:";
+    static final String TOKEN_PREFIX = "auth_token:";
+    static final String USER_TOKEN_PREFIX = "user_tokens:";
+
+    private final boolean reused;
+    private final Long accountId;
+    private final Account.Role role;
+    private final List<String> revokedAccessReferences;
+    // 교체로 세션 수 제한을 넘어 인덱스에서 제거된 토큰 (값 키도 함께 삭제됨)
+    private final List<String> evictedTokens;
+
+    static String refreshTokenValue(Long accountId, Account.Role role, String familyId) {
+        return accountId + ":" + role.name() + ":" + familyId;
+    }
+
+    // 로그인 시 함께 발급된 액세스 토큰 참조를 처음 리프레시 토큰 값 끝에 붙여 둔다. 같은 키에 같은 쓰기로 저장되고,
+    // 재사용은 교체 이후에만 감지되므로 첫 교체 때 패밀리 액세스 목록으로 옮기면 재사용 시 함께 폐기된다
+    static String refreshTokenValue(Long accountId, Account.Role role, String familyId, String initialAccessReference) {
+        return refreshTokenValue(accountId, role, familyId) + ":" + initialAccessReference;
+    }
+
+    static String accessTokenValue(Long accountId, Account.Role role) {
+        return accountId + ":" + role.name();
+    }
+
+    static List<String> keys(String refreshToken, String newRefreshToken) {
+        return List.of(REFRESH_TOKEN_PREFIX + refreshToken, REFRESH_USED_PREFIX + refreshToken,
+                REFRESH_TOKEN_PREFIX + newRefreshToken);
+    }
+
+    static String[] args(String refreshToken, String newRefreshToken, Duration refreshExpiration,
+                         String accessReference, boolean storeAccessToken, Duration accessExpiration, int maxSessions) {
+        return new String[]{
+                refreshToken,
+                newRefreshToken,
+                String.valueOf(refreshExpiration.toMillis()),
+                accessReference,
+                storeAccessToken ? "1" : "0",
+                String.valueOf(accessExpiration.toMillis()),
+                USER_TOKEN_PREFIX,
+                ACCESS_TOKEN_PREFIX,
+                REFRESH_TOKEN_PREFIX,
+                REFRESH_FAMILY_PREFIX,
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(maxSessions),
+                ACCESS_TOKEN_PREFIX + " " + TOKEN_PREFIX
+        };
+    }
+
+    static RefreshTokenRotation from(List<Object> result) {
+        return from(result, UnaryOperator.identity());
+    }
+
+    // 인덱스 멤버가 토큰과 다른 형식으로 저장되는 레이아웃은 tokenOf 로 토큰 문자열로 되돌린다
+    static RefreshTokenRotation from(List<Object> result, UnaryOperator<String> tokenOf) {
+        if (result == null || result.size() < 2) {
+            return null;
+        }
+
+        String[] value = ((String) result.get(1)).split(":", 3);
+        Account.Role role = value.length > 1 && !value[1].isEmpty() ? Account.Role.valueOf(value[1]) : Account.Role.USER;
+        boolean reused = "reused".equals(result.get(0));
+        List<String> members = result.subList(2, result.size()).stream()
+                .map(String.class::cast)
+                .map(tokenOf)
+                .toList();
+
+        return new RefreshTokenRotation(reused, Long.parseLong(value[0]), role,
+                reused ? members : List.of(), reused ? List.of() : members);
+    }
+}
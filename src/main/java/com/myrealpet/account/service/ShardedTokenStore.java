@@ -0,0 +1,164 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.redis_cache.ExpiringValue;
+import com.myrealpet.account.redis_cache.IndexedValue;
+import com.myrealpet.account.redis_cache.SlidingExpiration;
+import com.myrealpet.account.util.ConsistentHashRing;
+import com.myrealpet.account.util.TokenGenerator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 여러 Redis 샤드에 토큰을 나눠 저장하는 저장소. 토큰은 발급 시 계정 슬롯(TokenGenerator.accountSlot)을 담고,
+// 인덱스(user_tokens:<계정ID>)도 같은 슬롯으로 배치하므로 한 계정의 토큰과 인덱스는 항상 같은 샤드에 있다.
+// 따라서 인덱스/로테이션 스크립트는 샤드 하나 안에서 그대로 원자적으로 동작한다.
+// 슬롯이 없는 토큰(샤딩 이전에 발급된 토큰)은 인덱스와 같은 샤드에 있다는 보장이 없으므로 찾지 않고(무효) 쓰지도 않는다.
+// 샤딩을 켤 때는 전환 시점에 기존 Redis 의 토큰 키를 지우고, 기존 세션은 다시 로그인한다
+public class ShardedTokenStore implements TokenStore {
+
+    private static final String USER_TOKEN_PREFIX = "user_tokens:";
+
+    private final ConsistentHashRing<TokenStore> ring;
+
+    public ShardedTokenStore(ConsistentHashRing<TokenStore> ring) {
+        this.ring = ring;
+    }
+
+    @Override
+    public List<String> save(List<IndexedValue> values) {
+        Map<TokenStore, List<IndexedValue>> byShard = new IdentityHashMap<>();
+        for (IndexedValue value : values) {
+            TokenStore shard = shardOf(value.getKey());
+            if (shard == null) {
+                throw new IllegalArgumentException("Token key has no shard slot");
+            }
+            byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(value);
+        }
+        if (byShard.size() == 1) {
+            Map.Entry<TokenStore, List<IndexedValue>> entry = byShard.entrySet().iterator().next();
+            return entry.getKey().save(entry.getValue());
+        }
+
+        List<String> evicted = new ArrayList<>();
+        byShard.forEach((shard, shardValues) -> evicted.addAll(shard.save(shardValues)));
+        return evicted;
+    }
+
+    @Override
+    public String find(String key) {
+        TokenStore shard = shardOf(key);
+        return shard != null ? shard.find(key) : null;
+    }
+
+    // 조회 키들은 모두 같은 토큰에 대한 키
+    @Override
+    public ExpiringValue findFirst(List<String> keys) {
+        TokenStore shard = shardOf(keys.get(0));
+        return shard != null ? shard.findFirst(keys) : null;
+    }
+
+    @Override
+    public ExpiringValue findFirst(List<String> keys, SlidingExpiration sliding) {
+        TokenStore shard = shardOf(keys.get(0));
+        return shard != null ? shard.findFirst(keys, sliding) : null;
+    }
+
+    // 샤드별로 그룹을 모아 샤드당 한 번씩 조회한 뒤 원래 순서로 합친다
+    @Override
+    public List<ExpiringValue> findFirstEach(List<List<String>> keyGroups) {
+        Map<TokenStore, List<Integer>> indexesByShard = new LinkedHashMap<>();
+        for (int i = 0; i < keyGroups.size(); i++) {
+            List<String> keys = keyGroups.get(i);
+            TokenStore shard = keys.isEmpty() ? null : shardOf(keys.get(0));
+            if (shard != null) {
+                indexesByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        ExpiringValue[] results = new ExpiringValue[keyGroups.size()];
+        indexesByShard.forEach((shard, indexes) -> {
+            List<List<String>> shardGroups = new ArrayList<>(indexes.size());
+            indexes.forEach(index -> shardGroups.add(keyGroups.get(index)));
+            List<ExpiringValue> shardResults = shard.findFirstEach(shardGroups);
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = shardResults.get(i);
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public void delete(List<String> keys) {
+        Map<TokenStore, List<String>> byShard = new IdentityHashMap<>();
+        for (String key : keys) {
+            TokenStore shard = shardOf(key);
+            if (shard != null) {
+                byShard.computeIfAbsent(shard, k -> new ArrayList<>()).add(key);
+            }
+        }
+        byShard.forEach(TokenStore::delete);
+    }
+
+    @Override
+    public void removeFromIndex(String indexKey, String member) {
+        shardOf(indexKey).removeFromIndex(indexKey, member);
+    }
+
+    // 인덱스와 멤버 토큰은 같은 샤드에 있다
+    @Override
+    public void deleteFromIndex(String indexKey, String member, List<String> keys) {
+        shardOf(indexKey).deleteFromIndex(indexKey, member, keys);
+    }
+
+    @Override
+    public void deleteAllFromIndex(String indexKey, List<String> members, List<String> valuePrefixes) {
+        shardOf(indexKey).deleteAllFromIndex(indexKey, members, valuePrefixes);
+    }
+
+    @Override
+    public long deleteIndexed(Map<String, List<String>> indexKeyPrefixes) {
+        Map<TokenStore, Map<String, List<String>>> byShard = new IdentityHashMap<>();
+        indexKeyPrefixes.forEach((indexKey, prefixes) ->
+                byShard.computeIfAbsent(shardOf(indexKey), shard -> new LinkedHashMap<>()).put(indexKey, prefixes));
+
+        long removed = 0;
+        for (Map.Entry<TokenStore, Map<String, List<String>>> entry : byShard.entrySet()) {
+            removed += entry.getKey().deleteIndexed(entry.getValue());
+        }
+        return removed;
+    }
+
+    // 새 리프레시 토큰은 기존 토큰과 같은 슬롯으로 발급되므로 교체 전후가 같은 샤드에 있다
+    @Override
+    public RefreshTokenRotation rotateRefreshToken(String refreshToken, String newRefreshToken, Duration refreshExpiration,
+                                                   String accessReference, boolean storeAccessToken, Duration accessExpiration,
+                                                   int maxSessions) {
+        int slot = TokenGenerator.tokenSlot(refreshToken);
+        if (slot == TokenGenerator.NO_SLOT) {
+            return null;
+        }
+        return ring.nodeFor(slot).rotateRefreshToken(refreshToken, newRefreshToken,
+                refreshExpiration, accessReference, storeAccessToken, accessExpiration, maxSessions);
+    }
+
+    // 슬롯이 없는 토큰 키는 null
+    private TokenStore shardOf(String key) {
+        int slot = slotOf(key);
+        return slot != TokenGenerator.NO_SLOT ? ring.nodeFor(slot) : null;
+    }
+
+    // 인덱스 키(user_tokens:<계정ID>[:refresh])는 계정 슬롯, 그 외 키(<prefix>:<토큰>)는 토큰에 담긴 슬롯(없으면 NO_SLOT)
+    static int slotOf(String key) {
+        if (key.startsWith(USER_TOKEN_PREFIX)) {
+            int end = key.indexOf(':', USER_TOKEN_PREFIX.length());
+            String accountId = key.substring(USER_TOKEN_PREFIX.length(), end < 0 ? key.length() : end);
+            return TokenGenerator.accountSlot(Long.parseLong(accountId));
+        }
+        return TokenGenerator.tokenSlot(key.substring(key.indexOf(':') + 1));
+    }
+}
@@ -0,0 +1,99 @@
+package com.myrealpet.account.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myrealpet.account.entity.Account;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+// HS256 JWT (header.payload.signature) 인코딩/검증
+class SignedTokenCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final String HEADER = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper;
+    private final ThreadLocal<Mac> mac;
+
+    SignedTokenCodec(String secret, ObjectMapper objectMapper) {
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("token.signing-secret must be at least " + MIN_SECRET_LENGTH + " bytes");
+        }
+
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.objectMapper = objectMapper;
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to initialize token signer", e);
+            }
+        });
+    }
+
+    String encode(TokenClaims claims) {
+        ObjectNode payload = objectMapper.createObjectNode()
+                .put("jti", claims.getTokenId())
+                .put("sub", claims.getAccountId().toString())
+                .put("role", claims.getRole().name())
+                // 계정 단위 폐기 시각과 밀리초 단위로 비교하도록 소수 초(NumericDate) 로 기록
+                .put("iat", BigDecimal.valueOf(claims.getIssuedAt().toEpochMilli(), 3))
+                .put("exp", claims.getExpiresAt().getEpochSecond());
+
+        String signingInput = HEADER + "." + ENCODER.encodeToString(writeBytes(payload));
+        return signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+    }
+
+    TokenClaims decode(String token) {
+        int payloadStart = token.indexOf('.');
+        int signatureStart = token.lastIndexOf('.');
+        if (payloadStart <= 0 || signatureStart <= payloadStart) {
+            return null;
+        }
+
+        try {
+            byte[] signature = DECODER.decode(token.substring(signatureStart + 1));
+            if (!MessageDigest.isEqual(signature, sign(token.substring(0, signatureStart)))) {
+                return null;
+            }
+
+            JsonNode payload = objectMapper.readTree(DECODER.decode(token.substring(payloadStart + 1, signatureStart)));
+            return new TokenClaims(
+                    payload.path("jti").asText(null),
+                    Long.parseLong(payload.path("sub").asText()),
+                    Account.Role.valueOf(payload.path("role").asText()),
+                    Instant.ofEpochMilli(payload.path("iat").decimalValue().movePointRight(3).longValue()),
+                    Instant.ofEpochSecond(payload.path("exp").asLong())
+            );
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String signingInput) {
+        return mac.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private byte[] writeBytes(ObjectNode payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize token payload", e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.myrealpet.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.redis_cache.IndexedValue;
+import com.myrealpet.account.util.TokenGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "token.mode", havingValue = "signed")
+public class SignedTokenServiceImpl implements TokenService {
+
+    private static final String REFRESH_TOKEN_PREFIX = "refresh_token:";
+    private static final String USER_TOKEN_PREFIX = "user_tokens:";
+    private static final Duration TOKEN_EXPIRATION = Duration.ofHours(24);
+    private static final Duration ACCESS_TOKEN_EXPIRATION = Duration.ofHours(1);
+    private static final Duration REFRESH_TOKEN_EXPIRATION = Duration.ofDays(7);
+
+    private final TokenStore tokenStore;
+    private final TokenRevocationList revocationList;
+    private final TokenGenerator tokenGenerator;
+    private final SignedTokenCodec codec;
+    private final int maxSessions;
+
+    public SignedTokenServiceImpl(TokenStore tokenStore,
+                                  TokenRevocationList revocationList,
+                                  TokenGenerator tokenGenerator,
+                                  ObjectMapper objectMapper,
+                                  @Value("${token.signing-secret:}") String signingSecret,
+                                  @Value("${token.max-sessions:0}") int maxSessions) {
+        this.tokenStore = tokenStore;
+        this.revocationList = revocationList;
+        this.tokenGenerator = tokenGenerator;
+        this.codec = new SignedTokenCodec(signingSecret, objectMapper);
+        this.maxSessions = maxSessions;
+    }
+
+    @Override
+    public String generateToken(Long accountId, Account.Role role) {
+        log.info("Generated signed token for account ID: {}", accountId);
+        return issue(accountId, role, TOKEN_EXPIRATION);
+    }
+
+    @Override
+    public String generateAccessToken(Long accountId, Account.Role role) {
+        log.info("Generated signed access token for account ID: {}", accountId);
+        return issue(accountId, role, ACCESS_TOKEN_EXPIRATION);
+    }
+
+    private String issue(Long accountId, Account.Role role, Duration expiration) {
+        return issue(tokenGenerator.generate(), accountId, role, expiration);
+    }
+
+    private String issue(String tokenId, Long accountId, Account.Role role, Duration expiration) {
+        Instant now = Instant.now();
+        return codec.encode(new TokenClaims(tokenId, accountId, role, now, now.plus(expiration)));
+    }
+
+    // 리프레시 토큰은 기존과 동일하게 토큰 저장소에 저장하며, 동시 세션 수 제한도 리프레시 토큰 기준으로 적용
+    @Override
+    public String generateRefreshToken(Long accountId, Account.Role role) {
+        String token = tokenGenerator.generate(TokenGenerator.accountSlot(accountId));
+        saveRefreshToken(token, RefreshTokenRotation.refreshTokenValue(accountId, role, token), accountId);
+
+        log.info("Generated refresh token for account ID: {}", accountId);
+        return token;
+    }
+
+    // 액세스 토큰은 I/O 없이 서명하므로 저장소 왕복은 리프레시 토큰 저장 1회.
+    // 액세스 토큰의 jti 를 리프레시 토큰과 함께 저장해 재사용 감지 시 이 액세스 토큰도 폐기되도록 함
+    @Override
+    public TokenPair generateTokenPair(Long accountId, Account.Role role) {
+        String tokenId = tokenGenerator.generate();
+        String refreshToken = tokenGenerator.generate(TokenGenerator.accountSlot(accountId));
+        saveRefreshToken(refreshToken, RefreshTokenRotation.refreshTokenValue(accountId, role, refreshToken, tokenId), accountId);
+
+        log.info("Generated signed access and refresh token for account ID: {}", accountId);
+        return new TokenPair(accountId, role, issue(tokenId, accountId, role, ACCESS_TOKEN_EXPIRATION), refreshToken);
+    }
+
+    private void saveRefreshToken(String token, String value, Long accountId) {
+        tokenStore.save(List.of(new IndexedValue(REFRESH_TOKEN_PREFIX + token, value,
+                USER_TOKEN_PREFIX + accountId + ":refresh", token, REFRESH_TOKEN_EXPIRATION,
+                List.of(REFRESH_TOKEN_PREFIX), maxSessions)));
+    }
+
+    // 새 액세스 토큰의 jti 를 패밀리에 기록해 두어 재사용 감지 시 함께 폐기
+    @Override
+    public TokenPair rotateRefreshToken(String refreshToken) {
+        if (refreshToken == null || refreshToken.trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+
+        String newTokenId = tokenGenerator.generate();
+        String newRefreshToken = tokenGenerator.generate(TokenGenerator.tokenSlot(refreshToken));
+
+        RefreshTokenRotation rotation = tokenStore.rotateRefreshToken(refreshToken, newRefreshToken,
+                REFRESH_TOKEN_EXPIRATION, newTokenId, false, ACCESS_TOKEN_EXPIRATION, maxSessions);
+
+        if (rotation == null) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+
+        if (rotation.isReused()) {
+            revocationList.revokeTokens(rotation.getRevokedAccessReferences(), Instant.now().plus(ACCESS_TOKEN_EXPIRATION));
+            log.warn("Refresh token reuse detected, revoked token family for account ID: {}", rotation.getAccountId());
+            throw new IllegalArgumentException("Refresh token reuse detected");
+        }
+
+        String accessToken = issue(newTokenId, rotation.getAccountId(), rotation.getRole(), ACCESS_TOKEN_EXPIRATION);
+        log.info("Rotated refresh token for account ID: {}", rotation.getAccountId());
+        return new TokenPair(rotation.getAccountId(), rotation.getRole(), accessToken, newRefreshToken);
+    }
+
+    @Override
+    public Long validateToken(String token) {
+        TokenClaims claims = resolveClaims(token);
+        return claims != null ? claims.getAccountId() : null;
+    }
+
+    @Override
+    public TokenClaims resolveClaims(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+
+        TokenClaims claims = codec.decode(token);
+        if (claims == null || claims.isExpired(Instant.now()) || revocationList.isRevoked(claims)) {
+            return null;
+        }
+
+        return claims;
+    }
+
+    // 서명 토큰은 I/O 없이 토큰마다 검증
+    @Override
+    public List<TokenClaims> resolveClaims(List<String> tokens) {
+        List<TokenClaims> claims = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            claims.add(resolveClaims(token));
+        }
+        return claims;
+    }
+
+    @Override
+    public void invalidateToken(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return;
+        }
+
+        // 서명 토큰은 만료 시점까지 폐기 목록에 등록
+        TokenClaims claims = codec.decode(token);
+        if (claims != null) {
+            revocationList.revokeToken(claims.getTokenId(), claims.getExpiresAt());
+            log.info("Revoked signed token for account ID: {}", claims.getAccountId());
+            return;
+        }
+
+        String tokenKey = REFRESH_TOKEN_PREFIX + token;
+        String storedValue = tokenStore.find(tokenKey);
+
+        if (storedValue != null) {
+            String accountIdStr = storedValue.split(":", 2)[0];
+            tokenStore.deleteFromIndex(USER_TOKEN_PREFIX + accountIdStr + ":refresh", token, List.of(tokenKey));
+        } else {
+            tokenStore.delete(List.of(tokenKey));
+        }
+        log.info("Invalidated refresh token: {}", token);
+    }
+
+    @Override
+    public void invalidateAllUserTokens(Long accountId) {
+        String userTokenKey = USER_TOKEN_PREFIX + accountId + ":refresh";
+
+        revocationList.revokeAccount(accountId, Instant.now(), TOKEN_EXPIRATION);
+        long removed = tokenStore.deleteIndexed(Map.of(userTokenKey, List.of(REFRESH_TOKEN_PREFIX)));
+        log.info("Invalidated all tokens for account ID: {} ({} refresh keys removed)", accountId, removed);
+    }
+
+    @Override
+    public boolean isTokenValid(String token) {
+        return resolveClaims(token) != null;
+    }
+
+    @Override
+    public Duration getTokenExpiration() {
+        return TOKEN_EXPIRATION;
+    }
+
+    @Override
+    public Duration getAccessTokenExpiration() {
+        return ACCESS_TOKEN_EXPIRATION;
+    }
+}
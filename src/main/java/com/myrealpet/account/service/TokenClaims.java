@@ -0,0 +1,21 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.entity.Account;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class TokenClaims {
+    private final String tokenId;
+    private final Long accountId;
+    private final Account.Role role;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
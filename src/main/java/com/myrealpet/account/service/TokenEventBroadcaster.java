@@ -0,0 +1,121 @@
+package com.myrealpet.account.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// 토큰 무효화(불투명 토큰)와 폐기(서명 토큰) pub/sub 메시지를 SSE 로 다른 서비스의 검증 클라이언트에 전달.
+// 이벤트 이름은 token(불투명 토큰 값의 SHA-256 을 패딩 없는 base64url 로 인코딩한 값 또는 서명 토큰 jti), account(계정 ID) 두 가지.
+// 토큰 값 자체는 구독자에게 보내지 않는다. 구독자 수는 max-subscribers 로 제한된다.
+// 인메모리 토큰 저장소는 pub/sub 을 사용하지 않으므로 하트비트만 전송된다
+@Slf4j
+@Component
+public class TokenEventBroadcaster implements MessageListener {
+
+    public static final String TOKEN_EVENT = "token";
+    public static final String ACCOUNT_EVENT = "account";
+
+    private static final String INVALIDATION_TOKEN_PREFIX = "token:";
+    private static final String INVALIDATION_ACCOUNT_PREFIX = "account:";
+    private static final String REVOCATION_TOKEN_PREFIX = "t:";
+    private static final String REVOCATION_ACCOUNT_PREFIX = "a:";
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final long emitterTimeoutMillis;
+    private final int maxSubscribers;
+
+    public TokenEventBroadcaster(RedisMessageListenerContainer listenerContainer,
+                                 @Value("${token.store:redis}") String storeType,
+                                 @Value("${token.events.emitter-timeout:30m}") Duration emitterTimeout,
+                                 @Value("${token.events.max-subscribers:256}") int maxSubscribers) {
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.maxSubscribers = maxSubscribers;
+        if (!storeType.equals("memory")) {
+            listenerContainer.addMessageListener(this, List.of(
+                    new ChannelTopic(TokenNearCache.INVALIDATION_CHANNEL),
+                    new ChannelTopic(TokenRevocationList.REVOCATION_CHANNEL)));
+        }
+    }
+
+    // 연결이 끊기거나 시간이 초과되면 클라이언트가 다시 연결하며, 그 사이 놓친 이벤트에 대비해 캐시를 비운다.
+    // 구독자가 이미 max-subscribers 명이면 null
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        synchronized (emitters) {
+            if (emitters.size() >= maxSubscribers) {
+                log.warn("Rejecting token event subscriber: {} subscribers connected", emitters.size());
+                return null;
+            }
+            emitters.add(emitter);
+        }
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitters.remove(emitter));
+        // 첫 이벤트 전까지 응답 헤더가 전송되지 않으므로 연결 직후 주석을 보내 구독 시점을 클라이언트에 알림
+        send(emitter, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+
+        if (body.startsWith(INVALIDATION_TOKEN_PREFIX)) {
+            broadcast(TOKEN_EVENT, tokenHash(body.substring(INVALIDATION_TOKEN_PREFIX.length())));
+        } else if (body.startsWith(REVOCATION_TOKEN_PREFIX)) {
+            broadcast(TOKEN_EVENT, body.substring(REVOCATION_TOKEN_PREFIX.length()));
+        } else if (body.startsWith(INVALIDATION_ACCOUNT_PREFIX)) {
+            broadcast(ACCOUNT_EVENT, body.substring(INVALIDATION_ACCOUNT_PREFIX.length()));
+        } else if (body.startsWith(REVOCATION_ACCOUNT_PREFIX)) {
+            broadcast(ACCOUNT_EVENT, body.substring(REVOCATION_ACCOUNT_PREFIX.length()));
+        }
+    }
+
+    // 프록시 유휴 타임아웃으로 연결이 끊기지 않도록 주기적으로 주석 줄 전송
+    @Scheduled(fixedDelayString = "${token.events.heartbeat-interval:15s}")
+    public void heartbeat() {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    // token-client 도 같은 방식으로 캐시 키를 만든다
+    private static String tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void broadcast(String event, String data) {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, SseEmitter.event().name(event).data(data));
+        }
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping token event subscriber: {}", e.getMessage());
+            emitters.remove(emitter);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.myrealpet.account.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.myrealpet.account.redis_cache.RedisBatch;
+import com.myrealpet.account.redis_cache.RedisCacheService;
+import com.myrealpet.account.util.InvalidationStamps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class TokenNearCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "token_invalidation";
+
+    private static final String TOKEN_MESSAGE_PREFIX = "token:";
+    private static final String ACCOUNT_MESSAGE_PREFIX = "account:";
+    private static final int INVALIDATION_STRIPES = 1024;
+
+    private final RedisCacheService redisCacheService;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Cache<String, CachedToken> cache;
+    private final Cache<String, FallbackToken> fallbackCache;
+    private final boolean fallbackEnabled;
+    private final Counter fallbackHits;
+    private final Counter fallbackMisses;
+    // 조회 중에 처리된 토큰/계정 무효화보다 늦게 도착한 put 을 버리기 위한 무효화 시점 (토큰과 계정 ID 모두 키로 사용)
+    private final InvalidationStamps invalidations = new InvalidationStamps(INVALIDATION_STRIPES);
+    // 계정별 캐시된 토큰. 계정 단위 무효화 때 전체 캐시를 훑지 않도록 유지
+    private final AccountIndex cachedTokens = new AccountIndex();
+    private final AccountIndex fallbackTokens = new AccountIndex();
+
+    // 인메모리 토큰 저장소는 조회 자체가 로컬이므로 근접 캐시와 Redis 구독을 사용하지 않음
+    public TokenNearCache(RedisCacheService redisCacheService,
+                          RedisMessageListenerContainer listenerContainer,
+                          MeterRegistry meterRegistry,
+                          @Value("#{${token.near-cache.enabled:true} and '${token.store:redis}' != 'memory'}") boolean enabled,
+                          @Value("${token.near-cache.maximum-size:100000}") long maximumSize,
+                          @Value("${token.near-cache.ttl:30s}") Duration ttl,
+                          @Value("${token.near-cache.fallback-grace-period:5m}") Duration fallbackGracePeriod) {
+        this.redisCacheService = redisCacheService;
+        this.listenerContainer = listenerContainer;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new CachedTokenExpiry())
+                .evictionListener((String token, CachedToken cachedToken, RemovalCause cause) ->
+                        cachedTokens.remove(cachedToken.accountId(), token))
+                .recordStats()
+                .build();
+        // Redis 장애 시에만 사용하는 최근 검증 토큰 캐시. 마지막 검증 후 유예 기간 동안 유지
+        this.fallbackEnabled = enabled && !fallbackGracePeriod.isZero();
+        this.fallbackCache = Caffeine.newBuilder()
+                .maximumSize(fallbackEnabled ? maximumSize : 0)
+                .expireAfterWrite(fallbackGracePeriod)
+                .evictionListener((String token, FallbackToken fallbackToken, RemovalCause cause) ->
+                        fallbackTokens.remove(fallbackToken.accountId(), token))
+                .build();
+        this.fallbackHits = meterRegistry.counter("token_near_cache.fallback", "result", "hit");
+        this.fallbackMisses = meterRegistry.counter("token_near_cache.fallback", "result", "miss");
+    }
+
+    // 다른 노드에서 발생한 무효화 이벤트 수신 및 hit/miss 메트릭 등록
+    @PostConstruct
+    void subscribe() {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "token_near_cache");
+        if (enabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        }
+    }
+
+    public Long get(String token) {
+        if (!enabled) {
+            return null;
+        }
+
+        CachedToken cachedToken = cache.getIfPresent(token);
+        return cachedToken != null ? cachedToken.accountId() : null;
+    }
+
+    // 저장소 조회 전에 받아 put 에 넘긴다
+    public long stamp() {
+        return invalidations.stamp();
+    }
+
+    // stamp 이후 이 토큰이나 계정이 무효화됐으면 조회한 값이 이미 지워졌을 수 있으므로 캐시하지 않는다.
+    // 확인과 저장을 키 잠금(compute) 안에서 해 무효화의 삭제와 엇갈리지 않도록 한다
+    public void put(String token, Long accountId, long remainingMillis, long stamp) {
+        if (!enabled) {
+            return;
+        }
+
+        // 남은 수명을 알 수 없는 토큰(PTTL -1)은 설정된 TTL 만 적용
+        long lifetimeNanos = remainingMillis > 0
+                ? Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis))
+                : ttlNanos;
+        cache.asMap().compute(token, (key, current) -> {
+            if (isInvalidatedSince(token, accountId, stamp)) {
+                return current;
+            }
+            if (current != null) {
+                cachedTokens.remove(current.accountId(), token);
+            }
+            cachedTokens.add(accountId, token);
+            return new CachedToken(accountId, lifetimeNanos);
+        });
+        if (fallbackEnabled) {
+            long expiresAtMillis = remainingMillis > 0 ? System.currentTimeMillis() + remainingMillis : Long.MAX_VALUE;
+            fallbackCache.asMap().compute(token, (key, current) -> {
+                if (isInvalidatedSince(token, accountId, stamp)) {
+                    return current;
+                }
+                if (current != null) {
+                    fallbackTokens.remove(current.accountId(), token);
+                }
+                fallbackTokens.add(accountId, token);
+                return new FallbackToken(accountId, expiresAtMillis);
+            });
+        }
+        // 계정 무효화가 색인을 비운 뒤에 색인됐을 수 있으므로 저장 후 한 번 더 확인
+        if (invalidations.isInvalidatedSince(accountId, stamp)) {
+            evictAccountToken(accountId, token);
+        }
+    }
+
+    private boolean isInvalidatedSince(String token, Long accountId, long stamp) {
+        return invalidations.isInvalidatedSince(token, stamp) || invalidations.isInvalidatedSince(accountId, stamp);
+    }
+
+    // 저장소를 사용할 수 없을 때 유예 기간 안에 검증된 적이 있고 아직 만료 전인 토큰의 계정 ID
+    public Long getFallback(String token) {
+        FallbackToken fallbackToken = fallbackEnabled ? fallbackCache.getIfPresent(token) : null;
+        if (fallbackToken == null || System.currentTimeMillis() >= fallbackToken.expiresAtMillis()) {
+            fallbackMisses.increment();
+            return null;
+        }
+        fallbackHits.increment();
+        return fallbackToken.accountId();
+    }
+
+    public void invalidateToken(String token) {
+        if (!enabled) {
+            return;
+        }
+
+        evictToken(token);
+        redisCacheService.publish(INVALIDATION_CHANNEL, TOKEN_MESSAGE_PREFIX + token);
+    }
+
+    // 여러 토큰의 무효화 알림을 한 번의 파이프라인 왕복으로 전송
+    public void invalidateTokens(List<String> tokens) {
+        if (!enabled || tokens.isEmpty()) {
+            return;
+        }
+
+        RedisBatch batch = new RedisBatch();
+        for (String token : tokens) {
+            evictToken(token);
+            batch.publish(INVALIDATION_CHANNEL, TOKEN_MESSAGE_PREFIX + token);
+        }
+        redisCacheService.executeBatch(batch);
+    }
+
+    public void invalidateAccount(Long accountId) {
+        if (!enabled) {
+            return;
+        }
+
+        evictAccount(accountId);
+        redisCacheService.publish(INVALIDATION_CHANNEL, ACCOUNT_MESSAGE_PREFIX + accountId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+
+        if (body.startsWith(TOKEN_MESSAGE_PREFIX)) {
+            evictToken(body.substring(TOKEN_MESSAGE_PREFIX.length()));
+        } else if (body.startsWith(ACCOUNT_MESSAGE_PREFIX)) {
+            try {
+                evictAccount(Long.parseLong(body.substring(ACCOUNT_MESSAGE_PREFIX.length())));
+            } catch (NumberFormatException e) {
+                log.warn("Invalid account ID in token invalidation message: {}", body);
+            }
+        }
+    }
+
+    // 무효화 시점을 먼저 기록한 뒤 지워, 이미 조회를 마친 put 이 나중에 다시 넣지 못하게 한다
+    private void evictToken(String token) {
+        invalidations.invalidate(token);
+        cache.asMap().computeIfPresent(token, (key, cachedToken) -> {
+            cachedTokens.remove(cachedToken.accountId(), token);
+            return null;
+        });
+        fallbackCache.asMap().computeIfPresent(token, (key, fallbackToken) -> {
+            fallbackTokens.remove(fallbackToken.accountId(), token);
+            return null;
+        });
+    }
+
+    private void evictAccount(Long accountId) {
+        invalidations.invalidate(accountId);
+        for (String token : cachedTokens.removeAll(accountId)) {
+            evictAccountToken(accountId, token);
+        }
+        for (String token : fallbackTokens.removeAll(accountId)) {
+            evictAccountToken(accountId, token);
+        }
+    }
+
+    private void evictAccountToken(Long accountId, String token) {
+        cache.asMap().computeIfPresent(token, (key, cachedToken) -> {
+            if (!cachedToken.accountId().equals(accountId)) {
+                return cachedToken;
+            }
+            cachedTokens.remove(accountId, token);
+            return null;
+        });
+        fallbackCache.asMap().computeIfPresent(token, (key, fallbackToken) -> {
+            if (!fallbackToken.accountId().equals(accountId)) {
+                return fallbackToken;
+            }
+            fallbackTokens.remove(accountId, token);
+            return null;
+        });
+    }
+
+    // 계정 ID -> 캐시에 있는 토큰. 캐시 항목의 추가/삭제와 같은 키 잠금 안에서 갱신하므로 캐시에 있는 토큰은 항상 색인돼 있다
+    private static final class AccountIndex {
+
+        private final ConcurrentHashMap<Long, Set<String>> tokens = new ConcurrentHashMap<>();
+
+        void add(Long accountId, String token) {
+            tokens.compute(accountId, (id, accountTokens) -> {
+                Set<String> result = accountTokens != null ? accountTokens : ConcurrentHashMap.newKeySet();
+                result.add(token);
+                return result;
+            });
+        }
+
+        void remove(Long accountId, String token) {
+            tokens.computeIfPresent(accountId, (id, accountTokens) -> {
+                accountTokens.remove(token);
+                return accountTokens.isEmpty() ? null : accountTokens;
+            });
+        }
+
+        Set<String> removeAll(Long accountId) {
+            Set<String> accountTokens = tokens.remove(accountId);
+            return accountTokens != null ? accountTokens : Set.of();
+        }
+    }
+
+    private record CachedToken(Long accountId, long lifetimeNanos) {
+    }
+
+    private record FallbackToken(Long accountId, long expiresAtMillis) {
+    }
+
+    private static class CachedTokenExpiry implements Expiry<String, CachedToken> {
+
+        @Override
+        public long expireAfterCreate(String token, CachedToken cachedToken, long currentTime) {
+            return cachedToken.lifetimeNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, CachedToken cachedToken, long currentTime, long currentDuration) {
+            return cachedToken.lifetimeNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String token, CachedToken cachedToken, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
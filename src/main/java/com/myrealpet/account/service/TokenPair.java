@@ -0,0 +1,15 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.entity.Account;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TokenPair {
+    private final Long accountId;
+    // 토큰에 기록된 역할 (교체 시에는 처음 로그인할 때의 역할)
+    private final Account.Role role;
+    private final String accessToken;
+    private final String refreshToken;
+}
@@ -0,0 +1,202 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.redis_cache.RedisBatch;
+import com.myrealpet.account.redis_cache.RedisCacheService;
+import com.myrealpet.account.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+// 서명 토큰 폐기 목록. 폐기되지 않은 토큰은 로컬 Bloom filter 만으로 판별하고,
+// Bloom filter 가 양성일 때만 Redis 에서 실제 폐기 여부를 확인한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "token.mode", havingValue = "signed")
+public class TokenRevocationList implements MessageListener {
+
+    public static final String REVOCATION_CHANNEL = "token_revocation";
+
+    private static final String REVOKED_TOKEN_PREFIX = "revoked_token:";
+    private static final String REVOKED_ACCOUNT_PREFIX = "revoked_account:";
+    private static final String REVOCATION_INDEX_KEY = "revoked_tokens";
+    private static final String TOKEN_MEMBER_PREFIX = "t:";
+    private static final String ACCOUNT_MEMBER_PREFIX = "a:";
+    private static final int MIN_EXPECTED_INSERTIONS = 10_000;
+    // 이보다 작은 cutoff 는 초 단위 (밀리초로는 1973 년)
+    private static final long EPOCH_MILLIS_THRESHOLD = 100_000_000_000L;
+
+    private final RedisCacheService redisCacheService;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final double falsePositiveProbability;
+
+    // 필터 교체와 필터 추가가 엇갈려 교체 직전 필터에만 추가되는 일이 없도록 함께 잠근다
+    private final Object filterLock = new Object();
+    private volatile BloomFilter filter;
+    private BloomFilter rebuildingFilter;
+    // 첫 재구성 전의 빈 필터는 모든 토큰을 통과시키므로, 그 전까지는 Redis 를 직접 확인
+    private volatile boolean loaded;
+    private int expectedInsertions = MIN_EXPECTED_INSERTIONS;
+
+    public TokenRevocationList(RedisCacheService redisCacheService,
+                               RedisMessageListenerContainer listenerContainer,
+                               @Value("${token.revocation.bloom-false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.redisCacheService = redisCacheService;
+        this.listenerContainer = listenerContainer;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.filter = new BloomFilter(MIN_EXPECTED_INSERTIONS, falsePositiveProbability);
+    }
+
+    @PostConstruct
+    void initialize() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+        rebuild();
+    }
+
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        if (tokenId == null || remaining.isNegative() || remaining.isZero()) {
+            return;
+        }
+
+        register(REVOKED_TOKEN_PREFIX + tokenId, "1", remaining, TOKEN_MEMBER_PREFIX + tokenId, expiresAt);
+    }
+
+    // 여러 토큰을 같은 만료 시점까지 폐기. 저장, 인덱스 등록, 알림을 모두 한 번의 왕복으로 전송
+    public void revokeTokens(List<String> tokenIds, Instant expiresAt) {
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        if (tokenIds.isEmpty() || remaining.isNegative() || remaining.isZero()) {
+            return;
+        }
+
+        RedisBatch batch = new RedisBatch();
+        for (String tokenId : tokenIds) {
+            batch.set(REVOKED_TOKEN_PREFIX + tokenId, "1", remaining)
+                    .addToSortedSet(REVOCATION_INDEX_KEY, TOKEN_MEMBER_PREFIX + tokenId, expiresAt.toEpochMilli())
+                    .publish(REVOCATION_CHANNEL, TOKEN_MEMBER_PREFIX + tokenId);
+        }
+        redisCacheService.executeBatch(batch);
+        tokenIds.forEach(tokenId -> addLocally(TOKEN_MEMBER_PREFIX + tokenId));
+    }
+
+    // 계정 단위 폐기: cutoff 이전에 발급된 모든 토큰을 무효화. 전체 로그아웃 직후 같은 초에 다시 로그인한 토큰이
+    // 폐기되지 않도록 밀리초 단위로 저장하고 cutoff 보다 먼저 발급된 토큰만 폐기로 본다
+    public void revokeAccount(Long accountId, Instant cutoff, Duration maxTokenLifetime) {
+        register(REVOKED_ACCOUNT_PREFIX + accountId, String.valueOf(cutoff.toEpochMilli()), maxTokenLifetime,
+                ACCOUNT_MEMBER_PREFIX + accountId, cutoff.plus(maxTokenLifetime));
+    }
+
+    public boolean isRevoked(TokenClaims claims) {
+        if (!loaded) {
+            return isRevokedInStore(claims);
+        }
+
+        BloomFilter current = filter;
+
+        if (claims.getTokenId() != null && current.mightContain(TOKEN_MEMBER_PREFIX + claims.getTokenId())
+                && redisCacheService.getValue(REVOKED_TOKEN_PREFIX + claims.getTokenId()) != null) {
+            return true;
+        }
+
+        if (current.mightContain(ACCOUNT_MEMBER_PREFIX + claims.getAccountId())) {
+            String cutoff = redisCacheService.getValue(REVOKED_ACCOUNT_PREFIX + claims.getAccountId());
+            return cutoff != null && claims.getIssuedAt().toEpochMilli() < cutoffMillis(cutoff);
+        }
+
+        return false;
+    }
+
+    // 토큰과 계정 폐기 키를 한 번의 왕복으로 조회. Redis 장애는 그대로 전파해 검증을 실패시킨다
+    private boolean isRevokedInStore(TokenClaims claims) {
+        RedisBatch batch = new RedisBatch().get(REVOKED_ACCOUNT_PREFIX + claims.getAccountId());
+        if (claims.getTokenId() != null) {
+            batch.get(REVOKED_TOKEN_PREFIX + claims.getTokenId());
+        }
+        List<Object> values = redisCacheService.executeBatch(batch);
+
+        if (values.size() > 1 && values.get(1) != null) {
+            return true;
+        }
+        String cutoff = (String) values.get(0);
+        return cutoff != null && claims.getIssuedAt().toEpochMilli() < cutoffMillis(cutoff);
+    }
+
+    // pub/sub 누락 대비 주기적 재구성 및 만료된 폐기 항목 정리
+    @Scheduled(fixedDelayString = "${token.revocation.rebuild-interval:60s}",
+            initialDelayString = "${token.revocation.rebuild-interval:60s}")
+    public void rebuild() {
+        // 조회 중에 pub/sub 으로 도착한 폐기도 새 필터에 들어가도록 Redis 를 읽기 전에 만들어 둔다.
+        // 크기는 직전 재구성 결과로 정하며, 그보다 많이 늘었으면 다음 재구성까지 오탐률만 높아진다
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        synchronized (filterLock) {
+            rebuildingFilter = next;
+        }
+        try {
+            double now = System.currentTimeMillis();
+            // 만료 항목 정리와 남은 항목 조회를 한 번의 왕복으로 처리
+            List<Object> results = redisCacheService.executeBatch(new RedisBatch()
+                    .removeSortedSetRangeByScore(REVOCATION_INDEX_KEY, Double.NEGATIVE_INFINITY, now)
+                    .getSortedSetRangeByScore(REVOCATION_INDEX_KEY, now, Double.POSITIVE_INFINITY));
+            @SuppressWarnings("unchecked")
+            Set<String> members = (Set<String>) results.get(1);
+
+            members.forEach(next::add);
+            synchronized (filterLock) {
+                filter = next;
+                rebuildingFilter = null;
+            }
+            loaded = true;
+            expectedInsertions = Math.max(MIN_EXPECTED_INSERTIONS, members.size() * 2);
+
+            log.debug("Rebuilt token revocation filter with {} entries", members.size());
+        } catch (Exception e) {
+            synchronized (filterLock) {
+                rebuildingFilter = null;
+            }
+            log.warn("Failed to rebuild token revocation filter: {}", e.getMessage());
+        }
+    }
+
+    // 초 단위로 저장돼 있던 이전 값은 그 초가 끝날 때까지를 cutoff 로 해석 (기존 <= 비교와 같은 결과)
+    private static long cutoffMillis(String cutoff) {
+        long value = Long.parseLong(cutoff);
+        return value < EPOCH_MILLIS_THRESHOLD ? (value + 1) * 1000 : value;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        addLocally(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    // 폐기 키 저장, 인덱스 등록, 다른 노드 알림을 한 번의 파이프라인 왕복으로 전송.
+    // 로컬 필터에는 Redis 에 기록한 뒤 추가해, 그 전에 시작한 재구성의 조회에서 빠졌더라도 새 필터에 들어가게 한다
+    private void register(String key, String value, Duration duration, String member, Instant expiresAt) {
+        redisCacheService.executeBatch(new RedisBatch()
+                .set(key, value, duration)
+                .addToSortedSet(REVOCATION_INDEX_KEY, member, expiresAt.toEpochMilli())
+                .publish(REVOCATION_CHANNEL, member));
+        addLocally(member);
+    }
+
+    // 재구성 중 도착한 항목이 유실되지 않도록 양쪽 필터에 모두 추가
+    private void addLocally(String member) {
+        synchronized (filterLock) {
+            filter.add(member);
+            if (rebuildingFilter != null) {
+                rebuildingFilter.add(member);
+            }
+        }
+    }
+}
@@ -1,17 +1,29 @@
 package com.myrealpet.account.service;
 
+import com.myrealpet.account.entity.Account;
+
 import java.time.Duration;
+import java.util.List;
 
 public interface TokenService {
 
-    String generateToken(Long accountId);
+    String generateToken(Long accountId, Account.Role role);
+
+    String generateAccessToken(Long accountId, Account.Role role);
+
+    String generateRefreshToken(Long accountId, Account.Role role);
 
-    String generateAccessToken(Long accountId);
+    TokenPair generateTokenPair(Long accountId, Account.Role role);
 
-    String generateRefreshToken(Long accountId);
+    TokenPair rotateRefreshToken(String refreshToken);
 
     Long validateToken(String token);
 
+    TokenClaims resolveClaims(String token);
+
+    // 여러 토큰의 계정 ID/역할/만료 시각을 한 번에 조회. 입력 순서대로, 유효하지 않은 토큰은 null
+    List<TokenClaims> resolveClaims(List<String> tokens);
+
     void invalidateToken(String token);
 
     void invalidateAllUserTokens(Long accountId);
@@ -19,4 +31,7 @@ public interface TokenService {
     boolean isTokenValid(String token);
 
     Duration getTokenExpiration();
+
+    // generateTokenPair/rotateRefreshToken 이 발급하는 액세스 토큰의 수명
+    Duration getAccessTokenExpiration();
 }
\ No newline at end of file
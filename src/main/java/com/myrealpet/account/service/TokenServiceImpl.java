@@ -1,19 +1,33 @@
 package com.myrealpet.account.service;
 
-import com.myrealpet.account.redis_cache.RedisCacheService;
-import lombok.RequiredArgsConstructor;
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.redis_cache.ExpiringValue;
+import com.myrealpet.account.redis_cache.IndexedValue;
+import com.myrealpet.account.redis_cache.SlidingExpiration;
+import com.myrealpet.account.util.TokenGenerator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.util.UUID;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "token.mode", havingValue = "opaque", matchIfMissing = true)
 public class TokenServiceImpl implements TokenService {
 
-    private final RedisCacheService redisCacheService;
+    private final TokenStore tokenStore;
+    private final TokenNearCache tokenNearCache;
+    private final TokenGenerator tokenGenerator;
+    private final int maxSessions;
+    private final boolean slidingExpiration;
+    private final double slidingRefreshFraction;
 
     private static final String TOKEN_PREFIX = "auth_token:";
     private static final String ACCESS_TOKEN_PREFIX = "access_token:";
@@ -22,50 +36,130 @@ public class TokenServiceImpl implements TokenService {
     private static final Duration TOKEN_EXPIRATION = Duration.ofHours(24);
     private static final Duration ACCESS_TOKEN_EXPIRATION = Duration.ofHours(1);
     private static final Duration REFRESH_TOKEN_EXPIRATION = Duration.ofDays(7);
+    private static final List<String> USER_TOKEN_VALUE_PREFIXES = List.of(TOKEN_PREFIX, ACCESS_TOKEN_PREFIX);
+    private static final List<String> REFRESH_TOKEN_VALUE_PREFIXES = List.of(REFRESH_TOKEN_PREFIX);
+    private static final List<Duration> VALIDATION_KEY_LIFETIMES = List.of(ACCESS_TOKEN_EXPIRATION, TOKEN_EXPIRATION);
+
+    public TokenServiceImpl(TokenStore tokenStore,
+                            TokenNearCache tokenNearCache,
+                            TokenGenerator tokenGenerator,
+                            @Value("${token.max-sessions:0}") int maxSessions,
+                            @Value("${token.sliding-expiration.enabled:true}") boolean slidingExpiration,
+                            @Value("${token.sliding-expiration.refresh-fraction:0.5}") double slidingRefreshFraction) {
+        if (slidingRefreshFraction <= 0 || slidingRefreshFraction >= 1) {
+            throw new IllegalArgumentException("token.sliding-expiration.refresh-fraction must be between 0 and 1");
+        }
+        this.tokenStore = tokenStore;
+        this.tokenNearCache = tokenNearCache;
+        this.tokenGenerator = tokenGenerator;
+        this.maxSessions = maxSessions;
+        this.slidingExpiration = slidingExpiration;
+        this.slidingRefreshFraction = slidingRefreshFraction;
+    }
 
     @Override
-    public String generateToken(Long accountId) {
-        String token = UUID.randomUUID().toString().replace("-", "");
-        String tokenKey = TOKEN_PREFIX + token;
-        String userTokenKey = USER_TOKEN_PREFIX + accountId;
-
-        redisCacheService.setValueWithExpiration(tokenKey, accountId.toString(), TOKEN_EXPIRATION);
-
-        redisCacheService.addToSet(userTokenKey, token);
-        redisCacheService.setExpiration(userTokenKey, TOKEN_EXPIRATION);
+    public String generateToken(Long accountId, Account.Role role) {
+        String token = newToken(accountId);
+        save(List.of(indexedToken(TOKEN_PREFIX, token, accountId, role, TOKEN_EXPIRATION)));
 
         log.info("Generated token for account ID: {}", accountId);
         return token;
     }
 
     @Override
-    public String generateAccessToken(Long accountId) {
-        String token = UUID.randomUUID().toString().replace("-", "");
-        String tokenKey = ACCESS_TOKEN_PREFIX + token;
-        String userTokenKey = USER_TOKEN_PREFIX + accountId;
+    public String generateAccessToken(Long accountId, Account.Role role) {
+        String token = newToken(accountId);
+        save(List.of(accessToken(token, accountId, role)));
 
-        redisCacheService.setValueWithExpiration(tokenKey, accountId.toString(), ACCESS_TOKEN_EXPIRATION);
+        log.info("Generated access token for account ID: {}", accountId);
+        return token;
+    }
 
-        redisCacheService.addToSet(userTokenKey, token);
-        redisCacheService.setExpiration(userTokenKey, ACCESS_TOKEN_EXPIRATION);
+    @Override
+    public String generateRefreshToken(Long accountId, Account.Role role) {
+        String token = newToken(accountId);
+        save(List.of(refreshToken(token, accountId, RefreshTokenRotation.refreshTokenValue(accountId, role, token))));
 
-        log.info("Generated access token for account ID: {}", accountId);
+        log.info("Generated refresh token for account ID: {}", accountId);
         return token;
     }
 
     @Override
-    public String generateRefreshToken(Long accountId) {
-        String token = UUID.randomUUID().toString().replace("-", "");
-        String tokenKey = REFRESH_TOKEN_PREFIX + token;
-        String userTokenKey = USER_TOKEN_PREFIX + accountId + ":refresh";
+    public TokenPair generateTokenPair(Long accountId, Account.Role role) {
+        String accessToken = newToken(accountId);
+        String refreshToken = newToken(accountId);
+        // 액세스 토큰을 리프레시 토큰과 함께 저장해 재사용 감지 시 이 액세스 토큰도 폐기되도록 함
+        save(List.of(accessToken(accessToken, accountId, role), refreshToken(refreshToken, accountId,
+                RefreshTokenRotation.refreshTokenValue(accountId, role, refreshToken, accessToken))));
+
+        log.info("Generated access and refresh token for account ID: {}", accountId);
+        return new TokenPair(accountId, role, accessToken, refreshToken);
+    }
 
-        redisCacheService.setValueWithExpiration(tokenKey, accountId.toString(), REFRESH_TOKEN_EXPIRATION);
+    @Override
+    public TokenPair rotateRefreshToken(String refreshToken) {
+        if (refreshToken == null || refreshToken.trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
 
-        redisCacheService.addToSet(userTokenKey, token);
-        redisCacheService.setExpiration(userTokenKey, REFRESH_TOKEN_EXPIRATION);
+        // 새 토큰은 기존 리프레시 토큰(같은 계정)과 같은 슬롯으로 발급
+        int slot = TokenGenerator.tokenSlot(refreshToken);
+        String newAccessToken = tokenGenerator.generate(slot);
+        String newRefreshToken = tokenGenerator.generate(slot);
 
-        log.info("Generated refresh token for account ID: {}", accountId);
-        return token;
+        // 기존 리프레시 토큰 소비 + 새 access/refresh 저장을 하나의 스크립트로 원자적으로 처리
+        RefreshTokenRotation rotation = tokenStore.rotateRefreshToken(refreshToken, newRefreshToken,
+                REFRESH_TOKEN_EXPIRATION, newAccessToken, true, ACCESS_TOKEN_EXPIRATION, maxSessions);
+
+        if (rotation == null) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+
+        // 패밀리의 액세스 토큰은 모두 같은 계정 인덱스에 있으므로 한 번에 삭제
+        if (rotation.isReused()) {
+            List<String> revoked = rotation.getRevokedAccessReferences();
+            tokenStore.deleteAllFromIndex(USER_TOKEN_PREFIX + rotation.getAccountId(), revoked, USER_TOKEN_VALUE_PREFIXES);
+            tokenNearCache.invalidateTokens(revoked);
+            log.warn("Refresh token reuse detected, revoked token family for account ID: {}", rotation.getAccountId());
+            throw new IllegalArgumentException("Refresh token reuse detected");
+        }
+
+        // 동시 세션 수 초과로 밀려난 토큰은 근접 캐시에서도 제거
+        if (!rotation.getEvictedTokens().isEmpty()) {
+            tokenNearCache.invalidateTokens(rotation.getEvictedTokens());
+            log.info("Evicted {} oldest session token(s) over the limit of {}", rotation.getEvictedTokens().size(), maxSessions);
+        }
+
+        log.info("Rotated refresh token for account ID: {}", rotation.getAccountId());
+        return new TokenPair(rotation.getAccountId(), rotation.getRole(), newAccessToken, newRefreshToken);
+    }
+
+    // 동시 세션 수 초과로 밀려난 토큰은 근접 캐시에서도 제거
+    private void save(List<IndexedValue> tokens) {
+        List<String> evicted = tokenStore.save(tokens);
+        evicted.forEach(tokenNearCache::invalidateToken);
+        if (!evicted.isEmpty()) {
+            log.info("Evicted {} oldest session token(s) over the limit of {}", evicted.size(), maxSessions);
+        }
+    }
+
+    private IndexedValue accessToken(String token, Long accountId, Account.Role role) {
+        return indexedToken(ACCESS_TOKEN_PREFIX, token, accountId, role, ACCESS_TOKEN_EXPIRATION);
+    }
+
+    private IndexedValue refreshToken(String token, Long accountId, String value) {
+        return new IndexedValue(REFRESH_TOKEN_PREFIX + token, value, USER_TOKEN_PREFIX + accountId + ":refresh", token,
+                REFRESH_TOKEN_EXPIRATION, REFRESH_TOKEN_VALUE_PREFIXES, maxSessions);
+    }
+
+    private IndexedValue indexedToken(String prefix, String token, Long accountId, Account.Role role, Duration expiration) {
+        return new IndexedValue(prefix + token, RefreshTokenRotation.accessTokenValue(accountId, role), USER_TOKEN_PREFIX + accountId,
+                token, expiration, USER_TOKEN_VALUE_PREFIXES, maxSessions);
+    }
+
+    // 샤딩 시 토큰에 계정 슬롯을 담아 샤딩된 저장소에서도 계정의 토큰과 인덱스가 같은 샤드에 놓이도록 함
+    private String newToken(Long accountId) {
+        return tokenGenerator.generate(TokenGenerator.accountSlot(accountId));
     }
 
     @Override
@@ -74,35 +168,95 @@ public class TokenServiceImpl implements TokenService {
             return null;
         }
 
-        // Try access token first
-        String accessTokenKey = ACCESS_TOKEN_PREFIX + token;
-        String accountIdStr = redisCacheService.getValue(accessTokenKey);
+        Long cachedAccountId = tokenNearCache.get(token);
+        if (cachedAccountId != null) {
+            return cachedAccountId;
+        }
 
-        if (accountIdStr != null) {
-            try {
-                return Long.parseLong(accountIdStr);
-            } catch (NumberFormatException e) {
-                log.warn("Invalid account ID format in access token: {}", token);
-                invalidateToken(token);
-                return null;
+        // access token 우선, 없으면 regular token 을 한 번의 왕복으로 조회
+        // 슬라이딩 만료: 수명의 일정 비율이 지난 토큰은 같은 왕복 안에서 전체 수명으로 연장
+        List<String> keys = List.of(ACCESS_TOKEN_PREFIX + token, TOKEN_PREFIX + token);
+        long stamp = tokenNearCache.stamp();
+        ExpiringValue storedToken;
+        try {
+            storedToken = slidingExpiration
+                    ? tokenStore.findFirst(keys, new SlidingExpiration(VALIDATION_KEY_LIFETIMES, slidingRefreshFraction,
+                            USER_TOKEN_PREFIX, token))
+                    : tokenStore.findFirst(keys);
+        } catch (DataAccessException e) {
+            // 저장소 장애 중에는 최근 검증된 토큰만 유예 기간 동안 허용
+            Long fallbackAccountId = tokenNearCache.getFallback(token);
+            if (fallbackAccountId == null) {
+                throw e;
             }
+            log.debug("Token store unavailable, using recently validated token: {}", e.getMessage());
+            return fallbackAccountId;
+        }
+        if (storedToken == null) {
+            return null;
         }
 
-        // Try regular token
-        String tokenKey = TOKEN_PREFIX + token;
-        accountIdStr = redisCacheService.getValue(tokenKey);
+        return resolveAccountId(token, storedToken, stamp);
+    }
+
+    // 불투명 토큰은 계정 ID 만 저장하므로 역할/만료 정보 없이 반환
+    @Override
+    public TokenClaims resolveClaims(String token) {
+        Long accountId = validateToken(token);
+        return accountId != null ? new TokenClaims(null, accountId, null, null, null) : null;
+    }
 
-        if (accountIdStr != null) {
-            try {
-                return Long.parseLong(accountIdStr);
-            } catch (NumberFormatException e) {
-                log.warn("Invalid account ID format in token: {}", token);
-                invalidateToken(token);
-                return null;
-            }
+    // 근접 캐시에는 역할/만료 정보가 없으므로 저장소에서 모든 토큰을 한 번에 조회
+    @Override
+    public List<TokenClaims> resolveClaims(List<String> tokens) {
+        List<List<String>> keyGroups = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            keyGroups.add(token != null && !token.trim().isEmpty()
+                    ? List.of(ACCESS_TOKEN_PREFIX + token, TOKEN_PREFIX + token)
+                    : List.of());
+        }
+
+        List<ExpiringValue> storedTokens = tokenStore.findFirstEach(keyGroups);
+        Instant now = Instant.now();
+        List<TokenClaims> claims = new ArrayList<>(tokens.size());
+        for (ExpiringValue storedToken : storedTokens) {
+            claims.add(storedToken != null ? toClaims(storedToken, now) : null);
+        }
+        return claims;
+    }
+
+    private TokenClaims toClaims(ExpiringValue storedToken, Instant now) {
+        try {
+            String value = storedToken.getValue();
+            Instant expiresAt = storedToken.getTtlMillis() >= 0 ? now.plusMillis(storedToken.getTtlMillis()) : null;
+            return new TokenClaims(null, accountIdOf(value), roleOf(value), null, expiresAt);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid stored token value: {}", storedToken.getValue());
+            return null;
         }
+    }
+
+    // 저장 값은 "계정ID:역할". 역할이 없는 이전 형식("계정ID")도 허용
+    private static Long accountIdOf(String value) {
+        int separator = value.indexOf(':');
+        return Long.parseLong(separator < 0 ? value : value.substring(0, separator));
+    }
 
-        return null;
+    private static Account.Role roleOf(String value) {
+        int separator = value.indexOf(':');
+        return separator < 0 ? null : Account.Role.valueOf(value.substring(separator + 1));
+    }
+
+    private Long resolveAccountId(String token, ExpiringValue storedToken, long stamp) {
+        try {
+            Long accountId = accountIdOf(storedToken.getValue());
+            tokenNearCache.put(token, accountId, storedToken.getTtlMillis(), stamp);
+            return accountId;
+        } catch (NumberFormatException e) {
+            log.warn("Invalid account ID format in token: {}", token);
+            invalidateToken(token);
+            return null;
+        }
     }
 
     @Override
@@ -111,20 +265,25 @@ public class TokenServiceImpl implements TokenService {
             return;
         }
 
-        String tokenKey = TOKEN_PREFIX + token;
-        String accountIdStr = redisCacheService.getValue(tokenKey);
+        List<String> keys = List.of(ACCESS_TOKEN_PREFIX + token, TOKEN_PREFIX + token);
+        ExpiringValue storedToken = tokenStore.findFirst(keys);
+        Long accountId = null;
 
-        if (accountIdStr != null) {
+        if (storedToken != null) {
             try {
-                Long accountId = Long.parseLong(accountIdStr);
-                String userTokenKey = USER_TOKEN_PREFIX + accountId;
-                redisCacheService.removeFromSet(userTokenKey, token);
+                accountId = accountIdOf(storedToken.getValue());
             } catch (NumberFormatException e) {
                 log.warn("Invalid account ID format when invalidating token: {}", token);
             }
         }
 
-        redisCacheService.deleteValue(tokenKey);
+        // 인덱스 정리와 키 삭제를 한 번의 왕복으로 처리
+        if (accountId != null) {
+            tokenStore.deleteFromIndex(USER_TOKEN_PREFIX + accountId, token, keys);
+        } else {
+            tokenStore.delete(keys);
+        }
+        tokenNearCache.invalidateToken(token);
         log.info("Invalidated token: {}", token);
     }
 
@@ -132,13 +291,13 @@ public class TokenServiceImpl implements TokenService {
     public void invalidateAllUserTokens(Long accountId) {
         String userTokenKey = USER_TOKEN_PREFIX + accountId;
 
-        redisCacheService.getSetMembers(userTokenKey).forEach(token -> {
-            String tokenKey = TOKEN_PREFIX + token;
-            redisCacheService.deleteValue(tokenKey);
-        });
+        // auth/access/refresh 토큰과 인덱스를 서버 측 스크립트로 원자적으로 삭제
+        long removed = tokenStore.deleteIndexed(Map.of(
+                userTokenKey, USER_TOKEN_VALUE_PREFIXES,
+                userTokenKey + ":refresh", REFRESH_TOKEN_VALUE_PREFIXES));
 
-        redisCacheService.deleteValue(userTokenKey);
-        log.info("Invalidated all tokens for account ID: {}", accountId);
+        tokenNearCache.invalidateAccount(accountId);
+        log.info("Invalidated all tokens for account ID: {} ({} keys removed)", accountId, removed);
     }
 
     @Override
@@ -150,4 +309,9 @@ public class TokenServiceImpl implements TokenService {
     public Duration getTokenExpiration() {
         return TOKEN_EXPIRATION;
     }
+
+    @Override
+    public Duration getAccessTokenExpiration() {
+        return ACCESS_TOKEN_EXPIRATION;
+    }
 }
\ No newline at end of file
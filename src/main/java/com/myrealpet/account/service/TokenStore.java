@@ -0,0 +1,53 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.redis_cache.ExpiringValue;
+import com.myrealpet.account.redis_cache.IndexedValue;
+import com.myrealpet.account.redis_cache.SlidingExpiration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// 토큰 저장소. token.store 설정으로 Redis(redis) 또는 단일 노드 인메모리(memory) 구현을 선택
+public interface TokenStore {
+
+    // 저장 후 인덱스 최대 크기를 넘어 제거된 인덱스 멤버(토큰) 목록을 반환
+    List<String> save(List<IndexedValue> values);
+
+    String find(String key);
+
+    // 앞에서부터 처음 존재하는 키의 값과 남은 TTL
+    ExpiringValue findFirst(List<String> keys);
+
+    // findFirst 와 같되, 수명의 일정 비율이 지난 키는 같은 호출 안에서 전체 수명으로 연장
+    ExpiringValue findFirst(List<String> keys, SlidingExpiration sliding);
+
+    // 키 그룹마다 findFirst 결과를 한 번에 조회. 없는 그룹은 null
+    List<ExpiringValue> findFirstEach(List<List<String>> keyGroups);
+
+    void delete(List<String> keys);
+
+    void removeFromIndex(String indexKey, String member);
+
+    // 인덱스에서 멤버를 빼고 값 키들을 삭제. 구현은 가능하면 한 번의 왕복으로 처리한다
+    default void deleteFromIndex(String indexKey, String member, List<String> keys) {
+        removeFromIndex(indexKey, member);
+        delete(keys);
+    }
+
+    // 인덱스에서 여러 멤버를 빼고 각 멤버에 prefix 를 붙인 값 키들을 삭제. 구현은 가능하면 한 번의 왕복으로 처리한다
+    default void deleteAllFromIndex(String indexKey, List<String> members, List<String> valuePrefixes) {
+        for (String member : members) {
+            deleteFromIndex(indexKey, member, valuePrefixes.stream().map(prefix -> prefix + member).toList());
+        }
+    }
+
+    // 인덱스 Set 의 멤버에 prefix 를 붙인 키들과 인덱스 자체를 삭제하고 삭제된 키 수를 반환
+    long deleteIndexed(Map<String, List<String>> indexKeyPrefixes);
+
+    // 리프레시 토큰 교체/재사용 감지. 유효하지 않은 토큰이면 null.
+    // 새 토큰을 인덱스에 추가할 때 save 와 같이 maxSessions 를 넘는 가장 오래된 세션을 제거한다
+    RefreshTokenRotation rotateRefreshToken(String refreshToken, String newRefreshToken, Duration refreshExpiration,
+                                            String accessReference, boolean storeAccessToken, Duration accessExpiration,
+                                            int maxSessions);
+}
@@ -0,0 +1,153 @@
+package com.myrealpet.account.util;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+// 최근 windowSize 개 호출 중 실패 또는 느린 호출 비율이 임계값을 넘으면 열리는 호출 수 기반 서킷 브레이커.
+// 열린 뒤 openDuration 이 지나면 halfOpenCalls 개의 시험 호출을 허용하고, 모두 정상이면 닫히고 하나라도 나쁘면 다시 열린다.
+// 호출자는 tryAcquirePermission 으로 허가를 받은 뒤 호출 결과를 onResult 로 알려야 한다
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    public interface Listener {
+        void onStateTransition(State from, State to);
+    }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private State state = State.CLOSED;
+    private int windowIndex;
+    private int windowCount;
+    private int badCount;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration slowCallThreshold, Duration openDuration, int halfOpenCalls) {
+        this(windowSize, minimumCalls, failureRateThreshold, slowCallThreshold, openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration slowCallThreshold, Duration openDuration, int halfOpenCalls, LongSupplier nanoClock) {
+        if (windowSize < 1 || minimumCalls < 1 || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("windowSize, minimumCalls and halfOpenCalls must be positive");
+        }
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    // 호출 시간 측정에 브레이커와 같은 시계를 사용하도록 제공
+    public long now() {
+        return nanoClock.getAsLong();
+    }
+
+    public boolean tryAcquirePermission() {
+        State from;
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN) {
+                if (nanoClock.getAsLong() - openedAtNanos < openNanos) {
+                    return false;
+                }
+                from = transitionTo(State.HALF_OPEN);
+            } else {
+                from = null;
+            }
+            // 전이 직후에는 허가 수가 0 이므로 여기서 거절되는 경우 from 은 항상 null
+            if (halfOpenPermits >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenPermits++;
+        }
+        fireTransition(from, State.HALF_OPEN);
+        return true;
+    }
+
+    public void onResult(long durationNanos, boolean failed) {
+        boolean bad = failed || durationNanos > slowCallNanos;
+        State from = null;
+        State to = null;
+
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                if (bad) {
+                    from = transitionTo(State.OPEN);
+                    to = State.OPEN;
+                } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                    from = transitionTo(State.CLOSED);
+                    to = State.CLOSED;
+                }
+            } else if (state == State.CLOSED) {
+                record(bad);
+                if (windowCount >= minimumCalls && (double) badCount / windowCount >= failureRateThreshold) {
+                    from = transitionTo(State.OPEN);
+                    to = State.OPEN;
+                }
+            }
+        }
+        fireTransition(from, to);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean bad) {
+        if (windowCount == window.length) {
+            badCount -= window[windowIndex] ? 1 : 0;
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = bad;
+        badCount += bad ? 1 : 0;
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    // 상태를 바꾸고 이전 상태를 반환. 호출자가 락을 잡은 상태여야 한다
+    private State transitionTo(State next) {
+        State previous = state;
+        state = next;
+        windowIndex = 0;
+        windowCount = 0;
+        badCount = 0;
+        halfOpenPermits = 0;
+        halfOpenSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        }
+        return previous;
+    }
+
+    private void fireTransition(State from, State to) {
+        if (from == null || to == null) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            listener.onStateTransition(from, to);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.myrealpet.account.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+// 노드마다 virtualNodes 개의 지점을 링에 두고, 슬롯은 해시 위치에서 시계 방향으로 처음 만나는 노드에 배정한다.
+// 노드 지점은 노드 이름으로만 정해지므로 노드를 추가하면 새 노드가 가져가는 슬롯(약 1/(n+1))만 이동한다.
+// 조회마다 링을 탐색하지 않도록 생성 시 슬롯 → 노드 표를 미리 만든다
+public class ConsistentHashRing<T> {
+
+    private static final int NODE_BITS = 16;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+
+    private final List<String> names;
+    private final List<T> nodes;
+    private final int[] slotOwners;
+
+    public ConsistentHashRing(List<String> names, List<T> nodes, int virtualNodes, int slots) {
+        if (names.isEmpty() || names.size() != nodes.size() || names.size() > NODE_MASK) {
+            throw new IllegalArgumentException("names and nodes must be non-empty and of the same size");
+        }
+        if (new HashSet<>(names).size() != names.size()) {
+            throw new IllegalArgumentException("Duplicate node names: " + names);
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.names = List.copyOf(names);
+        this.nodes = List.copyOf(nodes);
+
+        // 상위 48 bit 에 지점 해시, 하위 16 bit 에 노드 번호를 담아 정렬 한 번으로 링을 구성
+        long[] points = new long[names.size() * virtualNodes];
+        int count = 0;
+        for (int node = 0; node < names.size(); node++) {
+            for (int i = 0; i < virtualNodes; i++) {
+                long hash = hash(names.get(node) + "#" + i);
+                points[count++] = (hash & ~NODE_MASK) | node;
+            }
+        }
+        Arrays.sort(points);
+
+        this.slotOwners = new int[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            long position = mix(slot + 0x9E3779B97F4A7C15L) | NODE_MASK;
+            int index = Arrays.binarySearch(points, position);
+            index = index >= 0 ? index : -index - 1;
+            slotOwners[slot] = (int) (points[index == points.length ? 0 : index] & NODE_MASK);
+        }
+    }
+
+    public T nodeFor(int slot) {
+        return nodes.get(slotOwners[slot]);
+    }
+
+    public String nameFor(int slot) {
+        return names.get(slotOwners[slot]);
+    }
+
+    public List<T> nodes() {
+        return nodes;
+    }
+
+    public int slots() {
+        return slotOwners.length;
+    }
+
+    // FNV-1a 64 후 비트 섞기
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ hash >>> 33;
+    }
+}
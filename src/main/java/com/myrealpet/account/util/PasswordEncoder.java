@@ -1,56 +1,332 @@
 package com.myrealpet.account.util;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.concurrent.TimeUnit;
 
+// 비밀번호 해시. 저장 형식은 $pbkdf2-sha256$i=<반복 횟수>$<솔트>$<해시> (Base64) 이며 형식 식별자가 버전 역할을 한다.
+// 반복 횟수는 시작 시 현재 하드웨어에서 해시 한 번이 target-latency 정도 걸리도록 측정해 정하고(iterations 로 고정 가능),
+// 이전 형식(<솔트>:<SHA-256 해시>)이나 현재보다 적은 반복 횟수로 저장된 해시는 needsRehash 로 알려 로그인 시 다시 해시하게 한다
+@Slf4j
 @Component
 public class PasswordEncoder {
 
-    private static final String ALGORITHM = "SHA-256";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String PBKDF2_PREFIX = "$pbkdf2-sha256$i=";
     private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+    private static final int CALIBRATION_ITERATIONS = 20_000;
+    // 노드마다 측정값이 조금씩 달라도 같은 값이 나오도록 반올림 (불필요한 재해시 방지)
+    private static final int ITERATION_STEP = 10_000;
+    private static final byte[] BLOCK_INDEX = {0, 0, 0, 1};
+    private static final int[] BASE64_VALUES = base64Values();
+    private static final ThreadLocal<Verifier> VERIFIERS = ThreadLocal.withInitial(Verifier::new);
+
+    private final SecureRandom random = new SecureRandom();
+    private final int iterations;
+
+    @Autowired
+    public PasswordEncoder(@Value("${password.hash.iterations:0}") int iterations,
+                           @Value("${password.hash.target-latency:50ms}") Duration targetLatency,
+                           @Value("${password.hash.min-iterations:100000}") int minIterations,
+                           @Value("${password.hash.max-iterations:2000000}") int maxIterations) {
+        this.iterations = iterations > 0 ? iterations : calibrate(targetLatency, minIterations, maxIterations);
+        log.info("Password hashing: PBKDF2-HMAC-SHA256, {} iterations{}", this.iterations,
+                iterations > 0 ? "" : " (calibrated to " + targetLatency.toMillis() + "ms)");
+    }
+
+    public PasswordEncoder(int iterations) {
+        this.iterations = iterations;
+    }
 
     public String encode(String password) {
-        try {
-            String salt = generateSalt();
-            MessageDigest md = MessageDigest.getInstance(ALGORITHM);
-            md.update(salt.getBytes());
-            byte[] hashedPassword = md.digest(password.getBytes());
+        byte[] salt = new byte[SALT_LENGTH];
+        random.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder();
+        return PBKDF2_PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(pbkdf2(password, salt, iterations));
+    }
 
-            String encodedHash = Base64.getEncoder().encodeToString(hashedPassword);
-            return salt + ":" + encodedHash;
+    // 로그인마다 호출되므로 스레드별 MessageDigest 와 버퍼를 재사용하고, 저장된 문자열은 split 없이 위치로 잘라
+    // 해시를 바이트로 디코딩해 상수 시간 비교한다
+    public boolean matches(String password, String encodedPassword) {
+        Verifier verifier = VERIFIERS.get();
+        try {
+            return encodedPassword.startsWith(PBKDF2_PREFIX)
+                    ? verifier.matchesPbkdf2(password, encodedPassword)
+                    : verifier.matchesLegacy(password, encodedPassword);
         } catch (Exception e) {
-            throw new RuntimeException("Failed to encode password", e);
+            return false;
+        } finally {
+            verifier.clear();
         }
     }
 
-    public boolean matches(String password, String encodedPassword) {
+    // 이전 형식이거나 현재 설정보다 약한 해시
+    public boolean needsRehash(String encodedPassword) {
+        if (!encodedPassword.startsWith(PBKDF2_PREFIX)) {
+            return true;
+        }
+
+        int end = encodedPassword.indexOf('$', PBKDF2_PREFIX.length());
+        try {
+            return end < 0 || Integer.parseInt(encodedPassword.substring(PBKDF2_PREFIX.length(), end)) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        Verifier verifier = VERIFIERS.get();
         try {
-            String[] parts = encodedPassword.split(":");
-            if (parts.length != 2) {
+            verifier.pbkdf2(password, salt, salt.length, iterations);
+            return verifier.hash.clone();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to hash password", e);
+        } finally {
+            verifier.clear();
+        }
+    }
+
+    // 문자열 구간을 Base64 디코딩해 target 에 쓰고 길이를 반환. 형식이 잘못됐거나 target 보다 길면 -1.
+    // 인코더가 만드는 형식(패딩 포함, 남는 비트 0)만 허용해 같은 바이트를 나타내는 다른 문자열은 받지 않는다
+    private static int decodeBase64(String value, int from, int to, byte[] target) {
+        if ((to - from) % 4 != 0) {
+            return -1;
+        }
+        for (int padding = 0; padding < 2 && to > from && value.charAt(to - 1) == '='; padding++) {
+            to--;
+        }
+        int length = (to - from) * 3 / 4;
+        if (length > target.length) {
+            return -1;
+        }
+
+        int bits = 0;
+        int bitCount = 0;
+        int position = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            int sextet = c < BASE64_VALUES.length ? BASE64_VALUES[c] : -1;
+            if (sextet < 0) {
+                return -1;
+            }
+            bits = bits << 6 | sextet;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                target[position++] = (byte) (bits >> bitCount);
+            }
+        }
+        if ((bits & ((1 << bitCount) - 1)) != 0) {
+            return -1;
+        }
+        return position;
+    }
+
+    // 길이가 같으면 내용과 관계없이 항상 전체를 비교
+    private static boolean constantTimeEquals(byte[] expected, int expectedLength, byte[] actual) {
+        if (expectedLength != actual.length) {
+            return false;
+        }
+
+        int difference = 0;
+        for (int i = 0; i < expectedLength; i++) {
+            difference |= expected[i] ^ actual[i];
+        }
+        return difference == 0;
+    }
+
+    private static int[] base64Values() {
+        int[] values = new int[128];
+        Arrays.fill(values, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            values[alphabet.charAt(i)] = i;
+        }
+        return values;
+    }
+
+    // 스레드별 검증 상태. 해시 길이가 HMAC-SHA256 출력(32 바이트)과 같아 PBKDF2 블록 하나만 계산하면 되므로
+    // SecretKeyFactory/Mac 대신 MessageDigest 로 HMAC 을 직접 계산한다. Mac.doFinal 은 반복마다 배열을 새로 만들지만
+    // MessageDigest.digest(buf, offset, length) 는 버퍼에 바로 써 반복 중 할당이 없다
+    private static final class Verifier {
+
+        private static final int BLOCK_SIZE = 64;
+
+        private final MessageDigest digest;
+        private byte[] bytes = new byte[64];
+        private int length;
+        private final byte[] innerPad = new byte[BLOCK_SIZE];
+        private final byte[] outerPad = new byte[BLOCK_SIZE];
+        private final byte[] salt = new byte[64];
+        private final byte[] stored = new byte[64];
+        private final byte[] block = new byte[HASH_LENGTH];
+        private final byte[] hash = new byte[HASH_LENGTH];
+
+        private Verifier() {
+            try {
+                this.digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        // $pbkdf2-sha256$i=<반복 횟수>$<솔트>$<해시>
+        private boolean matchesPbkdf2(String password, String encodedPassword) throws GeneralSecurityException {
+            int iterationsEnd = encodedPassword.indexOf('$', PBKDF2_PREFIX.length());
+            int saltEnd = iterationsEnd < 0 ? -1 : encodedPassword.indexOf('$', iterationsEnd + 1);
+            if (saltEnd < 0 || encodedPassword.indexOf('$', saltEnd + 1) >= 0) {
                 return false;
             }
 
-            String salt = parts[0];
-            String storedHash = parts[1];
+            int storedIterations = Integer.parseInt(encodedPassword, PBKDF2_PREFIX.length(), iterationsEnd, 10);
+            int saltLength = decodeBase64(encodedPassword, iterationsEnd + 1, saltEnd, salt);
+            int storedLength = decodeBase64(encodedPassword, saltEnd + 1, encodedPassword.length(), stored);
+            if (storedIterations <= 0 || saltLength < 0 || storedLength < 0) {
+                return false;
+            }
 
-            MessageDigest md = MessageDigest.getInstance(ALGORITHM);
-            md.update(salt.getBytes());
-            byte[] hashedPassword = md.digest(password.getBytes());
+            pbkdf2(password, salt, saltLength, storedIterations);
+            return constantTimeEquals(stored, storedLength, hash);
+        }
 
-            String encodedHash = Base64.getEncoder().encodeToString(hashedPassword);
-            return storedHash.equals(encodedHash);
-        } catch (Exception e) {
-            return false;
+        // <솔트>:<SHA-256(솔트 문자열 + 비밀번호)>. 솔트는 디코딩하지 않은 문자열 그대로 해시에 들어간다
+        private boolean matchesLegacy(String password, String encodedPassword) throws GeneralSecurityException {
+            int separator = encodedPassword.indexOf(':');
+            if (separator < 0 || encodedPassword.indexOf(':', separator + 1) >= 0) {
+                return false;
+            }
+
+            int storedLength = decodeBase64(encodedPassword, separator + 1, encodedPassword.length(), stored);
+            if (storedLength < 0) {
+                return false;
+            }
+
+            // 이전 구현은 String.getBytes() 로 기본 문자셋을 사용했다
+            digest.reset();
+            setBytes(encodedPassword, 0, separator, Charset.defaultCharset());
+            digest.update(bytes, 0, length);
+            setBytes(password, 0, password.length(), Charset.defaultCharset());
+            digest.update(bytes, 0, length);
+            digest.digest(hash, 0, HASH_LENGTH);
+            return constantTimeEquals(stored, storedLength, hash);
+        }
+
+        // RFC 8018 PBKDF2 의 첫 블록: U1 = HMAC(P, S || INT(1)), Uj = HMAC(P, Uj-1), 결과 = U1 ^ ... ^ Uc
+        private void pbkdf2(String password, byte[] salt, int saltLength, int iterations) throws GeneralSecurityException {
+            setBytes(password, 0, password.length(), StandardCharsets.UTF_8);
+            initPads();
+
+            digest.reset();
+            digest.update(innerPad);
+            digest.update(salt, 0, saltLength);
+            digest.update(BLOCK_INDEX);
+            digest.digest(block, 0, HASH_LENGTH);
+            finishHmac();
+            System.arraycopy(block, 0, hash, 0, HASH_LENGTH);
+
+            for (int i = 1; i < iterations; i++) {
+                digest.reset();
+                digest.update(innerPad);
+                digest.update(block);
+                digest.digest(block, 0, HASH_LENGTH);
+                finishHmac();
+                for (int j = 0; j < HASH_LENGTH; j++) {
+                    hash[j] ^= block[j];
+                }
+            }
+        }
+
+        // HMAC(K, m) = H((K ^ opad) || H((K ^ ipad) || m)). 블록 크기보다 긴 키는 해시한 값을 키로 사용
+        private void initPads() throws GeneralSecurityException {
+            byte[] key = bytes;
+            int keyLength = length;
+            if (keyLength > BLOCK_SIZE) {
+                digest.reset();
+                digest.update(bytes, 0, length);
+                digest.digest(block, 0, HASH_LENGTH);
+                key = block;
+                keyLength = HASH_LENGTH;
+            }
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                byte k = i < keyLength ? key[i] : 0;
+                innerPad[i] = (byte) (k ^ 0x36);
+                outerPad[i] = (byte) (k ^ 0x5c);
+            }
+        }
+
+        private void finishHmac() throws GeneralSecurityException {
+            digest.update(outerPad);
+            digest.update(block);
+            digest.digest(block, 0, HASH_LENGTH);
+        }
+
+        // ASCII 는 버퍼에 바로 쓰고 그 밖의 문자가 있으면 charset 으로 인코딩
+        private void setBytes(String value, int from, int to, Charset charset) {
+            clearBytes();
+            if (bytes.length < to - from) {
+                bytes = new byte[to - from];
+            }
+            for (int i = from; i < to; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    Arrays.fill(bytes, 0, i - from, (byte) 0);
+                    bytes = value.substring(from, to).getBytes(charset);
+                    length = bytes.length;
+                    return;
+                }
+                bytes[i - from] = (byte) c;
+            }
+            length = to - from;
+        }
+
+        private void clearBytes() {
+            Arrays.fill(bytes, 0, length, (byte) 0);
+            length = 0;
+        }
+
+        private void clear() {
+            clearBytes();
+            Arrays.fill(innerPad, (byte) 0);
+            Arrays.fill(outerPad, (byte) 0);
+            Arrays.fill(block, (byte) 0);
         }
     }
 
-    private String generateSalt() {
-        SecureRandom random = new SecureRandom();
+    // 워밍업 후 고정 반복 횟수의 소요 시간으로 반복당 비용을 구해 목표 지연 시간에 맞춘다
+    private static int calibrate(Duration targetLatency, int minIterations, int maxIterations) {
         byte[] salt = new byte[SALT_LENGTH];
-        random.nextBytes(salt);
-        return Base64.getEncoder().encodeToString(salt);
+        for (int i = 0; i < 5; i++) {
+            pbkdf2("calibration", salt, CALIBRATION_ITERATIONS);
+        }
+
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long startedAt = System.nanoTime();
+            pbkdf2("calibration", salt, CALIBRATION_ITERATIONS);
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - startedAt);
+        }
+
+        double nanosPerIteration = (double) fastestNanos / CALIBRATION_ITERATIONS;
+        long calibrated = (long) (targetLatency.toNanos() / nanosPerIteration) / ITERATION_STEP * ITERATION_STEP;
+        log.debug("PBKDF2 calibration: {}us per {} iterations", TimeUnit.NANOSECONDS.toMicros(fastestNanos),
+                CALIBRATION_ITERATIONS);
+        return (int) Math.max(minIterations, Math.min(maxIterations, calibrated));
     }
-}
\ No newline at end of file
+}
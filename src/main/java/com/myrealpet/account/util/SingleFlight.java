@@ -0,0 +1,59 @@
+package com.myrealpet.account.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// 같은 키에 대한 동시 로딩을 하나로 합친다. 먼저 들어온 호출이 호출 스레드에서 loader 를 실행하고,
+// 그동안 들어온 호출은 그 결과(또는 예외)를 기다려 함께 받는다. 결과는 보관하지 않으므로 로딩이 끝난 뒤의 호출은 다시 실행한다.
+// loader 안에서 같은 키를 다시 로딩하면 자기 자신을 기다리게 되므로 주의
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder joined = new LongAdder();
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            joined.increment();
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    public boolean isLoading(K key) {
+        return flights.containsKey(key);
+    }
+
+    // 다른 호출의 로딩 결과를 받아 간 호출 수
+    public long joinedCount() {
+        return joined.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.myrealpet.account.util;
+
+import java.util.function.Consumer;
+
+// 계층형 타이밍 휠. 64 슬롯짜리 휠 4단으로 tick * 64^4 범위를 표현하고,
+// 상위 휠 슬롯은 하위 휠이 한 바퀴 돌 때마다 하위로 내려보낸다(cascade).
+// 스레드 안전하지 않으므로 호출 측에서 동기화해야 한다.
+public class TimingWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = 1L << (WHEEL_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final Timeout<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    // 제네릭 배열은 만들 수 없으므로 raw 배열을 만들어 캐스팅
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new Timeout[LEVELS][WHEEL_SIZE];
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        // 마감 시각이 속한 tick 이 지나야 만료되도록 올림하고, 이미 지났으면 다음 tick 에 만료
+        long deadlineTick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(item, deadlineTick);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    public void cancel(Timeout<T> timeout) {
+        if (timeout != null && timeout.level >= 0) {
+            unlink(timeout);
+            size--;
+        }
+    }
+
+    // nowMillis 까지 tick 을 진행하며 만료된 항목을 전달
+    public void advance(long nowMillis, Consumer<T> expired) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            if (size == 0) {
+                // 예약된 항목이 없으면 남은 tick 을 한 번에 건너뜀
+                currentTick = targetTick;
+                return;
+            }
+
+            for (int level = 1; level < LEVELS && (currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0; level++) {
+                cascade(level, (int) (currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+            }
+
+            int index = (int) currentTick & WHEEL_MASK;
+            Timeout<T> timeout = slots[0][index];
+            slots[0][index] = null;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.level = -1;
+                timeout.prev = null;
+                timeout.next = null;
+                size--;
+                expired.accept(timeout.item);
+                timeout = next;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(int level, int index) {
+        Timeout<T> timeout = slots[level][index];
+        slots[level][index] = null;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            insert(timeout);
+            timeout = next;
+        }
+    }
+
+    private void insert(Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        long placementTick = timeout.deadlineTick;
+        int level = 0;
+
+        if (delta <= 0) {
+            // cascade 중 마감 tick 에 도달한 항목은 현재 슬롯에 두어 이번 tick 처리 때 만료
+            placementTick = currentTick;
+        } else if (delta >= MAX_DELTA) {
+            // 최상위 휠 범위를 넘으면 끝 슬롯에 두었다가 cascade 시 재배치
+            placementTick = currentTick + MAX_DELTA - 1;
+            level = LEVELS - 1;
+        } else {
+            while (delta >= 1L << (WHEEL_BITS * (level + 1))) {
+                level++;
+            }
+        }
+
+        int index = (int) (placementTick >>> (WHEEL_BITS * level)) & WHEEL_MASK;
+        Timeout<T> head = slots[level][index];
+        timeout.level = level;
+        timeout.index = index;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        slots[level][index] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.level][timeout.index] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.level = -1;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    public static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineTick;
+        private int level = -1;
+        private int index;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.myrealpet.account.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+@Component
+public class TokenGenerator {
+
+    private static final int TOKEN_BYTES = 16;
+    private static final int SLOT_BYTES = 2;
+    private static final int POOL_BYTES = TOKEN_BYTES * 64;
+    private static final int ENCODED_LENGTH = (TOKEN_BYTES * 8 + 5) / 6;
+    private static final int SLOTTED_ENCODED_LENGTH = (TOKEN_BYTES + SLOT_BYTES) * 8 / 6;
+    private static final byte[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DECODE = new byte[128];
+
+    // 샤딩 시 난수 뒤에 붙이는 라우팅 슬롯(2 바이트) 수. 같은 계정의 토큰은 같은 슬롯을 가진다
+    public static final int SLOTS = 1 << 16;
+    // 슬롯이 없는 토큰(샤딩을 사용하지 않거나 샤딩 이전에 발급된 토큰)
+    public static final int NO_SLOT = -1;
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    // 스레드마다 독립된 DRBG 와 버퍼를 사용해 공유 SecureRandom 락 경합과 임시 객체 생성을 피하고,
+    // DRBG 호출 비용은 토큰 64개 분량을 한 번에 채워 분산
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final boolean embedSlot;
+
+    public TokenGenerator() {
+        this(false);
+    }
+
+    // 토큰 저장소 샤딩(token.sharding.endpoints)을 사용할 때만 슬롯을 붙인다
+    @Autowired
+    public TokenGenerator(@Value("#{'${token.sharding.endpoints:}' != ''}") boolean embedSlot) {
+        this.embedSlot = embedSlot;
+    }
+
+    // 128-bit 난수를 패딩 없는 base64url 22자로 인코딩
+    public String generate() {
+        return encode(NO_SLOT);
+    }
+
+    // 샤딩 시 128-bit 난수 뒤에 2 바이트 슬롯을 붙인 24자 토큰. 저장소가 토큰만으로 계정의 샤드를 찾는 데 사용.
+    // 샤딩하지 않으면 generate() 와 같다
+    public String generate(int slot) {
+        return encode(embedSlot && slot >= 0 ? slot : NO_SLOT);
+    }
+
+    private String encode(int slot) {
+        Buffers buffers = BUFFERS.get();
+        byte[] random = buffers.pool;
+        byte[] encoded = buffers.encoded;
+        if (buffers.position == POOL_BYTES) {
+            buffers.secureRandom.nextBytes(random);
+            buffers.position = 0;
+        }
+
+        int out = 0;
+        int in = buffers.position;
+        int end = in + TOKEN_BYTES;
+        buffers.position = end;
+        while (in + 3 <= end) {
+            int bits = (random[in++] & 0xff) << 16 | (random[in++] & 0xff) << 8 | (random[in++] & 0xff);
+            encoded[out++] = ALPHABET[(bits >>> 18) & 0x3f];
+            encoded[out++] = ALPHABET[(bits >>> 12) & 0x3f];
+            encoded[out++] = ALPHABET[(bits >>> 6) & 0x3f];
+            encoded[out++] = ALPHABET[bits & 0x3f];
+        }
+
+        // 16 바이트 중 남은 1 바이트, 슬롯이 있으면 슬롯 2 바이트와 함께 마지막 4 자
+        int bits = (random[in] & 0xff) << 16;
+        if (slot == NO_SLOT) {
+            encoded[out++] = ALPHABET[(bits >>> 18) & 0x3f];
+            encoded[out] = ALPHABET[(bits >>> 12) & 0x3f];
+            return new String(encoded, 0, ENCODED_LENGTH, StandardCharsets.ISO_8859_1);
+        }
+
+        bits |= slot & (SLOTS - 1);
+        encoded[out++] = ALPHABET[(bits >>> 18) & 0x3f];
+        encoded[out++] = ALPHABET[(bits >>> 12) & 0x3f];
+        encoded[out++] = ALPHABET[(bits >>> 6) & 0x3f];
+        encoded[out] = ALPHABET[bits & 0x3f];
+        return new String(encoded, 0, SLOTTED_ENCODED_LENGTH, StandardCharsets.ISO_8859_1);
+    }
+
+    public static int accountSlot(long accountId) {
+        long hash = accountId * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return (int) (hash ^ hash >>> 29) & (SLOTS - 1);
+    }
+
+    // 샤딩 시 generate(slot) 으로 만든 토큰의 슬롯. 슬롯이 없는 토큰은 NO_SLOT
+    public static int tokenSlot(String token) {
+        if (token.length() == SLOTTED_ENCODED_LENGTH) {
+            // 슬롯 2 바이트는 마지막 3 문자(22~24 번째)의 하위 16 bit
+            int c21 = decode(token.charAt(21));
+            int c22 = decode(token.charAt(22));
+            int c23 = decode(token.charAt(23));
+            if ((c21 | c22 | c23) >= 0) {
+                return (c21 & 0xf) << 12 | c22 << 6 | c23;
+            }
+        }
+        return NO_SLOT;
+    }
+
+    private static int decode(char c) {
+        return c < DECODE.length ? DECODE[c] : -1;
+    }
+
+    private static final class Buffers {
+        private final SecureRandom secureRandom = newSecureRandom();
+        private final byte[] pool = new byte[POOL_BYTES];
+        private final byte[] encoded = new byte[SLOTTED_ENCODED_LENGTH];
+        private int position = POOL_BYTES;
+
+        private static SecureRandom newSecureRandom() {
+            try {
+                return SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                return new SecureRandom();
+            }
+        }
+    }
+}
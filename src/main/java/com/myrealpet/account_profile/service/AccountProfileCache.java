@@ -0,0 +1,77 @@
+package com.myrealpet.account_profile.service;
+
+import com.myrealpet.account.redis_cache.ReadThroughCache;
+import com.myrealpet.account.redis_cache.RedisCacheService;
+import com.myrealpet.account_profile.entity.AccountProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// 프로필 조회용 2 단계 캐시 (ReadThroughCache). 프로필은 계정 ID 로 캐시하고 닉네임은 계정 ID 로의 매핑만 캐시한다.
+// 캐시 값의 account 는 ID 만 채운 계정이며, 계정 정보는 조회하는 쪽에서 AccountCache 로 채운다
+@Component
+public class AccountProfileCache {
+
+    private final boolean enabled;
+    private final ReadThroughCache<Long, AccountProfile> profiles;
+    private final ReadThroughCache<String, Long> accountIds;
+
+    public AccountProfileCache(RedisCacheService redisCacheService,
+                               RedisMessageListenerContainer listenerContainer,
+                               MeterRegistry meterRegistry,
+                               @Value("${account.profile-cache.enabled:true}") boolean enabled,
+                               @Value("${token.store:redis}") String storeType,
+                               @Value("${account.profile-cache.maximum-size:50000}") long maximumSize,
+                               @Value("${account.profile-cache.local-ttl:1m}") Duration localTtl,
+                               @Value("${account.profile-cache.redis-ttl:10m}") Duration redisTtl,
+                               @Value("${account.profile-cache.early-refresh-beta:1.0}") double earlyRefreshBeta) {
+        this.enabled = enabled;
+        RedisCacheService remote = storeType.equals("memory") ? null : redisCacheService;
+        this.profiles = new ReadThroughCache<>("account_profile", AccountProfile.class, remote, listenerContainer,
+                meterRegistry, maximumSize, localTtl, redisTtl, earlyRefreshBeta);
+        this.accountIds = new ReadThroughCache<>("account_profile_nickname", Long.class, remote, listenerContainer,
+                meterRegistry, maximumSize, localTtl, redisTtl, earlyRefreshBeta);
+    }
+
+    public Optional<AccountProfile> findByAccountId(Long accountId, Supplier<Optional<AccountProfile>> loader) {
+        return enabled ? profiles.get(accountId, loader) : loader.get();
+    }
+
+    // 닉네임으로 읽은 프로필은 계정 ID 캐시를 채울 때 그대로 사용해 DB 를 한 번만 조회
+    public Optional<AccountProfile> findByNickname(String nickname, Supplier<Optional<AccountProfile>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        AccountProfile[] loaded = new AccountProfile[1];
+        Optional<AccountProfile> profile = accountIds.get(nickname, () -> loader.get().map(value -> {
+            loaded[0] = value;
+            return value.getAccount().getId();
+        })).flatMap(accountId -> profiles.get(accountId, () -> loaded[0] != null
+                ? Optional.of(loaded[0])
+                : loader.get().filter(value -> value.getAccount().getId().equals(accountId))));
+
+        // 닉네임이 바뀐 뒤 다른 프로필이 같은 닉네임을 쓰는 경우 등 매핑이 어긋나면 캐시를 거치지 않음
+        if (profile.isPresent() && !nickname.equals(profile.get().getNickname())) {
+            accountIds.invalidate(nickname);
+            return loader.get();
+        }
+        return profile;
+    }
+
+    public void invalidate(Long accountId, String nickname) {
+        if (!enabled) {
+            return;
+        }
+
+        profiles.invalidate(accountId);
+        if (nickname != null) {
+            accountIds.invalidate(nickname);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.myrealpet.account_profile.service;
 
 import com.myrealpet.account.entity.Account;
 import com.myrealpet.account.repository.AccountRepository;
+import com.myrealpet.account.service.AccountCache;
 import com.myrealpet.account_profile.entity.AccountProfile;
 import com.myrealpet.account_profile.repository.AccountProfileRepository;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +20,8 @@ public class AccountProfileServiceImpl implements AccountProfileService {
 
     private final AccountRepository accountRepository;
     private final AccountProfileRepository accountProfileRepository;
+    private final AccountProfileCache accountProfileCache;
+    private final AccountCache accountCache;
 
     @Override
     @Transactional
@@ -40,20 +43,23 @@ public class AccountProfileServiceImpl implements AccountProfileService {
 
     @Override
     public Optional<AccountProfile> findProfileByAccountId(Long accountId) {
-        return accountProfileRepository.findByAccountId(accountId);
+        return accountProfileCache.findByAccountId(accountId,
+                        () -> accountProfileRepository.findByAccountId(accountId).map(AccountProfileServiceImpl::detached))
+                .map(this::withAccount);
     }
 
     @Override
     public Optional<AccountProfile> findProfileByNickname(String nickname) {
-        return accountProfileRepository.findByNickname(nickname);
+        return accountProfileCache.findByNickname(nickname,
+                        () -> accountProfileRepository.findByNickname(nickname).map(AccountProfileServiceImpl::detached))
+                .map(this::withAccount);
     }
 
     @Override
     @Transactional
     public AccountProfile updateProfile(Long accountId, String nickname, String profileImageUrl,
                                        String phone, String bio) {
-        AccountProfile profile = accountProfileRepository.findByAccountId(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Profile not found for account: " + accountId));
+        AccountProfile profile = findProfileForUpdate(accountId);
 
         if (nickname != null && !nickname.equals(profile.getNickname())) {
             if (accountProfileRepository.existsByNickname(nickname)) {
@@ -80,8 +86,7 @@ public class AccountProfileServiceImpl implements AccountProfileService {
     @Override
     @Transactional
     public AccountProfile updateNickname(Long accountId, String nickname) {
-        AccountProfile profile = accountProfileRepository.findByAccountId(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Profile not found for account: " + accountId));
+        AccountProfile profile = findProfileForUpdate(accountId);
 
         if (accountProfileRepository.existsByNickname(nickname)) {
             throw new IllegalArgumentException("Nickname already exists: " + nickname);
@@ -94,8 +99,7 @@ public class AccountProfileServiceImpl implements AccountProfileService {
     @Override
     @Transactional
     public AccountProfile updateProfileImage(Long accountId, String profileImageUrl) {
-        AccountProfile profile = accountProfileRepository.findByAccountId(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Profile not found for account: " + accountId));
+        AccountProfile profile = findProfileForUpdate(accountId);
 
         profile.updateProfileImage(profileImageUrl);
         return accountProfileRepository.save(profile);
@@ -104,8 +108,7 @@ public class AccountProfileServiceImpl implements AccountProfileService {
     @Override
     @Transactional
     public AccountProfile updatePhone(Long accountId, String phone) {
-        AccountProfile profile = accountProfileRepository.findByAccountId(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Profile not found for account: " + accountId));
+        AccountProfile profile = findProfileForUpdate(accountId);
 
         profile.updatePhone(phone);
         return accountProfileRepository.save(profile);
@@ -114,8 +117,7 @@ public class AccountProfileServiceImpl implements AccountProfileService {
     @Override
     @Transactional
     public AccountProfile updateBirthDate(Long accountId, LocalDate birthDate) {
-        AccountProfile profile = accountProfileRepository.findByAccountId(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Profile not found for account: " + accountId));
+        AccountProfile profile = findProfileForUpdate(accountId);
 
         profile.updateBirthDate(birthDate);
         return accountProfileRepository.save(profile);
@@ -124,8 +126,7 @@ public class AccountProfileServiceImpl implements AccountProfileService {
     @Override
     @Transactional
     public AccountProfile updateGender(Long accountId, AccountProfile.Gender gender) {
-        AccountProfile profile = accountProfileRepository.findByAccountId(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Profile not found for account: " + accountId));
+        AccountProfile profile = findProfileForUpdate(accountId);
 
         profile.updateGender(gender);
         return accountProfileRepository.save(profile);
@@ -134,8 +135,7 @@ public class AccountProfileServiceImpl implements AccountProfileService {
     @Override
     @Transactional
     public AccountProfile updateBio(Long accountId, String bio) {
-        AccountProfile profile = accountProfileRepository.findByAccountId(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Profile not found for account: " + accountId));
+        AccountProfile profile = findProfileForUpdate(accountId);
 
         profile.updateBio(bio);
         return accountProfileRepository.save(profile);
@@ -154,9 +154,31 @@ public class AccountProfileServiceImpl implements AccountProfileService {
     @Override
     @Transactional
     public void deleteProfile(Long accountId) {
+        AccountProfile profile = findProfileForUpdate(accountId);
+
+        accountProfileRepository.delete(profile);
+    }
+
+    // 변경 후 커밋되면 캐시된 프로필과 (변경 전) 닉네임 매핑을 무효화
+    private AccountProfile findProfileForUpdate(Long accountId) {
         AccountProfile profile = accountProfileRepository.findByAccountId(accountId)
                 .orElseThrow(() -> new IllegalArgumentException("Profile not found for account: " + accountId));
 
-        accountProfileRepository.delete(profile);
+        accountProfileCache.invalidate(accountId, profile.getNickname());
+        return profile;
+    }
+
+    // 캐시하는 프로필은 지연 로딩 프록시 대신 ID 만 채운 계정을 담는다
+    private static AccountProfile detached(AccountProfile profile) {
+        return profile.toBuilder()
+                .account(Account.builder().id(profile.getAccount().getId()).build())
+                .build();
+    }
+
+    private AccountProfile withAccount(AccountProfile profile) {
+        Long accountId = profile.getAccount().getId();
+        return profile.toBuilder()
+                .account(accountCache.findById(accountId, () -> accountRepository.findById(accountId)).orElse(null))
+                .build();
     }
-}
\ No newline at end of file
+}
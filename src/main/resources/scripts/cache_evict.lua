@@ -0,0 +1,8 @@
+-- KEYS[1]: 캐시 키, KEYS[2]: 캐시 키의 버전 키
+-- ARGV[1]: 버전 키 TTL(ms), ARGV[2]: 무효화 채널
+-- 버전을 올려 진행 중인 로딩의 저장을 거절하고, 값을 지운 뒤 다른 노드에 알린다
+redis.call('INCR', KEYS[2])
+redis.call('PEXPIRE', KEYS[2], ARGV[1])
+redis.call('DEL', KEYS[1])
+redis.call('PUBLISH', ARGV[2], KEYS[1])
+return 1
@@ -0,0 +1,3 @@
+-- KEYS[1]: 캐시 키, KEYS[2]: 캐시 키의 버전 키
+-- 반환: {버전(없으면 '0'), 값 | nil}
+return {redis.call('GET', KEYS[2]) or '0', redis.call('GET', KEYS[1])}
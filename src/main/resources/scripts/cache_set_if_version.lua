@@ -0,0 +1,9 @@
+-- KEYS[1]: 캐시 키, KEYS[2]: 캐시 키의 버전 키
+-- ARGV[1]: 값을 읽기 전에 확인한 버전, ARGV[2]: 값, ARGV[3]: TTL(ms)
+-- 그 사이 무효화로 버전이 바뀌었으면 이전 값이므로 저장하지 않는다
+-- 반환: 저장 시 1, 아니면 0
+if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+return 1
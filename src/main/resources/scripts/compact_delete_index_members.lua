@@ -0,0 +1,32 @@
+-- KEYS[1]: 인덱스 Sorted Set 키 (이전 형식의 Set 도 허용)
+-- ARGV[1]: 버킷 키 prefix, ARGV[2]: 버킷 비트 수, ARGV[3]: 이전 형식 값 키 prefix 목록 (공백 구분)
+-- ARGV[2i+2], ARGV[2i+3]: i 번째 토큰의 16 또는 18(샤드 슬롯 포함) 바이트 ID (compact 형식이 아니면 빈 문자열), 토큰
+-- 인덱스에서 ID 와 토큰을 빼고, 버킷 필드와 prefix 를 붙인 이전 형식 값 키를 삭제
+local ID_BYTES, SLOTTED_ID_BYTES = 16, 18
+local bucketPrefix, bucketBits = ARGV[1], tonumber(ARGV[2])
+local bucketDivisor = 2 ^ (24 - bucketBits)
+local fieldOffset = math.floor(bucketBits / 8)
+local members, keys = {}, {}
+
+for i = 4, #ARGV, 2 do
+    local id, token = ARGV[i], ARGV[i + 1]
+    if (#id == ID_BYTES or #id == SLOTTED_ID_BYTES) then
+        local b1, b2, b3 = string.byte(id, 1, 3)
+        redis.call('HDEL', bucketPrefix .. math.floor((b1 * 65536 + b2 * 256 + b3) / bucketDivisor),
+                string.sub(id, fieldOffset + 1))
+        table.insert(members, id)
+    end
+    table.insert(members, token)
+    for prefix in string.gmatch(ARGV[3], '%S+') do
+        table.insert(keys, prefix .. token)
+    end
+end
+
+if #members > 0 then
+    local remove = redis.call('TYPE', KEYS[1]).ok == 'set' and 'SREM' or 'ZREM'
+    redis.call(remove, KEYS[1], unpack(members))
+end
+if #keys > 0 then
+    redis.call('UNLINK', unpack(keys))
+end
+return nil
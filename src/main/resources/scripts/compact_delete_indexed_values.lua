@@ -0,0 +1,52 @@
+-- KEYS[i]: 인덱스 Sorted Set 키 (이전 형식의 Set 도 허용)
+-- ARGV[1]: 버킷 키 prefix, ARGV[2]: 버킷 비트 수, ARGV[i + 2]: 해당 인덱스 멤버에 붙일 값 키 prefix 목록 (공백 구분)
+-- 16/18 바이트(샤드 슬롯 포함) 멤버는 버킷 Hash 필드를, 그 밖의 멤버는 prefix 를 붙인 키를 삭제하고 삭제된 항목 수를 반환
+local ID_BYTES, SLOTTED_ID_BYTES = 16, 18
+local BATCH_SIZE = 1000
+local bucketPrefix, bucketBits = ARGV[1], tonumber(ARGV[2])
+local removed = 0
+local bucketDivisor = 2 ^ (24 - bucketBits)
+local fieldOffset = math.floor(bucketBits / 8)
+
+local function bucketOf(member)
+    local b1, b2, b3 = string.byte(member, 1, 3)
+    return bucketPrefix .. math.floor((b1 * 65536 + b2 * 256 + b3) / bucketDivisor)
+end
+
+local function fieldOf(member)
+    return string.sub(member, fieldOffset + 1)
+end
+
+local function unlink(keys)
+    if #keys > 0 then
+        removed = removed + redis.call('UNLINK', unpack(keys))
+    end
+end
+
+for i, indexKey in ipairs(KEYS) do
+    local members
+    if redis.call('TYPE', indexKey).ok == 'set' then
+        members = redis.call('SMEMBERS', indexKey)
+    else
+        members = redis.call('ZRANGE', indexKey, 0, -1)
+    end
+
+    local batch = {}
+    for _, member in ipairs(members) do
+        if (#member == ID_BYTES or #member == SLOTTED_ID_BYTES) then
+            removed = removed + redis.call('HDEL', bucketOf(member), fieldOf(member))
+        else
+            for prefix in string.gmatch(ARGV[i + 2] or '', '%S+') do
+                table.insert(batch, prefix .. member)
+            end
+        end
+        if #batch >= BATCH_SIZE then
+            unlink(batch)
+            batch = {}
+        end
+    end
+    unlink(batch)
+    unlink({ indexKey })
+end
+
+return removed
@@ -0,0 +1,6 @@
+-- KEYS[1]: 버킷 Hash 키, KEYS[2..]: 함께 삭제할 이전 형식 키, ARGV[1]: Hash 필드
+redis.call('HDEL', KEYS[1], ARGV[1])
+if #KEYS > 1 then
+    redis.call('UNLINK', unpack(KEYS, 2))
+end
+return nil
@@ -0,0 +1,68 @@
+-- KEYS[1]: 버킷 Hash 키, KEYS[2..]: 이전 형식 키 (앞에서부터 조회)
+-- ARGV[1]: Hash 필드, ARGV[2]: 현재 시각(ms)
+-- 슬라이딩 만료 사용 시 ARGV[3]: 갱신 기준 비율, ARGV[4]: 인덱스 키 prefix, ARGV[5]: 버킷 필드의 인덱스 멤버(16/18 바이트 ID),
+-- ARGV[6]: 이전 형식 키의 인덱스 멤버(토큰), ARGV[5 + i]: KEYS[i](i >= 2) 의 전체 수명(ms).
+-- 버킷 필드의 수명은 필드 헤더에 저장된 값을 사용하며, 수명이 없는 이전 필드는 연장하지 않는다
+-- 반환: {값, 남은 TTL(ms)} | nil. 만료된 필드는 조회 시 삭제
+local LIFETIME_FLAG = 2 ^ 47
+local now = tonumber(ARGV[2])
+local sliding = #ARGV > 2
+local fraction = tonumber(ARGV[3])
+
+-- 필드 값: 만료 시각(6 바이트, 수명 포함 시 최상위 비트 설정) [+ 수명(초, 3 바이트)] + 값
+local function unpackField(packed)
+    local expiresAt = struct.unpack('>I6', packed)
+    if expiresAt >= LIFETIME_FLAG then
+        return expiresAt - LIFETIME_FLAG, struct.unpack('>I3', packed, 7) * 1000, string.sub(packed, 10)
+    end
+    return expiresAt, nil, string.sub(packed, 7)
+end
+
+local function touchIndex(indexKey, member, expiresAt)
+    if redis.call('TYPE', indexKey).ok == 'zset' then
+        redis.call('ZADD', indexKey, 'XX', expiresAt, member)
+    end
+    local ttl = redis.call('PTTL', indexKey)
+    if ttl >= 0 and now + ttl < expiresAt then
+        redis.call('PEXPIREAT', indexKey, expiresAt)
+    end
+end
+
+local function shouldSlide(ttl, lifetime)
+    return sliding and lifetime and lifetime > 0 and ttl > 0 and ttl <= lifetime * (1 - fraction)
+end
+
+local packed = redis.call('HGET', KEYS[1], ARGV[1])
+if packed then
+    local expiresAt, lifetime, value = unpackField(packed)
+    if expiresAt > now then
+        local ttl = expiresAt - now
+        if shouldSlide(ttl, lifetime) then
+            expiresAt = now + lifetime
+            redis.call('HSET', KEYS[1], ARGV[1], struct.pack('>I6I3', expiresAt + LIFETIME_FLAG, lifetime / 1000) .. value)
+            local bucketTtl = redis.call('PTTL', KEYS[1])
+            if bucketTtl >= 0 and now + bucketTtl < expiresAt then
+                redis.call('PEXPIREAT', KEYS[1], expiresAt)
+            end
+            touchIndex(ARGV[4] .. string.match(value, '^[^:]+'), ARGV[5], expiresAt)
+            ttl = lifetime
+        end
+        return { value, ttl }
+    end
+    redis.call('HDEL', KEYS[1], ARGV[1])
+end
+
+for i = 2, #KEYS do
+    local value = redis.call('GET', KEYS[i])
+    if value then
+        local ttl = redis.call('PTTL', KEYS[i])
+        local lifetime = tonumber(ARGV[5 + i])
+        if shouldSlide(ttl, lifetime) then
+            redis.call('PEXPIRE', KEYS[i], lifetime)
+            touchIndex(ARGV[4] .. string.match(value, '^[^:]+'), ARGV[6], now + lifetime)
+            ttl = lifetime
+        end
+        return { value, ttl }
+    end
+end
+return nil
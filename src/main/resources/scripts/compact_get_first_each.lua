@@ -0,0 +1,42 @@
+-- 여러 토큰을 compact_get_first.lua 와 같은 방식으로 한 번에 조회
+-- KEYS: 그룹별 [버킷 Hash 키, 이전 형식 키...] 를 이어 붙인 목록
+-- ARGV[1]: 현재 시각(ms), ARGV[2..]: 그룹별 (Hash 필드, 그룹 키 수) 쌍
+-- 반환: 그룹마다 값, 남은 TTL(ms) 두 칸. 없으면 두 칸 모두 nil. 만료된 필드는 조회 시 삭제
+local LIFETIME_FLAG = 2 ^ 47
+local now = tonumber(ARGV[1])
+local result = {}
+local offset = 0
+for i = 2, #ARGV, 2 do
+    local bucket = KEYS[offset + 1]
+    local size = tonumber(ARGV[i + 1])
+    local value, ttl = false, false
+
+    local packed = redis.call('HGET', bucket, ARGV[i])
+    if packed then
+        -- 수명이 함께 저장된 필드는 만료 시각 최상위 비트가 설정되고 값 앞에 수명 3 바이트가 있다
+        local expiresAt, offset = struct.unpack('>I6', packed), 7
+        if expiresAt >= LIFETIME_FLAG then
+            expiresAt, offset = expiresAt - LIFETIME_FLAG, 10
+        end
+        if expiresAt > now then
+            value, ttl = string.sub(packed, offset), expiresAt - now
+        else
+            redis.call('HDEL', bucket, ARGV[i])
+        end
+    end
+
+    if not value then
+        for j = offset + 2, offset + size do
+            value = redis.call('GET', KEYS[j])
+            if value then
+                ttl = redis.call('PTTL', KEYS[j])
+                break
+            end
+        end
+    end
+
+    result[#result + 1] = value
+    result[#result + 1] = ttl
+    offset = offset + size
+end
+return result
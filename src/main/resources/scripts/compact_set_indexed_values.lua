@@ -0,0 +1,105 @@
+-- KEYS[2i-1]: 값 키 (compact 항목은 버킷 Hash 키), KEYS[2i]: 인덱스 Sorted Set 키 (score: 만료 시각 ms)
+-- ARGV[1]: 현재 시각(ms), ARGV[2]: 버킷 키 prefix, ARGV[3]: 버킷 비트 수
+-- ARGV[6i-2..6i+3]: 'c'(compact) | 's'(기존 형식), 값, 인덱스 멤버, TTL(ms), 인덱스 최대 크기(0 이면 무제한),
+--                   제거 시 삭제할 값 키 prefix 목록(공백 구분)
+-- compact 항목의 인덱스 멤버는 16 바이트(샤딩 시 슬롯 포함 18 바이트) 토큰 ID 이며, 앞 N 비트가 버킷 번호, 버킷 비트가 끝나는 바이트 이후가 Hash 필드가 된다.
+-- 필드 값은 6 바이트 만료 시각(ms, big endian, 최상위 비트는 수명 포함 표시)과 3 바이트 전체 수명(초) 뒤에
+-- 원래 값을 붙인 형태이다. 수명은 슬라이딩 만료 시 다시 연장할 기간으로 쓰인다. 수명이 없는 이전 필드도 읽을 수 있다.
+-- 반환: 최대 크기를 넘어 제거된 인덱스 멤버 목록
+local ID_BYTES, SLOTTED_ID_BYTES = 16, 18
+local LIFETIME_FLAG = 2 ^ 47
+local now = tonumber(ARGV[1])
+local bucketPrefix, bucketBits = ARGV[2], tonumber(ARGV[3])
+local evicted = {}
+local bucketDivisor = 2 ^ (24 - bucketBits)
+local fieldOffset = math.floor(bucketBits / 8)
+
+local function bucketOf(member)
+    local b1, b2, b3 = string.byte(member, 1, 3)
+    return bucketPrefix .. math.floor((b1 * 65536 + b2 * 256 + b3) / bucketDivisor)
+end
+
+local function fieldOf(member)
+    return string.sub(member, fieldOffset + 1)
+end
+
+-- 이전 형식의 Set 인덱스는 남은 TTL 을 점수로 하여 Sorted Set 으로 변환
+local function toSortedSet(indexKey, defaultTtl)
+    if redis.call('TYPE', indexKey).ok ~= 'set' then
+        return
+    end
+    local ttl = redis.call('PTTL', indexKey)
+    local expiresAt = now + (ttl > 0 and ttl or defaultTtl)
+    local members = redis.call('SMEMBERS', indexKey)
+    redis.call('DEL', indexKey)
+    for _, member in ipairs(members) do
+        redis.call('ZADD', indexKey, expiresAt, member)
+    end
+end
+
+-- 버킷의 만료된 필드를 정리하고 버킷은 가장 늦게 만료되는 필드에 맞춰 만료
+local function sweep(bucket)
+    local latest = 0
+    local fields = redis.call('HGETALL', bucket)
+    for j = 1, #fields, 2 do
+        local expiresAt = struct.unpack('>I6', fields[j + 1])
+        if expiresAt >= LIFETIME_FLAG then
+            expiresAt = expiresAt - LIFETIME_FLAG
+        end
+        if expiresAt <= now then
+            redis.call('HDEL', bucket, fields[j])
+        elseif expiresAt > latest then
+            latest = expiresAt
+        end
+    end
+    if latest > 0 then
+        redis.call('PEXPIREAT', bucket, latest)
+    end
+end
+
+local function unlinkMember(member, prefixes)
+    if (#member == ID_BYTES or #member == SLOTTED_ID_BYTES) then
+        redis.call('HDEL', bucketOf(member), fieldOf(member))
+        return
+    end
+    for prefix in string.gmatch(prefixes, '%S+') do
+        redis.call('UNLINK', prefix .. member)
+    end
+end
+
+for i = 1, #KEYS / 2 do
+    local key, indexKey = KEYS[2 * i - 1], KEYS[2 * i]
+    local base = 6 * (i - 1) + 3
+    local mode, value, member = ARGV[base + 1], ARGV[base + 2], ARGV[base + 3]
+    local ttl, maxSize, prefixes = tonumber(ARGV[base + 4]), tonumber(ARGV[base + 5]), ARGV[base + 6]
+
+    toSortedSet(indexKey, ttl)
+    if mode == 'c' then
+        redis.call('HSET', key, fieldOf(member), struct.pack('>I6I3', now + ttl + LIFETIME_FLAG, math.floor(ttl / 1000)) .. value)
+        sweep(key)
+    else
+        redis.call('SET', key, value, 'PX', ttl)
+    end
+    redis.call('ZADD', indexKey, now + ttl, member)
+    redis.call('ZREMRANGEBYSCORE', indexKey, '-inf', now)
+
+    -- 만료가 가장 이른(가장 오래된) 세션부터 제거하되, 방금 추가한 멤버는 제외
+    if maxSize > 0 then
+        local excess = redis.call('ZCARD', indexKey) - maxSize
+        if excess > 0 then
+            for _, oldest in ipairs(redis.call('ZRANGE', indexKey, 0, excess)) do
+                if excess > 0 and oldest ~= member then
+                    redis.call('ZREM', indexKey, oldest)
+                    unlinkMember(oldest, prefixes)
+                    table.insert(evicted, oldest)
+                    excess = excess - 1
+                end
+            end
+        end
+    end
+
+    local latest = redis.call('ZRANGE', indexKey, -1, -1, 'WITHSCORES')
+    redis.call('PEXPIREAT', indexKey, latest[2])
+end
+
+return evicted
@@ -0,0 +1,39 @@
+-- KEYS[i]: 인덱스 Sorted Set 키 (이전 형식의 Set 도 허용), ARGV[i]: 해당 Set 멤버에 붙일 값 키 prefix 목록 (공백 구분)
+-- 인덱스에 속한 모든 값 키와 인덱스 자체를 한 번에 UNLINK 하고 삭제된 키 수를 반환
+local BATCH_SIZE = 1000
+local removed = 0
+
+local function unlink(keys)
+    if #keys > 0 then
+        removed = removed + redis.call('UNLINK', unpack(keys))
+    end
+end
+
+for i, indexKey in ipairs(KEYS) do
+    local prefixes = {}
+    for prefix in string.gmatch(ARGV[i] or '', '%S+') do
+        table.insert(prefixes, prefix)
+    end
+
+    local members
+    if redis.call('TYPE', indexKey).ok == 'set' then
+        members = redis.call('SMEMBERS', indexKey)
+    else
+        members = redis.call('ZRANGE', indexKey, 0, -1)
+    end
+
+    local batch = {}
+    for _, member in ipairs(members) do
+        for _, prefix in ipairs(prefixes) do
+            table.insert(batch, prefix .. member)
+        end
+        if #batch >= BATCH_SIZE then
+            unlink(batch)
+            batch = {}
+        end
+    end
+    unlink(batch)
+    unlink({ indexKey })
+end
+
+return removed
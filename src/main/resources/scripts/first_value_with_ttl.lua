@@ -0,0 +1,28 @@
+-- KEYS 순서대로 조회하여 처음 존재하는 키의 값과 남은 TTL(ms)을 반환
+-- 슬라이딩 만료 사용 시 ARGV[1]: 갱신 기준 비율, ARGV[2]: 현재 시각(ms), ARGV[3]: 인덱스 키 prefix, ARGV[4]: 인덱스 멤버,
+-- ARGV[4 + i]: KEYS[i] 의 전체 수명(ms). 수명의 비율 이상이 지난 키만 전체 수명으로 다시 연장하고 인덱스 점수도 갱신한다
+local function touchIndex(indexKey, member, expiresAt, now)
+    if redis.call('TYPE', indexKey).ok == 'zset' then
+        redis.call('ZADD', indexKey, 'XX', expiresAt, member)
+    end
+    local ttl = redis.call('PTTL', indexKey)
+    if ttl >= 0 and now + ttl < expiresAt then
+        redis.call('PEXPIREAT', indexKey, expiresAt)
+    end
+end
+
+for i, key in ipairs(KEYS) do
+    local value = redis.call('GET', key)
+    if value then
+        local ttl = redis.call('PTTL', key)
+        local lifetime = tonumber(ARGV[4 + i])
+        if lifetime and lifetime > 0 and ttl > 0 and ttl <= lifetime * (1 - tonumber(ARGV[1])) then
+            local now = tonumber(ARGV[2])
+            redis.call('PEXPIRE', key, lifetime)
+            touchIndex(ARGV[3] .. string.match(value, '^[^:]+'), ARGV[4], now + lifetime, now)
+            ttl = lifetime
+        end
+        return { value, ttl }
+    end
+end
+return nil
@@ -0,0 +1,19 @@
+-- KEYS: 그룹별 조회 키를 이어 붙인 목록, ARGV[i]: i 번째 그룹의 키 수
+-- 그룹마다 앞에서부터 처음 존재하는 키의 값과 남은 TTL(ms)을 반환. 없으면 두 칸 모두 nil
+local result = {}
+local offset = 0
+for i = 1, #ARGV do
+    local size = tonumber(ARGV[i])
+    local value, ttl = false, false
+    for j = offset + 1, offset + size do
+        value = redis.call('GET', KEYS[j])
+        if value then
+            ttl = redis.call('PTTL', KEYS[j])
+            break
+        end
+    end
+    result[#result + 1] = value
+    result[#result + 1] = ttl
+    offset = offset + size
+end
+return result
@@ -0,0 +1,5 @@
+-- KEYS[1]: 인덱스 Sorted Set 키 (이전 형식의 Set 도 허용), ARGV: 제거할 멤버 목록
+if redis.call('TYPE', KEYS[1]).ok == 'set' then
+    return redis.call('SREM', KEYS[1], unpack(ARGV))
+end
+return redis.call('ZREM', KEYS[1], unpack(ARGV))
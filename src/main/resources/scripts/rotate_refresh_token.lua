@@ -0,0 +1,176 @@
+-- KEYS[1]: refresh_token:<old>, KEYS[2]: refresh_used:<old>, KEYS[3]: refresh_token:<new>
+-- ARGV[1]: old token, ARGV[2]: new token, ARGV[3]: refresh TTL(ms)
+-- ARGV[4]: 새 액세스 토큰 참조(토큰 또는 jti), ARGV[5]: '1' 이면 access_token:<ARGV[4]> 에 'accountId:role' 저장, ARGV[6]: access TTL(ms)
+-- ARGV[7]: user_tokens: prefix, ARGV[8]: access_token: prefix, ARGV[9]: refresh_token: prefix, ARGV[10]: refresh_family: prefix
+-- ARGV[11]: 현재 시각(ms). user_tokens 인덱스는 만료 시각을 점수로 하는 Sorted Set
+-- ARGV[12]: 인덱스 최대 크기(0 이면 무제한), ARGV[13]: 액세스 인덱스에서 제거된 멤버의 값 키 prefix 목록(공백 구분)
+-- compact 레이아웃(CompactRedisTokenStore) 사용 시 KEYS[4]: 새 액세스 토큰을 저장할 버킷 Hash 키,
+-- ARGV[14]: 버킷 키 prefix, ARGV[15]: 버킷 비트 수, ARGV[16]: 새 액세스 토큰의 16/18 바이트 ID (인덱스 멤버)
+-- 필드 형식은 compact_set_indexed_values.lua 와 같다
+-- 반환: {'rotated', value, 최대 크기를 넘어 제거된 인덱스 멤버...} | {'reused', value, 폐기할 액세스 토큰 참조...} | nil
+local ID_BYTES, SLOTTED_ID_BYTES = 16, 18
+local LIFETIME_FLAG = 2 ^ 47
+local now = tonumber(ARGV[11])
+local maxSize = tonumber(ARGV[12])
+local compact = KEYS[4] ~= nil
+local evicted = {}
+
+local function bucketOf(member)
+    local b1, b2, b3 = string.byte(member, 1, 3)
+    return ARGV[14] .. math.floor((b1 * 65536 + b2 * 256 + b3) / 2 ^ (24 - tonumber(ARGV[15])))
+end
+
+local function fieldOf(member)
+    return string.sub(member, math.floor(tonumber(ARGV[15]) / 8) + 1)
+end
+
+-- 버킷의 만료된 필드를 정리하고 버킷은 가장 늦게 만료되는 필드에 맞춰 만료
+local function sweep(bucket)
+    local latest = 0
+    local fields = redis.call('HGETALL', bucket)
+    for j = 1, #fields, 2 do
+        local expiresAt = struct.unpack('>I6', fields[j + 1])
+        if expiresAt >= LIFETIME_FLAG then
+            expiresAt = expiresAt - LIFETIME_FLAG
+        end
+        if expiresAt <= now then
+            redis.call('HDEL', bucket, fields[j])
+        elseif expiresAt > latest then
+            latest = expiresAt
+        end
+    end
+    if latest > 0 then
+        redis.call('PEXPIREAT', bucket, latest)
+    end
+end
+
+local function unlinkMember(member, prefixes)
+    if compact and (#member == ID_BYTES or #member == SLOTTED_ID_BYTES) then
+        redis.call('HDEL', bucketOf(member), fieldOf(member))
+        return
+    end
+    for prefix in string.gmatch(prefixes, '%S+') do
+        redis.call('UNLINK', prefix .. member)
+    end
+end
+
+-- 값: accountId:role:family[:처음 함께 발급된 액세스 토큰 참조]
+local function parse(value, token)
+    local accountId, role, family, initialAccess = string.match(value, '^([^:]+):([^:]*):([^:]+):?([^:]*)$')
+    if not accountId then
+        return value, '', token, ''
+    end
+    return accountId, role, family, initialAccess
+end
+
+-- 이전 형식의 Set 인덱스는 남은 TTL 을 점수로 하여 Sorted Set 으로 변환
+local function toSortedSet(indexKey, defaultTtl)
+    if redis.call('TYPE', indexKey).ok ~= 'set' then
+        return
+    end
+    local ttl = redis.call('PTTL', indexKey)
+    local expiresAt = now + (ttl > 0 and ttl or defaultTtl)
+    local members = redis.call('SMEMBERS', indexKey)
+    redis.call('DEL', indexKey)
+    for _, member in ipairs(members) do
+        redis.call('ZADD', indexKey, expiresAt, member)
+    end
+end
+
+-- 인덱스에 멤버를 추가하고 만료된 멤버 정리 후 가장 늦은 만료 시각에 맞춰 인덱스 만료 설정.
+-- set_indexed_values.lua 와 같이 최대 크기를 넘으면 만료가 가장 이른 멤버부터 값 키와 함께 제거 (방금 추가한 멤버 제외)
+local function addToIndex(indexKey, member, ttl, prefixes)
+    toSortedSet(indexKey, ttl)
+    redis.call('ZADD', indexKey, now + ttl, member)
+    redis.call('ZREMRANGEBYSCORE', indexKey, '-inf', now)
+    if maxSize > 0 then
+        local excess = redis.call('ZCARD', indexKey) - maxSize
+        if excess > 0 then
+            for _, oldest in ipairs(redis.call('ZRANGE', indexKey, 0, excess)) do
+                if excess > 0 and oldest ~= member then
+                    redis.call('ZREM', indexKey, oldest)
+                    unlinkMember(oldest, prefixes)
+                    table.insert(evicted, oldest)
+                    excess = excess - 1
+                end
+            end
+        end
+    end
+    local latest = redis.call('ZRANGE', indexKey, -1, -1, 'WITHSCORES')
+    redis.call('PEXPIREAT', indexKey, latest[2])
+end
+
+local function removeFromIndex(indexKey, member)
+    if redis.call('TYPE', indexKey).ok == 'set' then
+        redis.call('SREM', indexKey, member)
+    else
+        redis.call('ZREM', indexKey, member)
+    end
+end
+
+local stored = redis.call('GET', KEYS[1])
+if stored then
+    local accountId, role, family, initialAccess = parse(stored, ARGV[1])
+    local value = accountId .. ':' .. role .. ':' .. family
+    local refreshIndex = ARGV[7] .. accountId .. ':refresh'
+    local remaining = redis.call('PTTL', KEYS[1])
+
+    redis.call('UNLINK', KEYS[1])
+    removeFromIndex(refreshIndex, ARGV[1])
+    if remaining > 0 then
+        redis.call('SET', KEYS[2], value, 'PX', remaining)
+    end
+
+    redis.call('SET', KEYS[3], value, 'PX', ARGV[3])
+    addToIndex(refreshIndex, ARGV[2], tonumber(ARGV[3]), ARGV[9])
+
+    if ARGV[5] == '1' then
+        local accessValue = role ~= '' and accountId .. ':' .. role or accountId
+        local accessTtl = tonumber(ARGV[6])
+        if compact then
+            redis.call('HSET', KEYS[4], fieldOf(ARGV[16]),
+                struct.pack('>I6I3', now + accessTtl + LIFETIME_FLAG, math.floor(accessTtl / 1000)) .. accessValue)
+            sweep(KEYS[4])
+            addToIndex(ARGV[7] .. accountId, ARGV[16], accessTtl, ARGV[13])
+        else
+            redis.call('SET', ARGV[8] .. ARGV[4], accessValue, 'PX', accessTtl)
+            addToIndex(ARGV[7] .. accountId, ARGV[4], accessTtl, ARGV[13])
+        end
+    end
+
+    -- 패밀리의 현재 리프레시 토큰과 로그인/교체로 발급된 액세스 토큰 목록
+    local familyAccess = ARGV[10] .. family .. ':access'
+    redis.call('SET', ARGV[10] .. family, ARGV[2], 'PX', ARGV[3])
+    redis.call('SADD', familyAccess, ARGV[4])
+    if initialAccess ~= '' then
+        redis.call('SADD', familyAccess, initialAccess)
+    end
+    redis.call('PEXPIRE', familyAccess, ARGV[3])
+    local result = { 'rotated', value }
+    for _, member in ipairs(evicted) do
+        table.insert(result, member)
+    end
+    return result
+end
+
+-- 이미 교체된 토큰이 다시 사용됨: 해당 패밀리의 현재 토큰을 모두 폐기
+local reused = redis.call('GET', KEYS[2])
+if reused then
+    local accountId, _, family = parse(reused, ARGV[1])
+    local familyAccess = ARGV[10] .. family .. ':access'
+    local currentRefresh = redis.call('GET', ARGV[10] .. family)
+    local result = { 'reused', reused }
+
+    if currentRefresh then
+        redis.call('UNLINK', ARGV[9] .. currentRefresh)
+        removeFromIndex(ARGV[7] .. accountId .. ':refresh', currentRefresh)
+    end
+    for _, accessRef in ipairs(redis.call('SMEMBERS', familyAccess)) do
+        table.insert(result, accessRef)
+    end
+
+    redis.call('UNLINK', KEYS[2], ARGV[10] .. family, familyAccess)
+    return result
+end
+
+return nil
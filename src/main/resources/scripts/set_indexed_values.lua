@@ -0,0 +1,54 @@
+-- KEYS[2i-1]: 값 키, KEYS[2i]: 인덱스 Sorted Set 키 (score: 만료 시각 ms)
+-- ARGV[1]: 현재 시각(ms)
+-- ARGV[5i-3..5i+1]: 값, 인덱스 멤버, TTL(ms), 인덱스 최대 크기(0 이면 무제한), 제거 시 삭제할 값 키 prefix 목록(공백 구분)
+-- 반환: 최대 크기를 넘어 제거된 인덱스 멤버 목록
+local now = tonumber(ARGV[1])
+local evicted = {}
+
+-- 이전 형식의 Set 인덱스는 남은 TTL 을 점수로 하여 Sorted Set 으로 변환
+local function toSortedSet(indexKey, defaultTtl)
+    if redis.call('TYPE', indexKey).ok ~= 'set' then
+        return
+    end
+    local ttl = redis.call('PTTL', indexKey)
+    local expiresAt = now + (ttl > 0 and ttl or defaultTtl)
+    local members = redis.call('SMEMBERS', indexKey)
+    redis.call('DEL', indexKey)
+    for _, member in ipairs(members) do
+        redis.call('ZADD', indexKey, expiresAt, member)
+    end
+end
+
+for i = 1, #KEYS / 2 do
+    local key, indexKey = KEYS[2 * i - 1], KEYS[2 * i]
+    local base = 5 * (i - 1) + 1
+    local value, member = ARGV[base + 1], ARGV[base + 2]
+    local ttl, maxSize = tonumber(ARGV[base + 3]), tonumber(ARGV[base + 4])
+
+    toSortedSet(indexKey, ttl)
+    redis.call('SET', key, value, 'PX', ttl)
+    redis.call('ZADD', indexKey, now + ttl, member)
+    redis.call('ZREMRANGEBYSCORE', indexKey, '-inf', now)
+
+    -- 만료가 가장 이른(가장 오래된) 세션부터 제거하되, 방금 추가한 멤버는 제외
+    if maxSize > 0 then
+        local excess = redis.call('ZCARD', indexKey) - maxSize
+        if excess > 0 then
+            for _, oldest in ipairs(redis.call('ZRANGE', indexKey, 0, excess)) do
+                if excess > 0 and oldest ~= member then
+                    redis.call('ZREM', indexKey, oldest)
+                    for prefix in string.gmatch(ARGV[base + 5], '%S+') do
+                        redis.call('UNLINK', prefix .. oldest)
+                    end
+                    table.insert(evicted, oldest)
+                    excess = excess - 1
+                end
+            end
+        end
+    end
+
+    local latest = redis.call('ZRANGE', indexKey, -1, -1, 'WITHSCORES')
+    redis.call('PEXPIREAT', indexKey, latest[2])
+end
+
+return evicted
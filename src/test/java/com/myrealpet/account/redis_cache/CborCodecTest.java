@@ -0,0 +1,93 @@
+package com.myrealpet.account.redis_cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.myrealpet.account.entity.Account;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CborCodecTest {
+
+    private final CborCodec codec = new CborCodec();
+
+    // 열거형, 날짜, 한글, null 필드까지 그대로 복원
+    @Test
+    void roundTripsAccount() {
+        Account account = Account.builder()
+                .id(123456L)
+                .username("myrealpet_user")
+                .password("$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ01")
+                .name("홍길동")
+                .provider(Account.AuthProvider.LOCAL)
+                .role(Account.Role.ADMIN)
+                .isActive(false)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_000_000))
+                .updatedAt(LocalDateTime.of(2025, 6, 1, 12, 0))
+                .build();
+
+        Account decoded = codec.decode(codec.encode(account), Account.class);
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(account);
+        assertThat(decoded.getPhoneNumber()).isNull();
+        assertThat(decoded.getProviderId()).isNull();
+    }
+
+    // 같은 값을 JSON 보다 작게 인코딩
+    @Test
+    void encodesSmallerThanJson() throws Exception {
+        Account account = Account.builder()
+                .id(1L)
+                .username("user")
+                .provider(Account.AuthProvider.KAKAO)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .build();
+
+        byte[] json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(account);
+
+        assertThat(codec.encode(account).length).isLessThan(json.length);
+    }
+
+    // 이후 버전에서 추가된 필드가 있는 값도 읽을 수 있어야 한다
+    @Test
+    void ignoresUnknownFields() throws Exception {
+        Map<String, Object> newer = new LinkedHashMap<>();
+        newer.put("id", 7L);
+        newer.put("username", "user");
+        newer.put("provider", "LOCAL");
+        newer.put("nickname", "added later");
+        byte[] encoded = new CBORMapper().writeValueAsBytes(newer);
+
+        Account decoded = codec.decode(encoded, Account.class);
+
+        assertThat(decoded.getId()).isEqualTo(7L);
+        assertThat(decoded.getUsername()).isEqualTo("user");
+        assertThat(decoded.getProvider()).isEqualTo(Account.AuthProvider.LOCAL);
+    }
+
+    @Test
+    void roundTripsCollectionsAndScalars() {
+        assertThat(codec.decode(codec.encode(List.of("a", "b")), List.class)).containsExactly("a", "b");
+        assertThat(codec.decode(codec.encode(42L), Long.class)).isEqualTo(42L);
+        assertThat(codec.decode(codec.encode("토큰"), String.class)).isEqualTo("토큰");
+    }
+
+    @Test
+    void wrapsDecodeFailuresInSerializationException() {
+        byte[] truncated = codec.encode(Account.builder().id(1L).username("user").build());
+
+        assertThatThrownBy(() -> codec.decode(new byte[]{(byte) 0xff, 0x00}, Account.class))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> codec.decode(Arrays.copyOf(truncated, truncated.length / 2), Account.class))
+                .isInstanceOf(SerializationException.class);
+    }
+}
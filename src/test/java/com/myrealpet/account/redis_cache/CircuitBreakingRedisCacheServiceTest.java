@@ -0,0 +1,127 @@
+package com.myrealpet.account.redis_cache;
+
+import com.myrealpet.account.service.RedisTokenStore;
+import com.myrealpet.account.service.TokenNearCache;
+import com.myrealpet.account.service.TokenServiceImpl;
+import com.myrealpet.account.util.CircuitBreaker;
+import com.myrealpet.account.util.TokenGenerator;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CircuitBreakingRedisCacheServiceTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+
+    private final AtomicLong clock = new AtomicLong();
+    private RedisCacheService delegate;
+    private CircuitBreakingRedisCacheService redisCacheService;
+
+    // 창 4, 최소 4 호출, 실패율 50%, 시험 호출 1 개
+    @BeforeEach
+    void setUp() {
+        delegate = mock(RedisCacheService.class);
+        CircuitBreaker circuitBreaker = new CircuitBreaker(4, 4, 0.5, Duration.ofSeconds(1), OPEN_DURATION, 1, clock::get);
+        redisCacheService = new CircuitBreakingRedisCacheService(delegate, new SimpleMeterRegistry(), true, circuitBreaker);
+    }
+
+    @Test
+    void connectionFailuresOpenCircuitAndRejectWithoutCallingRedis() {
+        when(delegate.getValue(anyString())).thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> redisCacheService.getValue("key"))
+                    .isInstanceOf(RedisConnectionFailureException.class);
+        }
+        assertThat(redisCacheService.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        reset(delegate);
+        assertThatThrownBy(() -> redisCacheService.getValue("key"))
+                .isInstanceOf(RedisUnavailableException.class);
+        verify(delegate, never()).getValue(anyString());
+    }
+
+    @Test
+    void unwrappedTimeoutsCountAsFailures() {
+        when(delegate.getValue(anyString())).thenThrow(new IllegalStateException("wrapped",
+                new RedisCommandTimeoutException("Command timed out")));
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> redisCacheService.getValue("key")).isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(redisCacheService.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    // Redis 가 응답했지만 호출자 쪽에서 실패한 예외는 브레이커를 열지 않는다
+    @Test
+    void nonRedisExceptionsDoNotOpenCircuit() {
+        when(delegate.getValue(anyString())).thenThrow(new IllegalArgumentException("bad key"));
+        when(delegate.getObject(anyString(), any())).thenThrow(new SerializationException("bad payload"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> redisCacheService.getValue("key")).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> redisCacheService.getObject("key", String.class))
+                    .isInstanceOf(SerializationException.class);
+        }
+
+        assertThat(redisCacheService.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void recoversThroughHalfOpenTrialCall() {
+        when(delegate.getValue(anyString())).thenThrow(new RedisConnectionFailureException("connection refused"));
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> redisCacheService.getValue("key")).isInstanceOf(RedisConnectionFailureException.class);
+        }
+
+        reset(delegate);
+        when(delegate.getValue("key")).thenReturn("value");
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        assertThat(redisCacheService.getValue("key")).isEqualTo("value");
+        assertThat(redisCacheService.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    // 브레이커가 열린 동안 최근 검증된 토큰은 근접 캐시의 장애 대비 캐시로 계속 허용되고, 처음 보는 토큰은 거절된다
+    @Test
+    void tokenValidationFallsBackToRecentlyValidatedTokensWhileOpen() {
+        TokenNearCache nearCache = new TokenNearCache(redisCacheService, new RedisMessageListenerContainer(),
+                new SimpleMeterRegistry(), true, 1000, Duration.ofNanos(1), Duration.ofMinutes(5));
+        TokenServiceImpl tokenService = new TokenServiceImpl(new RedisTokenStore(redisCacheService), nearCache,
+                new TokenGenerator(), 0, false, 0.5);
+        when(delegate.getFirstValueWithExpiration(anyList())).thenReturn(new ExpiringValue("42:USER", 60_000));
+
+        assertThat(tokenService.validateToken("recent")).isEqualTo(42L);
+
+        when(delegate.getFirstValueWithExpiration(anyList()))
+                .thenThrow(new RedisConnectionFailureException("connection refused"));
+        for (int i = 0; i < 4; i++) {
+            assertThat(tokenService.validateToken("recent")).isEqualTo(42L);
+        }
+        assertThat(redisCacheService.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        reset(delegate);
+        assertThat(tokenService.validateToken("recent")).isEqualTo(42L);
+        assertThatThrownBy(() -> tokenService.validateToken("unknown")).isInstanceOf(RedisUnavailableException.class);
+        verify(delegate, never()).getFirstValueWithExpiration(anyList());
+    }
+}
@@ -0,0 +1,377 @@
+package com.myrealpet.account.redis_cache;
+
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 테스트와 벤치마크용 인메모리 RedisCacheService. 호출마다 설정된 왕복 지연을 흉내낸다.
+public class FakeRedisCacheService implements RedisCacheService {
+
+    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    private final CborCodec cborCodec = new CborCodec();
+    private final long roundTripNanos;
+    private volatile boolean available = true;
+    // 배치 안의 명령은 배치 전체에 대한 왕복 한 번만 기다림
+    private final ThreadLocal<Boolean> batching = ThreadLocal.withInitial(() -> false);
+
+    public FakeRedisCacheService() {
+        this(Duration.ZERO);
+    }
+
+    public FakeRedisCacheService(Duration roundTrip) {
+        this.roundTripNanos = roundTrip.toNanos();
+    }
+
+    // false 이면 모든 호출이 왕복 지연만큼 기다린 뒤 명령 타임아웃으로 실패 (Redis 장애 흉내)
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    @Override
+    public <K, V> void setKeyAndValue(K key, V value) {
+        setKeyAndValue(key, value, Duration.ofMinutes(720));
+    }
+
+    @Override
+    public <K, V> void setKeyAndValue(K key, V value, Duration timeout) {
+        setValueWithExpiration(String.valueOf(key), String.valueOf(value), timeout);
+    }
+
+    @Override
+    public <T> T getValueByKey(String key, Class<T> clazz) {
+        String value = getValue(key);
+        if (value == null) {
+            return null;
+        }
+        if (clazz == Integer.class) {
+            return clazz.cast(Integer.valueOf(value));
+        }
+        if (clazz == Long.class) {
+            return clazz.cast(Long.valueOf(value));
+        }
+        return clazz.cast(value);
+    }
+
+    @Override
+    public void deleteByKey(String token) {
+        deleteValue(token);
+    }
+
+    @Override
+    public void setValueWithExpiration(String key, String value, Duration duration) {
+        roundTrip();
+        store.put(key, new Entry(value, expiresAt(duration)));
+    }
+
+    // 실제 구현과 같은 직렬화 비용이 들도록 CBOR 바이트로 저장
+    @Override
+    public <T> void setObject(String key, T value, Duration duration) {
+        roundTrip();
+        store.put(key, new Entry(cborCodec.encode(value), expiresAt(duration)));
+    }
+
+    @Override
+    public <T> T getObject(String key, Class<T> type) {
+        roundTrip();
+        Entry entry = live(key);
+        return entry != null ? cborCodec.decode((byte[]) entry.value, type) : null;
+    }
+
+    @Override
+    public List<String> setIndexedValues(List<IndexedValue> values) {
+        roundTrip();
+        for (IndexedValue value : values) {
+            store.put(value.getKey(), new Entry(value.getValue(), expiresAt(value.getExpiration())));
+            members(value.getIndexKey()).add(value.getIndexMember());
+            store.computeIfPresent(value.getIndexKey(), (k, entry) -> new Entry(entry.value, expiresAt(value.getExpiration())));
+        }
+        // 벤치마크는 세션 수 제한 없이 사용
+        return List.of();
+    }
+
+    @Override
+    public String getValue(String key) {
+        roundTrip();
+        Entry entry = live(key);
+        return entry != null ? (String) entry.value : null;
+    }
+
+    @Override
+    public List<String> getValues(List<String> keys) {
+        RedisBatch batch = new RedisBatch();
+        keys.forEach(batch::get);
+        List<String> values = new ArrayList<>(keys.size());
+        executeBatch(batch).forEach(value -> values.add((String) value));
+        return values;
+    }
+
+    @Override
+    public void setValuesWithExpiration(Map<String, String> values, Duration duration) {
+        RedisBatch batch = new RedisBatch();
+        values.forEach((key, value) -> batch.set(key, value, duration));
+        executeBatch(batch);
+    }
+
+    @Override
+    public ExpiringValue getFirstValueWithExpiration(List<String> keys) {
+        roundTrip();
+        for (String key : keys) {
+            Entry entry = live(key);
+            if (entry != null) {
+                return new ExpiringValue((String) entry.value, entry.ttlMillis());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public ExpiringValue getFirstValueWithExpiration(List<String> keys, SlidingExpiration sliding) {
+        roundTrip();
+        for (int i = 0; i < keys.size(); i++) {
+            Entry entry = live(keys.get(i));
+            if (entry == null) {
+                continue;
+            }
+            Duration lifetime = sliding.getLifetimes().get(i);
+            if (sliding.shouldRefresh(entry.ttlMillis(), lifetime)) {
+                entry = new Entry(entry.value, expiresAt(lifetime));
+                store.put(keys.get(i), entry);
+            }
+            return new ExpiringValue((String) entry.value, entry.ttlMillis());
+        }
+        return null;
+    }
+
+    @Override
+    public List<ExpiringValue> getFirstValuesWithExpiration(List<List<String>> keyGroups) {
+        roundTrip();
+        List<ExpiringValue> values = new ArrayList<>(keyGroups.size());
+        for (List<String> keys : keyGroups) {
+            ExpiringValue value = null;
+            for (String key : keys) {
+                Entry entry = live(key);
+                if (entry != null) {
+                    value = new ExpiringValue((String) entry.value, entry.ttlMillis());
+                    break;
+                }
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Override
+    public void deleteValue(String key) {
+        roundTrip();
+        store.remove(key);
+    }
+
+    @Override
+    public long deleteIndexedValues(Map<String, List<String>> indexKeyPrefixes) {
+        roundTrip();
+        long removed = 0;
+        for (Map.Entry<String, List<String>> index : indexKeyPrefixes.entrySet()) {
+            Entry entry = store.remove(index.getKey());
+            if (entry == null) {
+                continue;
+            }
+            removed++;
+            for (String member : castSet(entry.value)) {
+                for (String prefix : index.getValue()) {
+                    removed += store.remove(prefix + member) != null ? 1 : 0;
+                }
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void setExpiration(String key, Duration duration) {
+        roundTrip();
+        store.computeIfPresent(key, (k, entry) -> new Entry(entry.value, expiresAt(duration)));
+    }
+
+    @Override
+    public void addToSet(String key, String value) {
+        roundTrip();
+        members(key).add(value);
+    }
+
+    @Override
+    public void removeFromSet(String key, String value) {
+        roundTrip();
+        members(key).remove(value);
+    }
+
+    @Override
+    public long deleteValues(List<String> keys) {
+        roundTrip();
+        return keys.stream().filter(key -> store.remove(key) != null).count();
+    }
+
+    @Override
+    public void removeIndexMember(String indexKey, String member) {
+        removeFromSet(indexKey, member);
+    }
+
+    @Override
+    public Set<String> getSetMembers(String key) {
+        roundTrip();
+        Entry entry = live(key);
+        return entry != null ? Set.copyOf(castSet(entry.value)) : Set.of();
+    }
+
+    @Override
+    public void addToSortedSet(String key, String value, double score) {
+        roundTrip();
+        sortedMembers(key).put(value, score);
+    }
+
+    @Override
+    public Set<String> getSortedSetRangeByScore(String key, double min, double max) {
+        roundTrip();
+        Set<String> result = new TreeSet<>();
+        sortedMembers(key).forEach((member, score) -> {
+            if (score >= min && score <= max) {
+                result.add(member);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void removeSortedSetRangeByScore(String key, double min, double max) {
+        roundTrip();
+        sortedMembers(key).values().removeIf(score -> score >= min && score <= max);
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        roundTrip();
+    }
+
+    @Override
+    public List<Object> executeBatch(RedisBatch batch) {
+        roundTrip();
+        batching.set(true);
+        try {
+            List<Object> results = new ArrayList<>(batch.size());
+            for (RedisBatch.Operation operation : batch.operations()) {
+                results.add(apply(operation));
+            }
+            return results;
+        } finally {
+            batching.set(false);
+        }
+    }
+
+    private Object apply(RedisBatch.Operation operation) {
+        if (operation instanceof RedisBatch.Get get) {
+            return getValue(get.key());
+        } else if (operation instanceof RedisBatch.Set set) {
+            setValueWithExpiration(set.key(), set.value(), set.duration());
+            return true;
+        } else if (operation instanceof RedisBatch.Delete delete) {
+            return deleteValues(delete.keys());
+        } else if (operation instanceof RedisBatch.Expire expire) {
+            setExpiration(expire.key(), expire.duration());
+            return true;
+        } else if (operation instanceof RedisBatch.RemoveIndexMember remove) {
+            removeIndexMember(remove.indexKey(), remove.member());
+            return 1L;
+        } else if (operation instanceof RedisBatch.AddToSortedSet add) {
+            addToSortedSet(add.key(), add.value(), add.score());
+            return true;
+        } else if (operation instanceof RedisBatch.GetSortedSetRangeByScore range) {
+            return getSortedSetRangeByScore(range.key(), range.min(), range.max());
+        } else if (operation instanceof RedisBatch.RemoveSortedSetRangeByScore remove) {
+            removeSortedSetRangeByScore(remove.key(), remove.min(), remove.max());
+            return 0L;
+        } else if (operation instanceof RedisBatch.Publish publish) {
+            publish(publish.channel(), publish.message());
+            return 0L;
+        }
+        throw new IllegalArgumentException("Unsupported batch operation: " + operation);
+    }
+
+    @Override
+    public <T> T executeScript(RedisScript<T> script, List<String> keys, String... args) {
+        throw new UnsupportedOperationException("Lua scripts are not supported by the fake Redis");
+    }
+
+    @Override
+    public <T> T executeBinaryScript(RedisScript<T> script, List<String> keys, String... args) {
+        throw new UnsupportedOperationException("Lua scripts are not supported by the fake Redis");
+    }
+
+    private Set<String> members(String key) {
+        Entry entry = store.compute(key, (k, existing) -> existing != null && !existing.isExpired()
+                ? existing
+                : new Entry(ConcurrentHashMap.<String>newKeySet(), Long.MAX_VALUE));
+        return castSet(entry.value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Double> sortedMembers(String key) {
+        Entry entry = store.compute(key, (k, existing) -> existing != null && !existing.isExpired()
+                ? existing
+                : new Entry(new ConcurrentHashMap<String, Double>(), Long.MAX_VALUE));
+        return (Map<String, Double>) entry.value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> castSet(Object value) {
+        return (Set<String>) value;
+    }
+
+    private Entry live(String key) {
+        Entry entry = store.get(key);
+        if (entry == null || entry.isExpired()) {
+            return null;
+        }
+        return entry;
+    }
+
+    private static long expiresAt(Duration duration) {
+        return System.currentTimeMillis() + duration.toMillis();
+    }
+
+    // parkNanos 는 해상도가 거칠어 짧은 지연은 busy-wait 로 흉내낸다
+    private void roundTrip() {
+        if (batching.get() || roundTripNanos <= 0 && available) {
+            return;
+        }
+        long deadline = System.nanoTime() + roundTripNanos;
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        if (!available) {
+            throw new QueryTimeoutException("Redis command timed out");
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAtMillis;
+
+        private Entry(Object value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMillis;
+        }
+
+        private long ttlMillis() {
+            return expiresAtMillis == Long.MAX_VALUE ? -1L : expiresAtMillis - System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.myrealpet.account.redis_cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+// Lua 스크립트 테스트용 로컬 Redis (localhost:6379 의 15 번 DB). 실행 중이 아니면 empty 를 반환해 해당 테스트를 건너뛴다
+public final class LocalRedis {
+
+    private static final int DATABASE = 15;
+    private static StringRedisTemplate template;
+    private static boolean checked;
+
+    private LocalRedis() {
+    }
+
+    // 매번 DB 를 비운 새 RedisCacheService
+    public static synchronized Optional<RedisCacheService> connect() {
+        if (!checked) {
+            checked = true;
+            template = open();
+        }
+        if (template == null) {
+            return Optional.empty();
+        }
+
+        template.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        return Optional.of(new RedisCacheServiceImpl(template,
+                new RedisMetrics(new SimpleMeterRegistry(), false, List.of(), false)));
+    }
+
+    // 저장된 키를 직접 확인할 때 사용. connect() 가 값을 반환한 뒤에만 호출
+    public static synchronized StringRedisTemplate template() {
+        return template;
+    }
+
+    private static StringRedisTemplate open() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration("localhost", 6379);
+        configuration.setDatabase(DATABASE);
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(configuration,
+                LettuceClientConfiguration.builder().commandTimeout(Duration.ofSeconds(2)).build());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        try {
+            StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+            redisTemplate.execute((RedisCallback<String>) connection -> connection.ping());
+            return redisTemplate;
+        } catch (Exception e) {
+            connectionFactory.destroy();
+            return null;
+        }
+    }
+}
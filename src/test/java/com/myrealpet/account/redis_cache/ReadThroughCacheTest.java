@@ -0,0 +1,155 @@
+package com.myrealpet.account.redis_cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// L1 동작은 Redis 없이, L2 버전 확인은 로컬 Redis 로 확인. 로컬 Redis 가 없으면 L2 테스트는 건너뛴다
+class ReadThroughCacheTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // 같은 키의 동시 미스는 loader 한 번으로 합친다
+    @Test
+    void coalescesConcurrentMisses() throws Exception {
+        ReadThroughCache<Long, String> cache = localCache(0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Optional<String>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> cache.get(1L, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return Optional.of("value");
+            })));
+        }
+        while (meterRegistry.get("read_through_cache.coalesced").functionCounter().count() < 7) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        for (Future<Optional<String>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).contains("value");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get(1L, () -> Optional.of("reloaded"))).contains("value");
+    }
+
+    // 로딩 중에 같은 키가 무효화되면 로딩 결과를 캐시하지 않지만, 다른 키의 무효화는 영향이 없다
+    @Test
+    void dropsFillOnlyWhenTheSameKeyIsInvalidated() throws Exception {
+        ReadThroughCache<Long, String> cache = localCache(0);
+
+        CountDownLatch otherLoading = new CountDownLatch(1);
+        CountDownLatch otherRelease = new CountDownLatch(1);
+        Future<Optional<String>> other = executor.submit(() -> cache.get(1L, blockingLoader("one", otherLoading, otherRelease)));
+        await(otherLoading);
+        cache.invalidate(2L);
+        otherRelease.countDown();
+        assertThat(other.get(5, TimeUnit.SECONDS)).contains("one");
+        assertThat(cache.get(1L, () -> Optional.of("reloaded"))).contains("one");
+
+        CountDownLatch sameLoading = new CountDownLatch(1);
+        CountDownLatch sameRelease = new CountDownLatch(1);
+        Future<Optional<String>> same = executor.submit(() -> cache.get(3L, blockingLoader("stale", sameLoading, sameRelease)));
+        await(sameLoading);
+        cache.invalidate(3L);
+        sameRelease.countDown();
+        assertThat(same.get(5, TimeUnit.SECONDS)).contains("stale");
+        assertThat(cache.get(3L, () -> Optional.of("fresh"))).contains("fresh");
+    }
+
+    // 만료가 가까우면 조회 하나만 미리 다시 읽고, 그동안 다른 조회는 기존 값을 받는다
+    @Test
+    void refreshesEarlyWhileServingTheCurrentValue() throws Exception {
+        ReadThroughCache<Long, String> never = localCache(0);
+        never.get(1L, () -> Optional.of("first"));
+        assertThat(never.get(1L, () -> Optional.of("second"))).contains("first");
+
+        // beta 가 매우 크면 항상 만료가 가깝다고 보고 다시 읽는다
+        ReadThroughCache<Long, String> always = localCache(1e12);
+        always.get(1L, () -> Optional.of("first"));
+
+        CountDownLatch refreshing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Optional<String>> refresh = executor.submit(() -> always.get(1L, blockingLoader("second", refreshing, release)));
+        await(refreshing);
+        assertThat(always.get(1L, () -> Optional.of("third"))).contains("first");
+        release.countDown();
+
+        assertThat(refresh.get(5, TimeUnit.SECONDS)).contains("second");
+        assertThat(always.get(1L, () -> Optional.of("third"))).contains("third");
+    }
+
+    // 로딩 전에 읽은 L2 버전이 다른 노드의 무효화로 바뀌었으면 로딩 결과를 L2 에 저장하지 않는다
+    @Test
+    void skipsRemotePutWhenVersionChangedDuringLoad() throws Exception {
+        RedisCacheService redis = LocalRedis.connect().orElse(null);
+        assumeTrue(redis != null, "local Redis is not running");
+        ReadThroughCache<Long, String> node = remoteCache(redis);
+        ReadThroughCache<Long, String> otherNode = remoteCache(redis);
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Optional<String>> stale = executor.submit(() -> node.get(1L, blockingLoader("stale", loading, release)));
+        await(loading);
+        otherNode.invalidate(1L);
+        release.countDown();
+        assertThat(stale.get(5, TimeUnit.SECONDS)).contains("stale");
+
+        assertThat(remoteCache(redis).get(1L, () -> Optional.of("fresh"))).contains("fresh");
+        // 바뀌지 않았으면 저장되어 다른 노드는 loader 없이 L2 에서 읽는다
+        assertThat(remoteCache(redis).get(1L, () -> Optional.of("unused"))).contains("fresh");
+        assertThat(LocalRedis.template().hasKey("accounts:1")).isTrue();
+    }
+
+    private ReadThroughCache<Long, String> localCache(double earlyRefreshBeta) {
+        return new ReadThroughCache<>("accounts", String.class, null, null, meterRegistry, 100,
+                Duration.ofMinutes(1), Duration.ofMinutes(5), earlyRefreshBeta);
+    }
+
+    private static ReadThroughCache<Long, String> remoteCache(RedisCacheService redis) {
+        return new ReadThroughCache<>("accounts", String.class, redis, new RedisMessageListenerContainer(),
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), Duration.ofMinutes(5), 0);
+    }
+
+    private static Supplier<Optional<String>> blockingLoader(String value, CountDownLatch started, CountDownLatch release) {
+        return () -> {
+            started.countDown();
+            await(release);
+            return Optional.of(value);
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
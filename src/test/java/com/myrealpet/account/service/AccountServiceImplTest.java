@@ -0,0 +1,184 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.dto.LoginResponse;
+import com.myrealpet.account.dto.RegisterRequest;
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.repository.AccountRepository;
+import com.myrealpet.account.util.PhoneNumberFormatter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AccountServiceImplTest {
+
+    private static final String LEGACY_HASH = "c2FsdA==:aGFzaA==";
+
+    private AccountRepository accountRepository;
+    private PasswordHashExecutor passwordHashExecutor;
+    private PlatformTransactionManager transactionManager;
+    private TokenService tokenService;
+    private AccountCache accountCache;
+    private AccountServiceImpl accountService;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        passwordHashExecutor = mock(PasswordHashExecutor.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        tokenService = mock(TokenService.class);
+        accountCache = mock(AccountCache.class);
+        when(tokenService.generateToken(anyLong(), any())).thenReturn("token");
+        when(tokenService.getTokenExpiration()).thenReturn(Duration.ofHours(24));
+        when(tokenService.getAccessTokenExpiration()).thenReturn(Duration.ofHours(1));
+
+        accountService = new AccountServiceImpl(accountRepository, passwordHashExecutor, tokenService,
+                mock(PhoneNumberFormatter.class), accountCache, new TransactionTemplate(transactionManager));
+        when(accountRepository.findByUsernameAndIsActiveTrue("user")).thenReturn(Optional.of(Account.builder()
+                .id(1L).username("user").password(LEGACY_HASH).provider(Account.AuthProvider.LOCAL).build()));
+    }
+
+    // 해시 확인이 끝난 뒤에만 트랜잭션을 열어, 읽은 해시가 그대로일 때만 갱신
+    @Test
+    void rehashesInShortTransactionAfterVerifying() {
+        when(passwordHashExecutor.matches("password", LEGACY_HASH)).thenReturn(true);
+        when(passwordHashExecutor.needsRehash(LEGACY_HASH)).thenReturn(true);
+        when(passwordHashExecutor.encode("password")).thenReturn("$pbkdf2-sha256$i=100000$new");
+
+        assertThat(accountService.login("user", "password").getToken()).isEqualTo("token");
+
+        var order = inOrder(passwordHashExecutor, transactionManager, accountRepository);
+        order.verify(passwordHashExecutor).encode("password");
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(accountRepository).updatePasswordIfUnchanged(1L, LEGACY_HASH, "$pbkdf2-sha256$i=100000$new");
+        order.verify(transactionManager).commit(any());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void currentHashesOpenNoTransaction() {
+        when(passwordHashExecutor.matches("password", LEGACY_HASH)).thenReturn(true);
+
+        accountService.login("user", "password");
+
+        verifyNoInteractions(transactionManager);
+        verify(passwordHashExecutor, never()).encode(anyString());
+    }
+
+    @Test
+    void wrongPasswordIsRejectedWithoutRehash() {
+        assertThatThrownBy(() -> accountService.login("user", "wrong"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(transactionManager);
+        verify(accountRepository, never()).updatePasswordIfUnchanged(anyLong(), anyString(), anyString());
+    }
+
+    // 가입과 비밀번호 변경도 해시를 계산한 뒤에 트랜잭션을 열어 저장만 트랜잭션 안에서 실행
+    @Test
+    void hashesBeforeOpeningWriteTransactions() {
+        when(passwordHashExecutor.encode(anyString())).thenReturn("$pbkdf2-sha256$i=100000$hash");
+        when(accountRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account(Account.Role.USER, true)));
+        RegisterRequest registerRequest = RegisterRequest.builder().id("new-user").password("password").build();
+
+        assertThat(accountService.createAccount("other-user", "password").getPassword())
+                .isEqualTo("$pbkdf2-sha256$i=100000$hash");
+        accountService.register(registerRequest);
+        accountService.updatePassword(1L, "password");
+
+        var order = inOrder(passwordHashExecutor, transactionManager, accountRepository);
+        for (int i = 0; i < 3; i++) {
+            order.verify(passwordHashExecutor).encode("password");
+            order.verify(transactionManager).getTransaction(any());
+            order.verify(accountRepository).save(any());
+            order.verify(transactionManager).commit(any());
+        }
+    }
+
+    @Test
+    void duplicateUsernameIsRejectedBeforeHashing() {
+        when(accountRepository.existsByUsername("user")).thenReturn(true);
+
+        assertThatThrownBy(() -> accountService.createAccount("user", "password"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(passwordHashExecutor, never()).encode(anyString());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void refreshReturnsRotatedPairWithAccessTokenLifetime() {
+        when(tokenService.rotateRefreshToken("refresh"))
+                .thenReturn(new TokenPair(1L, Account.Role.USER, "access-2", "refresh-2"));
+        cachedAccount(account(Account.Role.USER, true));
+
+        LoginResponse response = accountService.refreshToken("refresh");
+
+        assertThat(response.getToken()).isEqualTo("access-2");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh-2");
+        assertThat(response.getAccountId()).isEqualTo(1L);
+        assertThat(response.getUsername()).isEqualTo("user");
+        assertThat(response.getExpiresInSeconds()).isEqualTo(3600L);
+        verify(tokenService, never()).invalidateAllUserTokens(anyLong());
+    }
+
+    // 로그인 이후 비활성화된 계정은 교체된 패밀리를 포함해 모든 토큰을 폐기
+    @Test
+    void refreshRevokesTokensOfDeactivatedOrDeletedAccount() {
+        when(tokenService.rotateRefreshToken("refresh"))
+                .thenReturn(new TokenPair(1L, Account.Role.USER, "access-2", "refresh-2"));
+
+        cachedAccount(account(Account.Role.USER, false));
+        assertThatThrownBy(() -> accountService.refreshToken("refresh")).isInstanceOf(IllegalArgumentException.class);
+
+        cachedAccount(null);
+        assertThatThrownBy(() -> accountService.refreshToken("refresh")).isInstanceOf(IllegalArgumentException.class);
+
+        verify(tokenService, times(2)).invalidateAllUserTokens(1L);
+    }
+
+    // 리프레시 토큰에 기록된 역할이 현재 역할과 다르면 이전 역할의 토큰을 폐기하고 현재 역할로 새로 발급
+    @Test
+    void refreshReissuesWithCurrentRole() {
+        when(tokenService.rotateRefreshToken("refresh"))
+                .thenReturn(new TokenPair(1L, Account.Role.ADMIN, "access-2", "refresh-2"));
+        when(tokenService.generateTokenPair(1L, Account.Role.USER))
+                .thenReturn(new TokenPair(1L, Account.Role.USER, "access-3", "refresh-3"));
+        cachedAccount(account(Account.Role.USER, true));
+
+        LoginResponse response = accountService.refreshToken("refresh");
+
+        assertThat(response.getToken()).isEqualTo("access-3");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh-3");
+        var order = inOrder(tokenService);
+        order.verify(tokenService).invalidateAllUserTokens(1L);
+        order.verify(tokenService).generateTokenPair(1L, Account.Role.USER);
+    }
+
+    private void cachedAccount(Account account) {
+        when(accountCache.findById(eq(1L), any())).thenReturn(Optional.ofNullable(account));
+    }
+
+    private static Account account(Account.Role role, boolean active) {
+        return Account.builder().id(1L).username("user").provider(Account.AuthProvider.LOCAL)
+                .role(role).isActive(active).build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.redis_cache.IndexedValue;
+import com.myrealpet.account.redis_cache.LocalRedis;
+import com.myrealpet.account.redis_cache.RedisCacheService;
+import com.myrealpet.account.util.TokenGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// compact_*.lua 스크립트를 로컬 Redis 로 확인. 로컬 Redis 가 없으면 건너뛴다
+class CompactRedisTokenStoreTest {
+
+    private static final byte[] ID = {0x12, 0x34, 0x56, 0x78, (byte) 0x9a, (byte) 0xbc, (byte) 0xde, (byte) 0xf0,
+            0x01, 0x23, 0x45, 0x67, (byte) 0x89, (byte) 0xab, (byte) 0xcd, (byte) 0xef};
+    private static final String TOKEN = Base64.getUrlEncoder().withoutPadding().encodeToString(ID);
+
+    // 토큰 ID 의 앞 bucketBits 비트가 버킷 번호, 버킷 비트가 끝나는 바이트 이후가 필드
+    @Test
+    void splitsTokenIdIntoBucketAndField() {
+        CompactRedisTokenStore store = store(16);
+        store.save(List.of(token(TOKEN, 1L)));
+
+        assertThat(hasField("t:" + 0x1234, Arrays.copyOfRange(ID, 2, ID.length))).isTrue();
+        assertThat(LocalRedis.template().hasKey("access_token:" + TOKEN)).isFalse();
+        assertThat(store.findFirst(List.of("access_token:" + TOKEN)).getValue()).isEqualTo("1:USER");
+
+        CompactRedisTokenStore unaligned = store(12);
+        unaligned.save(List.of(token(TOKEN, 2L)));
+
+        assertThat(hasField("t:" + 0x123, Arrays.copyOfRange(ID, 1, ID.length))).isTrue();
+        assertThat(unaligned.findFirst(List.of("access_token:" + TOKEN)).getValue()).isEqualTo("2:USER");
+    }
+
+    // 표준 base64url 인코딩이 아닌 토큰은 ID 와 1:1 이 아니므로 기존 키 형식으로 저장
+    @Test
+    void keepsNonCanonicalTokensInStandardKeys() {
+        CompactRedisTokenStore store = store(16);
+        String nonCanonical = TOKEN.substring(0, TOKEN.length() - 1) + "x";
+        assertThat(Base64.getUrlDecoder().decode(nonCanonical)).isEqualTo(ID);
+
+        store.save(List.of(token(nonCanonical, 1L), token("short", 2L)));
+
+        assertThat(LocalRedis.template().opsForValue().get("access_token:" + nonCanonical)).isEqualTo("1:USER");
+        assertThat(LocalRedis.template().opsForValue().get("access_token:short")).isEqualTo("2:USER");
+        assertThat(LocalRedis.template().hasKey("t:" + 0x1234)).isFalse();
+        assertThat(store.findFirst(List.of("access_token:" + nonCanonical)).getValue()).isEqualTo("1:USER");
+        assertThat(store.findFirst(List.of("access_token:" + TOKEN))).isNull();
+    }
+
+    // 레이아웃 도입 이전에 기존 키로 저장된 토큰도 버킷에 없으면 같은 호출에서 찾는다
+    @Test
+    void fallsBackToLegacyKeys() {
+        CompactRedisTokenStore store = store(16);
+        LocalRedis.template().opsForValue().set("access_token:" + TOKEN, "5:USER", Duration.ofMinutes(1));
+
+        assertThat(store.findFirst(List.of("access_token:" + TOKEN)).getValue()).isEqualTo("5:USER");
+        assertThat(store.findFirstEach(List.of(List.of("access_token:" + TOKEN), List.of("access_token:short"))))
+                .extracting(value -> value != null ? value.getValue() : null)
+                .containsExactly("5:USER", null);
+
+        store.delete(List.of("access_token:" + TOKEN));
+        assertThat(store.findFirst(List.of("access_token:" + TOKEN))).isNull();
+    }
+
+    // 교체 시 새 액세스 토큰은 같은 스크립트에서 버킷에 저장되고, 세션 수 제한으로 제거된 compact 멤버는 토큰으로 되돌려 반환
+    @Test
+    void rotationStoresAccessTokenInBucketAndAppliesSessionLimit() {
+        CompactRedisTokenStore store = store(16);
+        store.save(List.of(new IndexedValue("access_token:" + TOKEN, "7:USER", "user_tokens:7", TOKEN,
+                Duration.ofMinutes(10), List.of("access_token:", "auth_token:"), 0)));
+        store.save(List.of(new IndexedValue("refresh_token:r", "7:USER:family", "user_tokens:7:refresh", "r",
+                Duration.ofDays(1), List.of("refresh_token:"), 0)));
+        String newAccessToken = new TokenGenerator().generate();
+
+        RefreshTokenRotation rotation = store.rotateRefreshToken("r", "r2", Duration.ofDays(1), newAccessToken, true,
+                Duration.ofHours(1), 1);
+
+        assertThat(rotation.isReused()).isFalse();
+        assertThat(rotation.getEvictedTokens()).containsExactly(TOKEN);
+        assertThat(store.findFirst(List.of("access_token:" + TOKEN))).isNull();
+        assertThat(LocalRedis.template().hasKey("access_token:" + newAccessToken)).isFalse();
+        assertThat(store.findFirst(List.of("access_token:" + newAccessToken)).getValue()).isEqualTo("7:USER");
+        assertThat(LocalRedis.template().opsForZSet().zCard("user_tokens:7")).isEqualTo(1);
+    }
+
+    private static CompactRedisTokenStore store(int bucketBits) {
+        RedisCacheService redisCacheService = LocalRedis.connect().orElse(null);
+        assumeTrue(redisCacheService != null, "local Redis is not running");
+        return new CompactRedisTokenStore(redisCacheService, bucketBits);
+    }
+
+    private static boolean hasField(String bucket, byte[] field) {
+        return Boolean.TRUE.equals(LocalRedis.template().execute((RedisCallback<Boolean>) connection ->
+                connection.hashCommands().hExists(bucket.getBytes(StandardCharsets.UTF_8), field)));
+    }
+
+    private static IndexedValue token(String token, Long accountId) {
+        return new IndexedValue("access_token:" + token, accountId + ":USER", "user_tokens:" + accountId, token,
+                Duration.ofMinutes(10), List.of("access_token:"), 0);
+    }
+}
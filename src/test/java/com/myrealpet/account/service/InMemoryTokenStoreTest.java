@@ -0,0 +1,128 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.redis_cache.IndexedValue;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryTokenStoreTest {
+
+    private static final List<String> PREFIXES = List.of("access_token:");
+
+    // 휠이 돌기 전에도 조회 시 만료를 확인하고, 휠이 돌면 만료된 항목만 제거
+    @Test
+    void hidesExpiredValuesBeforeAndAfterTheWheelRuns() throws Exception {
+        InMemoryTokenStore store = new InMemoryTokenStore(4, Duration.ofMillis(10));
+        store.save(List.of(token("short", 1L, Duration.ofMillis(50)), token("long", 1L, Duration.ofMinutes(1))));
+
+        assertThat(store.find("access_token:short")).isEqualTo("1:USER");
+        assertThat(store.findFirst(List.of("access_token:short")).getTtlMillis()).isBetween(1L, 50L);
+
+        Thread.sleep(80);
+        assertThat(store.find("access_token:short")).isNull();
+
+        store.expireEntries();
+        assertThat(store.find("access_token:short")).isNull();
+        assertThat(store.find("access_token:long")).isEqualTo("1:USER");
+        assertThat(store.findFirst(List.of("access_token:short", "access_token:long")).getValue()).isEqualTo("1:USER");
+    }
+
+    // 세션 한도를 넘으면 만료가 가장 이른 세션부터 값 키까지 제거
+    @Test
+    void evictsOldestSessionsOverTheLimit() {
+        InMemoryTokenStore store = new InMemoryTokenStore(4, Duration.ofSeconds(1));
+        store.save(List.of(token("a", 1L, Duration.ofMinutes(1), 2)));
+        store.save(List.of(token("b", 1L, Duration.ofMinutes(2), 2)));
+
+        List<String> evicted = store.save(List.of(token("c", 1L, Duration.ofMinutes(3), 2)));
+
+        assertThat(evicted).containsExactly("a");
+        assertThat(store.find("access_token:a")).isNull();
+        assertThat(store.find("access_token:b")).isNotNull();
+        assertThat(store.find("access_token:c")).isNotNull();
+    }
+
+    // 값 키와 인덱스 키가 서로 다른 stripe 에 있어도 동시 저장 후 한도와 값 키가 맞아야 한다
+    @Test
+    void keepsIndexAndValuesConsistentAcrossStripesUnderConcurrency() throws Exception {
+        InMemoryTokenStore store = new InMemoryTokenStore(3, Duration.ofSeconds(1));
+        int threads = 8;
+        int perThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<String>>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit((Callable<List<String>>) () -> {
+                    List<String> evicted = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        evicted.addAll(store.save(List.of(token(thread + "-" + i, 1L, Duration.ofMinutes(1), 10))));
+                    }
+                    return evicted;
+                }));
+            }
+
+            int evicted = 0;
+            for (Future<List<String>> result : results) {
+                evicted += result.get().size();
+            }
+            assertThat(evicted).isEqualTo(threads * perThread - 10);
+        } finally {
+            executor.shutdown();
+        }
+
+        int live = 0;
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < perThread; i++) {
+                live += store.find("access_token:" + t + "-" + i) != null ? 1 : 0;
+            }
+        }
+        assertThat(live).isEqualTo(10);
+        assertThat(store.deleteIndexed(Map.of("user_tokens:1", PREFIXES))).isEqualTo(11);
+    }
+
+    // 같은 리프레시 토큰을 동시에 교체하면 하나만 교체되고 나머지는 재사용으로 처리
+    @Test
+    void rotatesRefreshTokenOnlyOnceUnderConcurrency() throws Exception {
+        InMemoryTokenStore store = new InMemoryTokenStore(8, Duration.ofSeconds(1));
+        store.save(List.of(new IndexedValue("refresh_token:r", "1:USER:r", "user_tokens:1:refresh", "r",
+                Duration.ofDays(1), List.of("refresh_token:"), 0)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<RefreshTokenRotation>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                int attempt = i;
+                results.add(executor.submit(() -> store.rotateRefreshToken("r", "r" + attempt, Duration.ofDays(1),
+                        "a" + attempt, true, Duration.ofHours(1), 0)));
+            }
+
+            int rotated = 0;
+            for (Future<RefreshTokenRotation> result : results) {
+                RefreshTokenRotation rotation = result.get();
+                rotated += rotation != null && !rotation.isReused() ? 1 : 0;
+            }
+            assertThat(rotated).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static IndexedValue token(String token, Long accountId, Duration expiration) {
+        return token(token, accountId, expiration, 0);
+    }
+
+    private static IndexedValue token(String token, Long accountId, Duration expiration, int maxSessions) {
+        return new IndexedValue("access_token:" + token, accountId + ":USER", "user_tokens:" + accountId, token,
+                expiration, PREFIXES, maxSessions);
+    }
+}
@@ -0,0 +1,140 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.redis_cache.IndexedValue;
+import com.myrealpet.account.redis_cache.LocalRedis;
+import com.myrealpet.account.redis_cache.RedisCacheService;
+import com.myrealpet.account.util.TokenGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+// rotate_refresh_token.lua(기존/compact 레이아웃)와 인메모리 저장소의 같은 절차를 같은 시나리오로 확인. 로컬 Redis 가 없으면 인메모리만 실행
+class RefreshTokenRotationTest {
+
+    static Stream<Arguments> stores() {
+        Stream.Builder<Arguments> stores = Stream.builder();
+        stores.add(Arguments.of("memory", (Supplier<TokenStore>) () -> new InMemoryTokenStore(4, Duration.ofSeconds(1))));
+        if (LocalRedis.connect().isPresent()) {
+            stores.add(Arguments.of("redis", (Supplier<TokenStore>) () -> new RedisTokenStore(LocalRedis.connect().orElseThrow())));
+            stores.add(Arguments.of("redis-compact",
+                    (Supplier<TokenStore>) () -> new CompactRedisTokenStore(LocalRedis.connect().orElseThrow(), 16)));
+        }
+        return stores.build();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("stores")
+    void rotatesIntoNewPairAndConsumesOldRefreshToken(String name, Supplier<TokenStore> store) {
+        TokenServiceImpl tokenService = tokenService(store.get());
+        TokenPair login = tokenService.generateTokenPair(7L, Account.Role.ADMIN);
+
+        TokenPair rotated = tokenService.rotateRefreshToken(login.getRefreshToken());
+
+        assertThat(rotated.getAccountId()).isEqualTo(7L);
+        assertThat(rotated.getRole()).isEqualTo(Account.Role.ADMIN);
+        assertThat(rotated.getAccessToken()).isNotEqualTo(login.getAccessToken());
+        assertThat(tokenService.validateToken(rotated.getAccessToken())).isEqualTo(7L);
+        assertThat(tokenService.resolveClaims(List.of(rotated.getAccessToken())).get(0).getRole())
+                .isEqualTo(Account.Role.ADMIN);
+        // 로그인 때의 액세스 토큰은 만료까지 유효
+        assertThat(tokenService.validateToken(login.getAccessToken())).isEqualTo(7L);
+
+        TokenPair next = tokenService.rotateRefreshToken(rotated.getRefreshToken());
+        assertThat(tokenService.validateToken(next.getAccessToken())).isEqualTo(7L);
+    }
+
+    // 이미 교체된 리프레시 토큰이 다시 쓰이면 패밀리의 현재 리프레시 토큰과 지금까지 발급된 액세스 토큰을 모두 폐기
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("stores")
+    void reuseRevokesWholeFamily(String name, Supplier<TokenStore> store) {
+        TokenServiceImpl tokenService = tokenService(store.get());
+        TokenPair login = tokenService.generateTokenPair(7L, Account.Role.USER);
+        TokenPair other = tokenService.generateTokenPair(7L, Account.Role.USER);
+        TokenPair first = tokenService.rotateRefreshToken(login.getRefreshToken());
+        TokenPair second = tokenService.rotateRefreshToken(first.getRefreshToken());
+
+        assertThatThrownBy(() -> tokenService.rotateRefreshToken(login.getRefreshToken()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Refresh token reuse detected");
+
+        assertThat(tokenService.validateToken(login.getAccessToken())).isNull();
+        assertThat(tokenService.validateToken(first.getAccessToken())).isNull();
+        assertThat(tokenService.validateToken(second.getAccessToken())).isNull();
+        assertThatThrownBy(() -> tokenService.rotateRefreshToken(second.getRefreshToken()))
+                .hasMessage("Invalid refresh token");
+
+        // 같은 계정의 다른 로그인 패밀리는 영향 없음
+        assertThat(tokenService.validateToken(other.getAccessToken())).isEqualTo(7L);
+        assertThat(tokenService.rotateRefreshToken(other.getRefreshToken()).getAccountId()).isEqualTo(7L);
+
+        // 재사용 기록은 한 번 처리하면 지워진다
+        assertThatThrownBy(() -> tokenService.rotateRefreshToken(login.getRefreshToken()))
+                .hasMessage("Invalid refresh token");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("stores")
+    void rejectsUnknownRefreshToken(String name, Supplier<TokenStore> store) {
+        TokenServiceImpl tokenService = tokenService(store.get());
+
+        assertThatThrownBy(() -> tokenService.rotateRefreshToken("unknown")).hasMessage("Invalid refresh token");
+        assertThatThrownBy(() -> tokenService.rotateRefreshToken(" ")).hasMessage("Invalid refresh token");
+    }
+
+    // 역할/패밀리 없이 계정 ID 만 저장된 이전 형식의 리프레시 토큰도 USER 로 교체
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("stores")
+    void rotatesLegacyRefreshTokenValue(String name, Supplier<TokenStore> store) {
+        TokenStore tokenStore = store.get();
+        TokenServiceImpl tokenService = tokenService(tokenStore);
+        tokenStore.save(List.of(new IndexedValue("refresh_token:legacy", "42", "user_tokens:42:refresh", "legacy",
+                Duration.ofDays(7), List.of("refresh_token:"), 0)));
+
+        TokenPair rotated = tokenService.rotateRefreshToken("legacy");
+
+        assertThat(rotated.getAccountId()).isEqualTo(42L);
+        assertThat(rotated.getRole()).isEqualTo(Account.Role.USER);
+        assertThat(tokenService.validateToken(rotated.getAccessToken())).isEqualTo(42L);
+        assertThatThrownBy(() -> tokenService.rotateRefreshToken("legacy")).hasMessage("Refresh token reuse detected");
+        assertThat(tokenService.validateToken(rotated.getAccessToken())).isNull();
+    }
+
+    // 교체로 추가된 액세스 토큰도 세션 수 제한을 적용해 가장 오래된 세션을 제거하고 근접 캐시에서도 지운다
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("stores")
+    void rotationEvictsOldestSessionOverTheLimit(String name, Supplier<TokenStore> store) {
+        TokenNearCache nearCache = new TokenNearCache(mock(RedisCacheService.class), new RedisMessageListenerContainer(),
+                new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1), Duration.ZERO);
+        TokenServiceImpl tokenService = new TokenServiceImpl(store.get(), nearCache, new TokenGenerator(), 2, true, 0.5);
+        TokenPair oldest = tokenService.generateTokenPair(7L, Account.Role.USER);
+        TokenPair newer = tokenService.generateTokenPair(7L, Account.Role.USER);
+        assertThat(tokenService.validateToken(oldest.getAccessToken())).isEqualTo(7L);
+
+        TokenPair rotated = tokenService.rotateRefreshToken(oldest.getRefreshToken());
+
+        assertThat(tokenService.validateToken(oldest.getAccessToken())).isNull();
+        assertThat(tokenService.validateToken(newer.getAccessToken())).isEqualTo(7L);
+        assertThat(tokenService.validateToken(rotated.getAccessToken())).isEqualTo(7L);
+        assertThat(tokenService.rotateRefreshToken(newer.getRefreshToken()).getAccountId()).isEqualTo(7L);
+        assertThat(tokenService.validateToken(newer.getAccessToken())).isNull();
+        assertThat(tokenService.validateToken(rotated.getAccessToken())).isEqualTo(7L);
+    }
+
+    private static TokenServiceImpl tokenService(TokenStore tokenStore) {
+        TokenNearCache nearCache = new TokenNearCache(null, new RedisMessageListenerContainer(),
+                new SimpleMeterRegistry(), false, 0, Duration.ZERO, Duration.ZERO);
+        return new TokenServiceImpl(tokenStore, nearCache, new TokenGenerator(), 0, true, 0.5);
+    }
+}
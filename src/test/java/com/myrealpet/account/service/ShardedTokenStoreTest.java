@@ -0,0 +1,131 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.redis_cache.IndexedValue;
+import com.myrealpet.account.util.ConsistentHashRing;
+import com.myrealpet.account.util.TokenGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Redis 샤드 대신 인메모리 저장소 세 개를 샤드로 사용
+class ShardedTokenStoreTest {
+
+    private static final List<String> NAMES = List.of("shard-a:6379/0", "shard-b:6379/0", "shard-c:6379/0");
+
+    private List<TokenStore> shards;
+    private ConsistentHashRing<TokenStore> ring;
+    private ShardedTokenStore tokenStore;
+    private TokenServiceImpl tokenService;
+
+    @BeforeEach
+    void setUp() {
+        shards = new ArrayList<>();
+        for (int i = 0; i < NAMES.size(); i++) {
+            shards.add(new InMemoryTokenStore(4, Duration.ofSeconds(1)));
+        }
+        ring = new ConsistentHashRing<>(NAMES, shards, 160, TokenGenerator.SLOTS);
+        tokenStore = new ShardedTokenStore(ring);
+
+        TokenNearCache nearCache = new TokenNearCache(null, new RedisMessageListenerContainer(),
+                new SimpleMeterRegistry(), false, 0, Duration.ZERO, Duration.ZERO);
+        tokenService = new TokenServiceImpl(tokenStore, nearCache, new TokenGenerator(true), 0, true, 0.5);
+    }
+
+    @Test
+    void indexKeysRouteByAccountSlotAndTokenKeysBySlotInToken() {
+        String token = new TokenGenerator(true).generate(TokenGenerator.accountSlot(42L));
+
+        assertThat(ShardedTokenStore.slotOf("user_tokens:42")).isEqualTo(TokenGenerator.accountSlot(42L));
+        assertThat(ShardedTokenStore.slotOf("user_tokens:42:refresh")).isEqualTo(TokenGenerator.accountSlot(42L));
+        assertThat(ShardedTokenStore.slotOf("auth_token:" + token)).isEqualTo(TokenGenerator.accountSlot(42L));
+        assertThat(ShardedTokenStore.slotOf("refresh_token:" + token)).isEqualTo(TokenGenerator.accountSlot(42L));
+        assertThat(ShardedTokenStore.slotOf("auth_token:0123456789abcdef0123456789abcdef")).isEqualTo(TokenGenerator.NO_SLOT);
+    }
+
+    @Test
+    void accountTokensAndIndexLiveOnOneShard() {
+        Set<TokenStore> used = new HashSet<>();
+        for (long accountId = 1; accountId <= 30; accountId++) {
+            TokenStore owner = ring.nodeFor(TokenGenerator.accountSlot(accountId));
+            used.add(owner);
+
+            for (int i = 0; i < 3; i++) {
+                String token = tokenService.generateToken(accountId, Account.Role.USER);
+                for (TokenStore shard : shards) {
+                    assertThat(shard.find("auth_token:" + token) != null).isEqualTo(shard == owner);
+                }
+                assertThat(tokenService.validateToken(token)).isEqualTo(accountId);
+            }
+        }
+
+        assertThat(used).hasSize(NAMES.size());
+    }
+
+    @Test
+    void refreshRotationStaysOnAccountShard() {
+        TokenPair pair = tokenService.generateTokenPair(7L, Account.Role.USER);
+        TokenPair rotated = tokenService.rotateRefreshToken(pair.getRefreshToken());
+
+        TokenStore owner = ring.nodeFor(TokenGenerator.accountSlot(7L));
+        assertThat(owner.find("refresh_token:" + rotated.getRefreshToken())).isNotNull();
+        assertThat(owner.find("access_token:" + rotated.getAccessToken())).isNotNull();
+        assertThat(tokenService.validateToken(rotated.getAccessToken())).isEqualTo(7L);
+    }
+
+    @Test
+    void logoutAllRemovesOnlyThatAccountsTokensAcrossShards() {
+        Map<Long, List<String>> tokens = new HashMap<>();
+        Map<Long, String> refreshTokens = new HashMap<>();
+        for (long accountId = 1; accountId <= 12; accountId++) {
+            List<String> accountTokens = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                accountTokens.add(tokenService.generateToken(accountId, Account.Role.USER));
+            }
+            TokenPair pair = tokenService.generateTokenPair(accountId, Account.Role.USER);
+            accountTokens.add(pair.getAccessToken());
+            refreshTokens.put(accountId, pair.getRefreshToken());
+            tokens.put(accountId, accountTokens);
+        }
+
+        for (long accountId = 1; accountId <= 12; accountId += 3) {
+            tokenService.invalidateAllUserTokens(accountId);
+        }
+
+        tokens.forEach((accountId, accountTokens) -> {
+            boolean loggedOut = (accountId - 1) % 3 == 0;
+            for (String token : accountTokens) {
+                assertThat(tokenService.validateToken(token)).isEqualTo(loggedOut ? null : accountId);
+            }
+            assertThat(tokenStore.find("refresh_token:" + refreshTokens.get(accountId)) == null).isEqualTo(loggedOut);
+        });
+    }
+
+    // 슬롯이 없는 토큰은 어느 샤드에 있더라도 찾지 않는다
+    @Test
+    void unslottedTokensAreNotRouted() {
+        String legacy = new TokenGenerator(false).generate();
+        TokenStore owner = ring.nodeFor(TokenGenerator.accountSlot(1L));
+        owner.save(List.of(new IndexedValue("auth_token:" + legacy, "1:USER",
+                "user_tokens:1", legacy, Duration.ofMinutes(1))));
+        owner.save(List.of(new IndexedValue("refresh_token:" + legacy,
+                RefreshTokenRotation.refreshTokenValue(1L, Account.Role.USER, legacy),
+                "user_tokens:1:refresh", legacy, Duration.ofMinutes(1))));
+
+        assertThat(tokenStore.find("auth_token:" + legacy)).isNull();
+        assertThat(tokenService.validateToken(legacy)).isNull();
+        assertThat(tokenStore.rotateRefreshToken(legacy, new TokenGenerator(true).generate(0),
+                Duration.ofMinutes(1), "access", true, Duration.ofMinutes(1), 0)).isNull();
+    }
+}
@@ -0,0 +1,101 @@
+package com.myrealpet.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myrealpet.account.entity.Account;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SignedTokenCodecTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SignedTokenCodec codec = new SignedTokenCodec(SECRET, objectMapper);
+
+    // 발급 시각은 밀리초까지, 만료 시각은 초 단위로 복원
+    @Test
+    void roundTripsClaims() {
+        Instant issuedAt = Instant.ofEpochMilli(1_700_000_000_123L);
+        String token = codec.encode(new TokenClaims("jti-1", 42L, Account.Role.ADMIN, issuedAt,
+                issuedAt.plus(Duration.ofHours(1))));
+
+        TokenClaims claims = codec.decode(token);
+
+        assertThat(claims.getTokenId()).isEqualTo("jti-1");
+        assertThat(claims.getAccountId()).isEqualTo(42L);
+        assertThat(claims.getRole()).isEqualTo(Account.Role.ADMIN);
+        assertThat(claims.getIssuedAt()).isEqualTo(issuedAt);
+        assertThat(claims.getExpiresAt()).isEqualTo(Instant.ofEpochSecond(1_700_003_600L));
+    }
+
+    @Test
+    void rejectsTamperedPayloadOrSignature() {
+        String token = codec.encode(claims(Instant.now()));
+        String[] parts = token.split("\\.");
+
+        String payload = new String(DECODER.decode(parts[1]), StandardCharsets.UTF_8);
+        String elevated = ENCODER.encodeToString(payload.replace("\"USER\"", "\"ADMIN\"").getBytes(StandardCharsets.UTF_8));
+        assertThat(elevated).isNotEqualTo(parts[1]);
+        assertThat(codec.decode(parts[0] + "." + elevated + "." + parts[2])).isNull();
+
+        byte[] signature = DECODER.decode(parts[2]);
+        signature[0] ^= 1;
+        assertThat(codec.decode(parts[0] + "." + parts[1] + "." + ENCODER.encodeToString(signature))).isNull();
+        assertThat(codec.decode(parts[0] + "." + parts[1] + ".")).isNull();
+        assertThat(codec.decode(parts[0] + "." + parts[1])).isNull();
+
+        String unsigned = ENCODER.encodeToString("{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        assertThat(codec.decode(unsigned + "." + parts[1] + ".")).isNull();
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherSecret() {
+        SignedTokenCodec other = new SignedTokenCodec(SECRET.replace('0', '1'), objectMapper);
+
+        assertThat(codec.decode(other.encode(claims(Instant.now())))).isNull();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThat(codec.decode("")).isNull();
+        assertThat(codec.decode("opaque-token")).isNull();
+        assertThat(codec.decode(".payload.signature")).isNull();
+        assertThat(codec.decode("a.b.c")).isNull();
+        assertThat(codec.decode("a.!!!.c")).isNull();
+    }
+
+    // 만료 확인은 서비스가 하지만, 만료 시각이 서명된 값 그대로 복원되는지 확인
+    @Test
+    void decodesExpiredTokensWithTheirExpiry() {
+        Instant issuedAt = Instant.now().minus(Duration.ofHours(2));
+        TokenClaims claims = codec.decode(codec.encode(claims(issuedAt)));
+
+        assertThat(claims.isExpired(Instant.now())).isTrue();
+        assertThat(claims.isExpired(issuedAt)).isFalse();
+        assertThat(claims.isExpired(claims.getExpiresAt())).isTrue();
+    }
+
+    @Test
+    void requiresSecretOfAtLeast32Bytes() {
+        assertThatThrownBy(() -> new SignedTokenCodec(null, objectMapper)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new SignedTokenCodec("", objectMapper)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new SignedTokenCodec(SECRET.substring(1), objectMapper))
+                .isInstanceOf(IllegalStateException.class);
+
+        // 길이는 UTF-8 바이트 기준
+        new SignedTokenCodec("가".repeat(11), objectMapper);
+    }
+
+    private static TokenClaims claims(Instant issuedAt) {
+        return new TokenClaims("jti", 7L, Account.Role.USER, issuedAt, issuedAt.plus(Duration.ofHours(1)));
+    }
+}
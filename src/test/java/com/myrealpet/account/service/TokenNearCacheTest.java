@@ -0,0 +1,91 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.redis_cache.RedisCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TokenNearCacheTest {
+
+    private static final long TTL_MILLIS = 60_000;
+
+    private TokenNearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        nearCache = new TokenNearCache(mock(RedisCacheService.class), new RedisMessageListenerContainer(),
+                new SimpleMeterRegistry(), true, 1000, Duration.ofSeconds(30), Duration.ofMinutes(5));
+    }
+
+    // 저장소 조회 중에 토큰이 무효화되면 조회한 값을 캐시하지 않는다
+    @Test
+    void dropsFillThatRacedTokenInvalidation() {
+        long stamp = nearCache.stamp();
+        nearCache.invalidateToken("token-a");
+        nearCache.put("token-a", 1L, TTL_MILLIS, stamp);
+
+        assertThat(nearCache.get("token-a")).isNull();
+        assertThat(nearCache.getFallback("token-a")).isNull();
+
+        nearCache.put("token-a", 1L, TTL_MILLIS, nearCache.stamp());
+        assertThat(nearCache.get("token-a")).isEqualTo(1L);
+    }
+
+    // 다른 노드의 계정 무효화 메시지도 조회 중인 같은 계정의 저장을 막는다
+    @Test
+    void dropsFillThatRacedAccountInvalidationMessage() {
+        long stamp = nearCache.stamp();
+        nearCache.onMessage(message("account:1"), null);
+        nearCache.put("token-a", 1L, TTL_MILLIS, stamp);
+        nearCache.put("token-b", 2L, TTL_MILLIS, stamp);
+
+        assertThat(nearCache.get("token-a")).isNull();
+        assertThat(nearCache.get("token-b")).isEqualTo(2L);
+    }
+
+    @Test
+    void evictsOnlyTheAccountsTokens() {
+        long stamp = nearCache.stamp();
+        nearCache.put("token-a1", 1L, TTL_MILLIS, stamp);
+        nearCache.put("token-a2", 1L, TTL_MILLIS, stamp);
+        nearCache.put("token-b", 2L, TTL_MILLIS, stamp);
+
+        nearCache.invalidateAccount(1L);
+
+        assertThat(nearCache.get("token-a1")).isNull();
+        assertThat(nearCache.get("token-a2")).isNull();
+        assertThat(nearCache.getFallback("token-a1")).isNull();
+        assertThat(nearCache.get("token-b")).isEqualTo(2L);
+        assertThat(nearCache.getFallback("token-b")).isEqualTo(2L);
+
+        // 무효화 이후에 시작한 조회는 다시 캐시된다
+        nearCache.put("token-a1", 1L, TTL_MILLIS, nearCache.stamp());
+        assertThat(nearCache.get("token-a1")).isEqualTo(1L);
+    }
+
+    // 개별로 지운 토큰은 계정 색인에서도 빠져, 같은 토큰이 다른 계정으로 다시 캐시돼도 이전 계정 무효화에 지워지지 않는다
+    @Test
+    void keepsAccountIndexInSyncWithTokenRemovals() {
+        nearCache.put("token-a", 1L, TTL_MILLIS, nearCache.stamp());
+        nearCache.invalidateTokens(List.of("token-a"));
+        nearCache.put("token-a", 2L, TTL_MILLIS, nearCache.stamp());
+
+        nearCache.invalidateAccount(1L);
+
+        assertThat(nearCache.get("token-a")).isEqualTo(2L);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TokenNearCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,140 @@
+package com.myrealpet.account.service;
+
+import com.myrealpet.account.entity.Account;
+import com.myrealpet.account.redis_cache.FakeRedisCacheService;
+import com.myrealpet.account.redis_cache.RedisBatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenRevocationListTest {
+
+    private static final Duration LIFETIME = Duration.ofHours(1);
+
+    private final CountingRedis redis = new CountingRedis();
+
+    @Test
+    void revokesTokensAndSkipsRedisForOthers() {
+        TokenRevocationList revocationList = started();
+        revocationList.revokeToken("revoked", Instant.now().plus(LIFETIME));
+        revocationList.revokeTokens(List.of("family-1", "family-2"), Instant.now().plus(LIFETIME));
+
+        assertThat(revocationList.isRevoked(claims("revoked", 1L, Instant.now()))).isTrue();
+        assertThat(revocationList.isRevoked(claims("family-2", 1L, Instant.now()))).isTrue();
+
+        int reads = redis.reads.get();
+        assertThat(revocationList.isRevoked(claims("live", 2L, Instant.now()))).isFalse();
+        assertThat(redis.reads.get()).isEqualTo(reads);
+    }
+
+    // 밀리초 cutoff 는 그보다 먼저 발급된 토큰만 폐기해, 같은 초에 다시 로그인한 토큰은 유효
+    @Test
+    void revokesAccountTokensIssuedBeforeMillisecondCutoff() {
+        TokenRevocationList revocationList = started();
+        Instant cutoff = Instant.ofEpochMilli(System.currentTimeMillis() / 1000 * 1000 + 500);
+        revocationList.revokeAccount(1L, cutoff, LIFETIME);
+
+        assertThat(revocationList.isRevoked(claims("a", 1L, cutoff.minusMillis(1)))).isTrue();
+        assertThat(revocationList.isRevoked(claims("b", 1L, cutoff))).isFalse();
+        assertThat(revocationList.isRevoked(claims("c", 1L, cutoff.plusMillis(1)))).isFalse();
+        assertThat(revocationList.isRevoked(claims("d", 2L, cutoff.minusMillis(1)))).isFalse();
+    }
+
+    // 초 단위로 저장된 이전 cutoff 는 그 초 안에 발급된 토큰까지 폐기
+    @Test
+    void readsLegacySecondCutoffAsEndOfThatSecond() {
+        long cutoffSecond = Instant.now().getEpochSecond();
+        redis.setValueWithExpiration("revoked_account:1", String.valueOf(cutoffSecond), LIFETIME);
+        redis.addToSortedSet("revoked_tokens", "a:1", System.currentTimeMillis() + LIFETIME.toMillis());
+        TokenRevocationList revocationList = started();
+
+        assertThat(revocationList.isRevoked(claims("a", 1L, Instant.ofEpochSecond(cutoffSecond, 999_000_000)))).isTrue();
+        assertThat(revocationList.isRevoked(claims("b", 1L, Instant.ofEpochSecond(cutoffSecond + 1)))).isFalse();
+    }
+
+    // 시작 시 재구성이 실패하면 빈 필터로 통과시키지 않고 Redis 를 직접 확인
+    @Test
+    void checksRedisDirectlyUntilFirstRebuildSucceeds() {
+        TokenRevocationList otherNode = started();
+        otherNode.revokeToken("revoked", Instant.now().plus(LIFETIME));
+        otherNode.revokeAccount(3L, Instant.now(), LIFETIME);
+
+        redis.setAvailable(false);
+        TokenRevocationList revocationList = started();
+        assertThatThrownBy(() -> revocationList.isRevoked(claims("live", 2L, Instant.now())))
+                .isInstanceOf(QueryTimeoutException.class);
+
+        redis.setAvailable(true);
+        assertThat(revocationList.isRevoked(claims("revoked", 1L, Instant.now()))).isTrue();
+        assertThat(revocationList.isRevoked(claims("x", 3L, Instant.now().minusSeconds(1)))).isTrue();
+        assertThat(revocationList.isRevoked(claims(null, 3L, Instant.now().minusSeconds(1)))).isTrue();
+        assertThat(revocationList.isRevoked(claims("live", 2L, Instant.now()))).isFalse();
+
+        revocationList.rebuild();
+        int reads = redis.reads.get();
+        assertThat(revocationList.isRevoked(claims("revoked", 1L, Instant.now()))).isTrue();
+        assertThat(revocationList.isRevoked(claims("live", 2L, Instant.now()))).isFalse();
+        assertThat(redis.reads.get()).isEqualTo(reads + 1);
+    }
+
+    // 재구성이 Redis 를 읽은 뒤 도착한 폐기 알림도 새 필터에 남는다
+    @Test
+    void keepsRevocationsThatArriveDuringRebuild() {
+        TokenRevocationList revocationList = started();
+        redis.setValueWithExpiration("revoked_token:late", "1", LIFETIME);
+        redis.duringBatch = () -> revocationList.onMessage(message("t:late"), null);
+
+        revocationList.rebuild();
+
+        assertThat(revocationList.isRevoked(claims("late", 1L, Instant.now()))).isTrue();
+    }
+
+    private TokenRevocationList started() {
+        TokenRevocationList revocationList = new TokenRevocationList(redis, new RedisMessageListenerContainer(), 0.01);
+        revocationList.initialize();
+        return revocationList;
+    }
+
+    private static TokenClaims claims(String tokenId, Long accountId, Instant issuedAt) {
+        return new TokenClaims(tokenId, accountId, Account.Role.USER, issuedAt, issuedAt.plus(LIFETIME));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TokenRevocationList.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 폐기 여부 조회 횟수를 세고, 배치를 실행한 직후 (다른 노드의 알림처럼) 끼어들 동작을 실행
+    private static class CountingRedis extends FakeRedisCacheService {
+
+        private final AtomicInteger reads = new AtomicInteger();
+        private Runnable duringBatch;
+
+        @Override
+        public String getValue(String key) {
+            reads.incrementAndGet();
+            return super.getValue(key);
+        }
+
+        @Override
+        public List<Object> executeBatch(RedisBatch batch) {
+            List<Object> results = super.executeBatch(batch);
+            Runnable action = duringBatch;
+            duringBatch = null;
+            if (action != null) {
+                action.run();
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.myrealpet.account.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(1).toNanos();
+    private static final long SLOW = Duration.ofMillis(300).toNanos();
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<String> transitions = new ArrayList<>();
+    private CircuitBreaker circuitBreaker;
+
+    // 창 10, 최소 5 호출, 실패율 50%, 느린 호출 250ms, 시험 호출 2 개
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker(10, 5, 0.5, Duration.ofMillis(250), OPEN_DURATION, 2, clock::get);
+        circuitBreaker.addListener((from, to) -> transitions.add(from + "->" + to));
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        repeat(4, true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        repeat(5, false);
+        repeat(4, true);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        call(true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        assertThat(transitions).containsExactly("CLOSED->OPEN");
+    }
+
+    @Test
+    void slowCallsCountAsBad() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+            circuitBreaker.onResult(SLOW, false);
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    // 오래된 실패는 창에서 밀려나므로 최근 windowSize 개 호출만 실패율에 반영된다
+    @Test
+    void onlyRecentCallsCount() {
+        repeat(6, false);
+        repeat(4, true);
+        repeat(10, false);
+        repeat(4, true);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        call(true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpensAfterOpenDurationAndClosesWhenTrialCallsSucceed() {
+        open();
+
+        clock.addAndGet(OPEN_DURATION.toNanos() - 1);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+        clock.addAndGet(1);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        // 시험 호출 수(2)를 넘는 허가는 거절
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+        circuitBreaker.onResult(FAST, false);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        circuitBreaker.onResult(FAST, false);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+    }
+
+    @Test
+    void reopensWhenTrialCallFails() {
+        open();
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        circuitBreaker.onResult(FAST, true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN");
+
+        // 다시 열린 시점부터 openDuration 을 센다
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    // 닫힌 뒤에는 이전 창의 실패가 남아 있지 않다
+    @Test
+    void startsWithEmptyWindowAfterClosing() {
+        open();
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        call(false);
+        call(false);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        repeat(4, true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private void open() {
+        repeat(5, true);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void repeat(int times, boolean failed) {
+        for (int i = 0; i < times; i++) {
+            call(failed);
+        }
+    }
+
+    private void call(boolean failed) {
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        circuitBreaker.onResult(FAST, failed);
+    }
+}
@@ -0,0 +1,89 @@
+package com.myrealpet.account.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int VIRTUAL_NODES = 160;
+
+    @Test
+    void ownersDependOnNamesNotOrder() {
+        ConsistentHashRing<String> ring = ring("a:6379/0", "b:6379/0", "c:6379/0");
+        ConsistentHashRing<String> reordered = ring("c:6379/0", "a:6379/0", "b:6379/0");
+
+        for (int slot = 0; slot < TokenGenerator.SLOTS; slot++) {
+            assertThat(reordered.nameFor(slot)).isEqualTo(ring.nameFor(slot));
+            assertThat(ring.nodeFor(slot)).isEqualTo(ring.nameFor(slot));
+        }
+    }
+
+    @Test
+    void slotsAreSpreadEvenly() {
+        List<String> names = List.of("a:6379/0", "b:6379/0", "c:6379/0", "d:6379/0");
+        ConsistentHashRing<String> ring = ring(names.toArray(String[]::new));
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int slot = 0; slot < ring.slots(); slot++) {
+            counts.merge(ring.nameFor(slot), 1, Integer::sum);
+        }
+
+        double expected = (double) TokenGenerator.SLOTS / names.size();
+        assertThat(counts).hasSize(names.size());
+        counts.values().forEach(count -> assertThat((double) count).isBetween(expected * 0.8, expected * 1.2));
+    }
+
+    // 새 노드가 가져가는 약 1/(n+1) 의 슬롯만 이동하고, 기존 노드 사이에서는 이동하지 않는다
+    @Test
+    void addingNodeMovesOnlySlotsTakenByNewNode() {
+        ConsistentHashRing<String> before = ring("a:6379/0", "b:6379/0", "c:6379/0");
+        ConsistentHashRing<String> after = ring("a:6379/0", "b:6379/0", "c:6379/0", "d:6379/0");
+
+        int moved = 0;
+        for (int slot = 0; slot < TokenGenerator.SLOTS; slot++) {
+            if (!before.nameFor(slot).equals(after.nameFor(slot))) {
+                assertThat(after.nameFor(slot)).isEqualTo("d:6379/0");
+                moved++;
+            }
+        }
+
+        assertThat((double) moved / TokenGenerator.SLOTS).isBetween(0.25 * 0.8, 0.25 * 1.2);
+    }
+
+    @Test
+    void removingNodeMovesOnlyItsSlots() {
+        ConsistentHashRing<String> before = ring("a:6379/0", "b:6379/0", "c:6379/0", "d:6379/0");
+        ConsistentHashRing<String> after = ring("a:6379/0", "b:6379/0", "d:6379/0");
+
+        int moved = 0;
+        for (int slot = 0; slot < TokenGenerator.SLOTS; slot++) {
+            if (!before.nameFor(slot).equals(after.nameFor(slot))) {
+                assertThat(before.nameFor(slot)).isEqualTo("c:6379/0");
+                moved++;
+            }
+        }
+
+        assertThat((double) moved / TokenGenerator.SLOTS).isBetween(0.25 * 0.8, 0.25 * 1.2);
+    }
+
+    @Test
+    void rejectsInvalidNodes() {
+        assertThatThrownBy(() -> ring("a:6379/0", "a:6379/0"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConsistentHashRing<>(List.of("a"), List.of("a", "b"), VIRTUAL_NODES, 16))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConsistentHashRing<>(List.of("a"), List.of("a"), 0, 16))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ConsistentHashRing<String> ring(String... names) {
+        List<String> nodes = List.of(names);
+        return new ConsistentHashRing<>(nodes, nodes, VIRTUAL_NODES, TokenGenerator.SLOTS);
+    }
+}
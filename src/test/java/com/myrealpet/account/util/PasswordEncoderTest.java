@@ -0,0 +1,164 @@
+package com.myrealpet.account.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordEncoderTest {
+
+    private static final int ITERATIONS = 1000;
+    private static final String PREFIX = "$pbkdf2-sha256$i=";
+    private static final Base64.Encoder ENCODER = Base64.getEncoder();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    // 한글/이모지, HMAC 블록 크기(64 바이트) 경계와 그보다 긴 키
+    private static final List<String> PASSWORDS = List.of(
+            "password",
+            "비밀번호123",
+            "pässwörd",
+            "🔐🐶 emoji",
+            "a".repeat(63),
+            "a".repeat(64),
+            "a".repeat(65),
+            "가".repeat(22),
+            "x".repeat(200) + "가나다");
+
+    private final PasswordEncoder passwordEncoder = new PasswordEncoder(ITERATIONS);
+
+    // RFC 7914 11 절의 PBKDF2-HMAC-SHA256 값 (dkLen 64 중 저장하는 앞 32 바이트)
+    @Test
+    void matchesRfc7914Vectors() {
+        assertThat(passwordEncoder.matches("passwd", encoded(1, "salt",
+                "55ac046e56e3089fec1691c22544b605f94185216dde0465e68b9d57c20dacbc"))).isTrue();
+        assertThat(passwordEncoder.matches("Password", encoded(80000, "NaCl",
+                "4ddcd8f60b98be21830cee5ef22701f9641a4418d04c0414aeff08876b34ab56"))).isTrue();
+
+        assertThat(passwordEncoder.matches("passwd", encoded(2, "salt",
+                "55ac046e56e3089fec1691c22544b605f94185216dde0465e68b9d57c20dacbc"))).isFalse();
+        assertThat(passwordEncoder.matches("Passwd", encoded(80000, "NaCl",
+                "4ddcd8f60b98be21830cee5ef22701f9641a4418d04c0414aeff08876b34ab56"))).isFalse();
+    }
+
+    // 직접 계산한 HMAC 이 JDK 의 PBKDF2WithHmacSHA256 (비밀번호를 UTF-8 로 인코딩) 과 같은 값을 내는지 확인
+    @Test
+    void agreesWithSecretKeyFactory() throws Exception {
+        SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+
+        for (String password : PASSWORDS) {
+            String encoded = passwordEncoder.encode(password);
+            String[] parts = encoded.substring(PREFIX.length()).split("\\$");
+            byte[] salt = DECODER.decode(parts[1]);
+
+            byte[] expected = factory.generateSecret(new PBEKeySpec(password.toCharArray(), salt, ITERATIONS, 256))
+                    .getEncoded();
+
+            assertThat(parts[0]).isEqualTo(String.valueOf(ITERATIONS));
+            assertThat(DECODER.decode(parts[2])).as(password).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void roundTripsAndRejectsOtherPasswords() {
+        for (String password : PASSWORDS) {
+            String encoded = passwordEncoder.encode(password);
+
+            assertThat(passwordEncoder.matches(password, encoded)).as(password).isTrue();
+            assertThat(passwordEncoder.matches(password + "x", encoded)).as(password).isFalse();
+            assertThat(passwordEncoder.matches(password.substring(1), encoded)).as(password).isFalse();
+            assertThat(passwordEncoder.needsRehash(encoded)).isFalse();
+        }
+    }
+
+    // 이전 형식: <Base64 솔트>:<Base64 SHA-256(솔트 문자열 + 비밀번호)>
+    @Test
+    void matchesLegacyHashes() throws Exception {
+        String legacy = "MDEyMzQ1Njc4OWFiY2RlZg==:Gvt5OdK5mNrULZS3j9Qx4PQ5sZ+ruMpy3OatGs0uk/k=";
+
+        assertThat(passwordEncoder.matches("password", legacy)).isTrue();
+        assertThat(passwordEncoder.matches("Password", legacy)).isFalse();
+        assertThat(passwordEncoder.needsRehash(legacy)).isTrue();
+
+        for (String password : PASSWORDS) {
+            String encoded = legacy(password);
+            assertThat(passwordEncoder.matches(password, encoded)).as(password).isTrue();
+            assertThat(passwordEncoder.matches(password + "x", encoded)).as(password).isFalse();
+        }
+    }
+
+    @Test
+    void needsRehashForFewerIterationsOrUnknownFormat() {
+        String weaker = new PasswordEncoder(ITERATIONS - 1).encode("password");
+
+        assertThat(passwordEncoder.needsRehash(weaker)).isTrue();
+        assertThat(passwordEncoder.matches("password", weaker)).isTrue();
+        assertThat(new PasswordEncoder(ITERATIONS + 1).needsRehash(passwordEncoder.encode("password"))).isTrue();
+        assertThat(passwordEncoder.needsRehash(PREFIX + "abc$c2FsdA==$aGFzaA==")).isTrue();
+    }
+
+    // 같은 바이트로 디코딩되더라도 인코더가 만들지 않는 Base64 는 거절
+    @Test
+    void rejectsNonCanonicalBase64() throws Exception {
+        String encoded = passwordEncoder.encode("password");
+        int hashStart = encoded.lastIndexOf('$') + 1;
+        int saltStart = encoded.lastIndexOf('$', hashStart - 2) + 1;
+        String prefix = encoded.substring(0, saltStart);
+        String salt = encoded.substring(saltStart, hashStart - 1);
+        String hash = encoded.substring(hashStart);
+        assertThat(salt).endsWith("==");
+        assertThat(hash).endsWith("=").doesNotEndWith("==");
+
+        List<String> variants = List.of(
+                prefix + salt + "$" + hash.substring(0, hash.length() - 1),
+                prefix + salt + "$" + hash + "=",
+                prefix + salt + "$" + hash + "==",
+                prefix + salt + "$" + flipLowBit(hash, 1),
+                prefix + salt.substring(0, salt.length() - 2) + "$" + hash,
+                prefix + salt + "=$" + hash,
+                prefix + flipLowBit(salt, 2) + "$" + hash,
+                prefix + salt + "$" + hash.replace('+', '-').replace('/', '_'),
+                prefix + salt + "$ " + hash);
+        for (String variant : variants) {
+            if (!variant.equals(encoded)) {
+                assertThat(passwordEncoder.matches("password", variant)).as(variant).isFalse();
+            }
+        }
+
+        String legacy = legacy("password");
+        int separator = legacy.indexOf(':') + 1;
+        assertThat(passwordEncoder.matches("password",
+                legacy.substring(0, separator) + flipLowBit(legacy.substring(separator), 1))).isFalse();
+        assertThat(passwordEncoder.matches("password", legacy.substring(0, legacy.length() - 1))).isFalse();
+        assertThat(passwordEncoder.matches("password", encoded)).isTrue();
+    }
+
+    private static String encoded(int iterations, String salt, String hexHash) {
+        return PREFIX + iterations + "$" + ENCODER.encodeToString(salt.getBytes(StandardCharsets.UTF_8)) + "$"
+                + ENCODER.encodeToString(HexFormat.of().parseHex(hexHash));
+    }
+
+    // 이전 구현과 같은 방식으로 만든 해시
+    private static String legacy(String password) throws Exception {
+        String salt = ENCODER.encodeToString("fedcba9876543210".getBytes(StandardCharsets.UTF_8));
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(salt.getBytes());
+        return salt + ":" + ENCODER.encodeToString(digest.digest(password.getBytes()));
+    }
+
+    // 패딩 앞의 마지막 문자의 최하위 비트를 바꿔 디코딩에 쓰이지 않는 남는 비트만 0 이 아니게 만든다
+    private static String flipLowBit(String base64, int padding) {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        int index = base64.length() - padding - 1;
+        char flipped = alphabet.charAt(alphabet.indexOf(base64.charAt(index)) ^ 1);
+        String result = base64.substring(0, index) + flipped + base64.substring(index + 1);
+        assertThat(DECODER.decode(result)).isEqualTo(DECODER.decode(base64));
+        return result;
+    }
+}
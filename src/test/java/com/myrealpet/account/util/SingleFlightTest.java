@@ -0,0 +1,102 @@
+package com.myrealpet.account.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> flights = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // 로딩 중에 들어온 같은 키의 호출은 loader 를 실행하지 않고 결과를 함께 받는다
+    @Test
+    void coalescesConcurrentLoadsOfTheSameKey() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> leader = executor.submit(() -> flights.load("key", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return 42;
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(flights.isLoading("key")).isTrue();
+
+        List<Future<Integer>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(executor.submit(() -> flights.load("key", loads::incrementAndGet)));
+        }
+        while (flights.joinedCount() < 3) {
+            Thread.sleep(1);
+        }
+        assertThat(flights.load("other", () -> 7)).isEqualTo(7);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        for (Future<Integer> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(flights.isLoading("key")).isFalse();
+    }
+
+    // 결과는 보관하지 않으므로 끝난 뒤의 호출은 다시 실행한다
+    @Test
+    void reloadsAfterTheFlightCompletes() {
+        assertThat(flights.load("key", () -> 1)).isEqualTo(1);
+        assertThat(flights.load("key", () -> 2)).isEqualTo(2);
+        assertThat(flights.joinedCount()).isZero();
+    }
+
+    // loader 의 예외는 기다리던 호출에도 같은 예외로 전달되고, 다음 호출은 새로 실행한다
+    @Test
+    void propagatesLoaderFailureToJoinedCalls() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("db down");
+
+        Future<Integer> leader = executor.submit(() -> flights.load("key", () -> {
+            loading.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Integer> follower = executor.submit(() -> flights.load("key", () -> 0));
+        while (flights.joinedCount() < 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCause(failure);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCause(failure);
+        assertThat(flights.load("key", () -> 3)).isEqualTo(3);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
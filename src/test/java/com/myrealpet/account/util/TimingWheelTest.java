@@ -0,0 +1,152 @@
+package com.myrealpet.account.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTest {
+
+    // 64^4 tick: 최상위 휠이 표현하는 범위
+    private static final long WHEEL_RANGE = 1L << 24;
+
+    @Test
+    void expiresOnceTheDeadlineTickHasPassed() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 0);
+        wheel.schedule("a", 25);
+        wheel.schedule("b", 30);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(29, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(30, expired::add);
+        assertThat(expired).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastDeadlinesExpireOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 1000);
+        wheel.schedule("late", 500);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(1009, expired::add);
+        assertThat(expired).isEmpty();
+        wheel.advance(1010, expired::add);
+        assertThat(expired).containsExactly("late");
+    }
+
+    // 각 단의 경계와 최상위 휠 범위를 넘는 마감 시각도 하위 휠로 내려와 정확한 tick 에 만료
+    @Test
+    void cascadesAcrossEveryLevel() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        List<Long> deadlines = List.of(1L, 63L, 64L, 65L, 4095L, 4096L, 4097L, 262_143L, 262_144L, 300_001L,
+                WHEEL_RANGE - 1, WHEEL_RANGE, WHEEL_RANGE + 70_000, 3 * WHEEL_RANGE + 5);
+        deadlines.forEach(deadline -> wheel.schedule(deadline, deadline));
+
+        for (long deadline : deadlines) {
+            List<Long> expired = new ArrayList<>();
+            wheel.advance(deadline - 1, expired::add);
+            assertThat(expired).as("before %d", deadline).isEmpty();
+            wheel.advance(deadline, expired::add);
+            assertThat(expired).as("at %d", deadline).containsExactly(deadline);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    // 임의의 마감 시각과 진행 폭에서 만료 결과가 단순 비교와 같은지 확인
+    @Test
+    void matchesReferenceModel() {
+        Random random = new Random(42);
+        long start = 1_000_000_007L;
+        TimingWheel<Integer> wheel = new TimingWheel<>(1, start);
+        Map<Integer, Long> pending = new HashMap<>();
+        Map<Integer, TimingWheel.Timeout<Integer>> timeouts = new HashMap<>();
+        long now = start;
+
+        for (int round = 0; round < 2_000; round++) {
+            for (int i = 0; i < 5; i++) {
+                int id = round * 5 + i;
+                long range = switch (random.nextInt(4)) {
+                    case 0 -> 64;
+                    case 1 -> 4096;
+                    case 2 -> 262_144;
+                    default -> 2_000_000;
+                };
+                long deadline = now + 1 + (long) (random.nextDouble() * range);
+                pending.put(id, deadline);
+                timeouts.put(id, wheel.schedule(id, deadline));
+            }
+            if (random.nextInt(4) == 0 && !pending.isEmpty()) {
+                Integer cancelled = pending.keySet().iterator().next();
+                wheel.cancel(timeouts.remove(cancelled));
+                pending.remove(cancelled);
+            }
+
+            now += random.nextInt(random.nextInt(10) == 0 ? 100_000 : 500);
+            Set<Integer> expired = new HashSet<>();
+            wheel.advance(now, expired::add);
+
+            long current = now;
+            Set<Integer> expected = new HashSet<>();
+            pending.forEach((id, deadline) -> {
+                if (deadline <= current) {
+                    expected.add(id);
+                }
+            });
+            assertThat(expired).isEqualTo(expected);
+            expected.forEach(id -> {
+                pending.remove(id);
+                timeouts.remove(id);
+            });
+            assertThat(wheel.size()).isEqualTo(pending.size());
+        }
+    }
+
+    @Test
+    void cancelledTimeoutsNeverExpire() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        TimingWheel.Timeout<String> near = wheel.schedule("near", 10);
+        TimingWheel.Timeout<String> far = wheel.schedule("far", 100_000);
+        wheel.schedule("kept", 10);
+
+        wheel.cancel(near);
+        wheel.cancel(far);
+        wheel.cancel(far);
+        wheel.cancel(null);
+        assertThat(wheel.size()).isEqualTo(1);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(200_000, expired::add);
+        assertThat(expired).containsExactly("kept");
+    }
+
+    // 비어 있는 동안 건너뛴 뒤에도 현재 시각 기준으로 예약
+    @Test
+    void skipsIdleTicks() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.advance(10_000_000, item -> {
+        });
+        wheel.schedule("a", 10_000_100);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(10_000_099, expired::add);
+        assertThat(expired).isEmpty();
+        wheel.advance(10_000_100, expired::add);
+        assertThat(expired).containsExactly("a");
+    }
+
+    @Test
+    void rejectsNonPositiveTick() {
+        assertThatThrownBy(() -> new TimingWheel<>(0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
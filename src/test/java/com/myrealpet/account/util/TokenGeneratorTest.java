@@ -0,0 +1,71 @@
+package com.myrealpet.account.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenGeneratorTest {
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Test
+    void unshardedTokensCarryNoSlot() {
+        TokenGenerator tokenGenerator = new TokenGenerator(false);
+
+        String token = tokenGenerator.generate(TokenGenerator.accountSlot(42L));
+
+        assertThat(token).hasSize(22);
+        assertThat(DECODER.decode(token)).hasSize(16);
+        assertThat(TokenGenerator.tokenSlot(token)).isEqualTo(TokenGenerator.NO_SLOT);
+    }
+
+    // 슬롯은 128-bit 난수를 덮어쓰지 않고 그 뒤에 붙는다
+    @Test
+    void shardedTokensAppendSlotAfterRandomBytes() {
+        TokenGenerator tokenGenerator = new TokenGenerator(true);
+
+        for (int slot : new int[]{0, 1, 0xff, 0x100, 0x1234, 0xabcd, TokenGenerator.SLOTS - 1}) {
+            String token = tokenGenerator.generate(slot);
+
+            byte[] bytes = DECODER.decode(token);
+            assertThat(token).hasSize(24);
+            assertThat(bytes).hasSize(18);
+            assertThat((bytes[16] & 0xff) << 8 | (bytes[17] & 0xff)).isEqualTo(slot);
+            assertThat(TokenGenerator.tokenSlot(token)).isEqualTo(slot);
+        }
+    }
+
+    @Test
+    void accountTokensShareSlot() {
+        TokenGenerator tokenGenerator = new TokenGenerator(true);
+
+        for (long accountId = 1; accountId <= 1000; accountId++) {
+            int slot = TokenGenerator.accountSlot(accountId);
+            assertThat(slot).isBetween(0, TokenGenerator.SLOTS - 1);
+            assertThat(TokenGenerator.tokenSlot(tokenGenerator.generate(slot))).isEqualTo(slot);
+        }
+    }
+
+    @Test
+    void randomPartDiffersAcrossTokensWithSameSlot() {
+        TokenGenerator tokenGenerator = new TokenGenerator(true);
+
+        Set<String> randomParts = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            randomParts.add(tokenGenerator.generate(7).substring(0, 21));
+        }
+
+        assertThat(randomParts).hasSize(10_000);
+    }
+
+    @Test
+    void otherFormatsHaveNoSlot() {
+        assertThat(TokenGenerator.tokenSlot("0123456789abcdef0123456789abcdef")).isEqualTo(TokenGenerator.NO_SLOT);
+        assertThat(TokenGenerator.tokenSlot("AAAAAAAAAAAAAAAAAAAAAAA*")).isEqualTo(TokenGenerator.NO_SLOT);
+        assertThat(TokenGenerator.tokenSlot(new TokenGenerator().generate())).isEqualTo(TokenGenerator.NO_SLOT);
+    }
+}
@@ -0,0 +1,50 @@
+package com.myrealpet.account.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// account-backend 의 util.InvalidationStamps 와 같은 구현 (이 모듈은 서버 코드에 의존하지 않는다).
+// 로딩 중에 일어난 무효화를 키 단위로 감지한다. 로딩 전에 stamp() 로 시퀀스를 받아 두고, 캐시에 넣기 직전에
+// isInvalidatedSince(키, stamp) 로 그 사이 같은 키가 무효화됐는지 확인해 이전 값을 다시 캐시하지 않는다.
+// 키마다 상태를 두지 않도록 키 해시로 고른 스트라이프에 마지막 무효화 시퀀스만 기록하므로, 같은 스트라이프의
+// 다른 키가 무효화돼도 저장을 건너뛴다 (캐시 미스가 한 번 늘 뿐 오래된 값이 남지는 않는다).
+// 무효화하는 쪽은 invalidate 후에 캐시에서 지우고, 저장하는 쪽은 확인과 저장을 같은 키 잠금 안에서 해야 한다
+class InvalidationStamps {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLongArray invalidatedAt;
+    private final int mask;
+    private volatile long allInvalidatedAt;
+
+    // stripes 는 2 의 거듭제곱
+    public InvalidationStamps(int stripes) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes must be a power of two: " + stripes);
+        }
+        this.invalidatedAt = new AtomicLongArray(stripes);
+        this.mask = stripes - 1;
+    }
+
+    public long stamp() {
+        return sequence.get();
+    }
+
+    public void invalidate(Object key) {
+        long invalidation = sequence.incrementAndGet();
+        invalidatedAt.accumulateAndGet(stripe(key), invalidation, Math::max);
+    }
+
+    // 캐시 전체를 비울 때 진행 중인 모든 로딩의 저장을 막는다
+    public void invalidateAll() {
+        allInvalidatedAt = sequence.incrementAndGet();
+    }
+
+    public boolean isInvalidatedSince(Object key, long stamp) {
+        return invalidatedAt.get(stripe(key)) > stamp || allInvalidatedAt > stamp;
+    }
+
+    private int stripe(Object key) {
+        int hash = key.hashCode() * 0x9e3779b9;
+        return (hash ^ hash >>> 16) & mask;
+    }
+}
@@ -0,0 +1,13 @@
+package com.myrealpet.account.client;
+
+// 인증 서버에 연결할 수 없거나 응답이 올바르지 않아 토큰 유효 여부를 판단하지 못한 경우
+public class TokenVerificationException extends RuntimeException {
+
+    public TokenVerificationException(String message) {
+        super(message);
+    }
+
+    public TokenVerificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
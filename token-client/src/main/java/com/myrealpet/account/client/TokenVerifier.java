@@ -0,0 +1,545 @@
+package com.myrealpet.account.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// account-backend 의 토큰 검증 클라이언트.
+// - 검증 결과를 프로세스 안에 캐시 (유효: 토큰 만료와 maxTtl 중 이른 시점까지, 무효: negativeTtl 동안)
+// - 캐시에 없는 토큰은 batchWindow 동안 모아 /api/auth/introspect 한 번으로 조회하고, 같은 토큰의 동시 조회는 하나로 합침
+// - 인증 서버는 서비스 클라이언트만 호출할 수 있으므로 clientSecret(token.introspection.client-secret)을 X-Client-Secret 헤더로 보냄
+// - /api/auth/introspect/events 스트림으로 무효화/폐기 이벤트를 받아 캐시에서 즉시 제거.
+//   이벤트에는 토큰 값 대신 SHA-256 해시(패딩 없는 base64url)나 jti 가 오므로 캐시 키도 토큰 해시를 사용.
+//   스트림이 끊긴 동안은 maxTtl 이 캐시된 결과의 최대 지연이 되고, 다시 연결되면 캐시를 비운다
+public class TokenVerifier implements AutoCloseable {
+
+    private static final System.Logger log = System.getLogger(TokenVerifier.class.getName());
+
+    private static final String INTROSPECT_PATH = "/api/auth/introspect";
+    private static final String EVENTS_PATH = "/api/auth/introspect/events";
+    private static final String CLIENT_SECRET_HEADER = "X-Client-Secret";
+    private static final String TOKEN_EVENT = "token";
+    private static final String ACCOUNT_EVENT = "account";
+    private static final Duration MIN_RECONNECT_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(30);
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final HttpClient httpClient;
+    private final URI introspectUri;
+    private final URI eventsUri;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long maxTtlNanos;
+    private final long negativeTtlNanos;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final Duration requestTimeout;
+    private final String clientSecret;
+
+    // 키: tokenHash(토큰)
+    private final Cache<String, CachedResult> cache;
+    private final Map<String, CompletableFuture<VerifiedToken>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+
+    // 조회 중에 도착한 무효화 이벤트가 조회 결과 캐시로 덮어써지지 않도록 토큰 해시/jti/계정 ID 별로 기록.
+    // 다른 토큰이나 계정의 이벤트는 진행 중인 조회의 캐시 저장을 막지 않는다
+    private final InvalidationStamps invalidations = new InvalidationStamps(1024);
+    private volatile boolean tokenIdsSeen;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean closed;
+    private volatile Thread eventThread;
+    private volatile Stream<String> eventStream;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder remoteCalls = new LongAdder();
+    private final LongAdder events = new LongAdder();
+
+    private TokenVerifier(Builder builder) {
+        String baseUrl = builder.baseUrl.endsWith("/")
+                ? builder.baseUrl.substring(0, builder.baseUrl.length() - 1)
+                : builder.baseUrl;
+        this.introspectUri = URI.create(baseUrl + INTROSPECT_PATH);
+        this.eventsUri = URI.create(baseUrl + EVENTS_PATH);
+        this.requestTimeout = builder.requestTimeout;
+        this.clientSecret = builder.clientSecret;
+        this.httpClient = builder.httpClient != null
+                ? builder.httpClient
+                : HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(builder.requestTimeout)
+                        .build();
+        this.maxTtlNanos = builder.maxTtl.toNanos();
+        this.negativeTtlNanos = builder.negativeTtl.toNanos();
+        this.batchWindowNanos = builder.batchWindow.toNanos();
+        this.maxBatchSize = builder.maxBatchSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(builder.maximumSize)
+                .expireAfter(new CachedResultExpiry())
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-verifier-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static Builder builder(String baseUrl) {
+        return new Builder(baseUrl);
+    }
+
+    // 무효화 이벤트 스트림 구독 시작. 구독하지 않으면 캐시 결과는 최대 maxTtl 동안 유지된다
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(this::consumeEvents, "token-verifier-events");
+        thread.setDaemon(true);
+        eventThread = thread;
+        thread.start();
+    }
+
+    // 유효하면 토큰 정보, 무효면 null. 인증 서버에 연결하지 못하면 TokenVerificationException
+    public VerifiedToken verify(String token) {
+        try {
+            return verifyAsync(token).get(requestTimeout.toNanos() + batchWindowNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof TokenVerificationException cause
+                    ? cause
+                    : new TokenVerificationException("Token verification failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new TokenVerificationException("Token verification timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TokenVerificationException("Token verification interrupted", e);
+        }
+    }
+
+    public CompletableFuture<VerifiedToken> verifyAsync(String token) {
+        if (token == null || token.isBlank()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CachedResult cached = cache.getIfPresent(tokenHash(token));
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached.token());
+        }
+
+        CompletableFuture<VerifiedToken> future = inFlight.get(token);
+        if (future == null) {
+            CompletableFuture<VerifiedToken> created = new CompletableFuture<>();
+            future = inFlight.putIfAbsent(token, created);
+            if (future == null) {
+                misses.increment();
+                enqueue(token);
+                return created;
+            }
+        }
+        coalesced.increment();
+        return future;
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), coalesced.sum(), remoteCalls.sum(), events.sum(), cache.estimatedSize());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Thread thread = eventThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        Stream<String> stream = eventStream;
+        if (stream != null) {
+            stream.close();
+        }
+        scheduler.shutdownNow();
+        TokenVerificationException closedException = new TokenVerificationException("Token verifier closed");
+        inFlight.values().forEach(future -> future.completeExceptionally(closedException));
+        inFlight.clear();
+    }
+
+    private void enqueue(String token) {
+        pending.add(token);
+        if (pendingCount.incrementAndGet() >= maxBatchSize) {
+            scheduler.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, batchWindowNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // 배치 스레드 하나에서만 실행되며, 모인 토큰을 maxBatchSize 개씩 나눠 비동기로 조회
+    private void flush() {
+        flushScheduled.set(false);
+        List<String> batch = new ArrayList<>(maxBatchSize);
+        String token;
+        while ((token = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(token);
+            if (batch.size() == maxBatchSize) {
+                send(batch);
+                batch = new ArrayList<>(maxBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private void send(List<String> tokens) {
+        remoteCalls.increment();
+        long stamp = invalidations.stamp();
+
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(introspectUri)
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .header(CLIENT_SECRET_HEADER, clientSecret)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(Map.of("tokens", tokens))))
+                    .build();
+        } catch (IOException e) {
+            fail(tokens, new TokenVerificationException("Failed to encode introspection request", e));
+            return;
+        }
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                fail(tokens, new TokenVerificationException("Token introspection request failed", cause));
+            } else if (response.statusCode() != 200) {
+                fail(tokens, new TokenVerificationException("Token introspection returned HTTP " + response.statusCode()));
+            } else {
+                complete(tokens, response.body(), stamp);
+            }
+        });
+    }
+
+    private void complete(List<String> tokens, byte[] body, long stamp) {
+        JsonNode results;
+        try {
+            results = objectMapper.readTree(body);
+        } catch (IOException e) {
+            fail(tokens, new TokenVerificationException("Invalid token introspection response", e));
+            return;
+        }
+        if (!results.isArray() || results.size() != tokens.size()) {
+            fail(tokens, new TokenVerificationException("Unexpected token introspection response size"));
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            VerifiedToken verified = toVerifiedToken(results.get(i));
+            cache(token, verified, now, stamp);
+            // 캐시에 먼저 넣은 뒤 진행 중 목록에서 빼야 그 사이 들어온 조회가 중복 요청을 보내지 않는다
+            CompletableFuture<VerifiedToken> future = inFlight.remove(token);
+            if (future != null) {
+                future.complete(verified);
+            }
+        }
+    }
+
+    private void cache(String token, VerifiedToken verified, long nowMillis, long stamp) {
+        long lifetimeNanos = negativeTtlNanos;
+        if (verified != null) {
+            lifetimeNanos = maxTtlNanos;
+            if (verified.expiresAt() != null) {
+                long remainingNanos = TimeUnit.MILLISECONDS.toNanos(verified.expiresAt().toEpochMilli() - nowMillis);
+                lifetimeNanos = Math.min(lifetimeNanos, remainingNanos);
+            }
+            if (verified.tokenId() != null) {
+                tokenIdsSeen = true;
+            }
+        }
+        if (lifetimeNanos <= 0) {
+            return;
+        }
+
+        String key = tokenHash(token);
+        CachedResult result = new CachedResult(verified, lifetimeNanos);
+        // 토큰 이벤트는 같은 키 잠금 안에서 확인과 저장을 하므로 저장 후 지워지지 않는다
+        cache.asMap().compute(key, (ignored, current) -> isInvalidatedSince(key, verified, stamp) ? current : result);
+        // 계정/jti 이벤트는 캐시 전체를 훑어 지우므로, 저장과 겹친 이벤트는 저장 후 다시 확인해 지운다
+        if (isInvalidatedSince(key, verified, stamp)) {
+            cache.asMap().remove(key, result);
+        }
+    }
+
+    private boolean isInvalidatedSince(String key, VerifiedToken verified, long stamp) {
+        if (invalidations.isInvalidatedSince(key, stamp)) {
+            return true;
+        }
+        return verified != null
+                && (invalidations.isInvalidatedSince(verified.accountId(), stamp)
+                || verified.tokenId() != null && invalidations.isInvalidatedSince(verified.tokenId(), stamp));
+    }
+
+    // 서버의 토큰 이벤트와 같은 형식
+    private static String tokenHash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private void fail(List<String> tokens, TokenVerificationException exception) {
+        log.log(System.Logger.Level.WARNING, exception.getMessage());
+        for (String token : tokens) {
+            CompletableFuture<VerifiedToken> future = inFlight.remove(token);
+            if (future != null) {
+                future.completeExceptionally(exception);
+            }
+        }
+    }
+
+    private static VerifiedToken toVerifiedToken(JsonNode result) {
+        if (!result.path("active").asBoolean(false)) {
+            return null;
+        }
+        JsonNode role = result.path("role");
+        JsonNode tokenId = result.path("tokenId");
+        return new VerifiedToken(result.path("accountId").asLong(),
+                role.isTextual() ? role.asText() : null,
+                toInstant(result.path("expiresAt")),
+                tokenId.isTextual() ? tokenId.asText() : null);
+    }
+
+    // ISO-8601 문자열 또는 초 단위 숫자(Jackson 타임스탬프 형식)
+    private static Instant toInstant(JsonNode value) {
+        if (value.isTextual()) {
+            return Instant.parse(value.asText());
+        }
+        if (value.isNumber()) {
+            return Instant.ofEpochMilli((long) (value.asDouble() * 1000));
+        }
+        return null;
+    }
+
+    private void consumeEvents() {
+        Duration delay = MIN_RECONNECT_DELAY;
+        while (!closed) {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(eventsUri)
+                        .header("Accept", "text/event-stream")
+                        .header(CLIENT_SECRET_HEADER, clientSecret)
+                        .GET()
+                        .build();
+                HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+                if (response.statusCode() == 200) {
+                    // 끊겨 있던 동안 놓쳤을 수 있는 이벤트 대비
+                    invalidateAll();
+                    delay = MIN_RECONNECT_DELAY;
+                    eventStream = response.body();
+                    try (Stream<String> lines = response.body()) {
+                        readEvents(lines.iterator());
+                    }
+                } else {
+                    response.body().close();
+                    log.log(System.Logger.Level.WARNING, "Token event stream returned HTTP " + response.statusCode());
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!closed) {
+                    log.log(System.Logger.Level.WARNING, "Token event stream disconnected: " + e.getMessage());
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if (closed) {
+                return;
+            }
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+            delay = delay.multipliedBy(2).compareTo(MAX_RECONNECT_DELAY) > 0 ? MAX_RECONNECT_DELAY : delay.multipliedBy(2);
+        }
+    }
+
+    // text/event-stream: event/data 줄을 모아 빈 줄에서 처리, ':' 로 시작하는 하트비트 주석은 무시
+    private void readEvents(Iterator<String> lines) {
+        String event = null;
+        StringBuilder data = new StringBuilder();
+        while (!closed && lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                if (event != null && !data.isEmpty()) {
+                    onEvent(event, data.toString());
+                }
+                event = null;
+                data.setLength(0);
+            } else if (line.startsWith("event:")) {
+                event = line.substring("event:".length()).strip();
+            } else if (line.startsWith("data:")) {
+                if (!data.isEmpty()) {
+                    data.append('\n');
+                }
+                data.append(line.substring("data:".length()).strip());
+            }
+        }
+    }
+
+    private void onEvent(String event, String data) {
+        events.increment();
+        if (TOKEN_EVENT.equals(event)) {
+            // 불투명 토큰은 토큰 해시로, 서명 토큰은 jti 로 온다
+            invalidations.invalidate(data);
+            cache.invalidate(data);
+            // 서명 토큰 폐기 이벤트는 jti 로 오므로 캐시된 결과의 tokenId 와 비교
+            if (tokenIdsSeen) {
+                cache.asMap().values().removeIf(result -> result.token() != null && data.equals(result.token().tokenId()));
+            }
+        } else if (ACCOUNT_EVENT.equals(event)) {
+            try {
+                long accountId = Long.parseLong(data);
+                invalidations.invalidate(accountId);
+                cache.asMap().values().removeIf(result -> result.token() != null && result.token().accountId() == accountId);
+            } catch (NumberFormatException e) {
+                log.log(System.Logger.Level.WARNING, "Invalid account ID in token event: " + data);
+            }
+        }
+    }
+
+    private void invalidateAll() {
+        invalidations.invalidateAll();
+        cache.invalidateAll();
+    }
+
+    public record Stats(long hits, long misses, long coalesced, long remoteCalls, long events, long cachedTokens) {
+    }
+
+    private record CachedResult(VerifiedToken token, long lifetimeNanos) {
+    }
+
+    private static class CachedResultExpiry implements Expiry<String, CachedResult> {
+
+        @Override
+        public long expireAfterCreate(String token, CachedResult result, long currentTime) {
+            return result.lifetimeNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, CachedResult result, long currentTime, long currentDuration) {
+            return result.lifetimeNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String token, CachedResult result, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    public static class Builder {
+
+        private final String baseUrl;
+        private HttpClient httpClient;
+        private long maximumSize = 100_000;
+        private Duration maxTtl = Duration.ofSeconds(30);
+        private Duration negativeTtl = Duration.ofSeconds(5);
+        private Duration batchWindow = Duration.ofMillis(2);
+        private int maxBatchSize = 100;
+        private Duration requestTimeout = Duration.ofSeconds(2);
+        private String clientSecret;
+
+        private Builder(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public Builder maximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        // 이벤트 스트림이 끊겼을 때 폐기된 토큰이 허용될 수 있는 최대 시간
+        public Builder maxTtl(Duration maxTtl) {
+            this.maxTtl = maxTtl;
+            return this;
+        }
+
+        public Builder negativeTtl(Duration negativeTtl) {
+            this.negativeTtl = negativeTtl;
+            return this;
+        }
+
+        public Builder batchWindow(Duration batchWindow) {
+            this.batchWindow = batchWindow;
+            return this;
+        }
+
+        // 서버의 /introspect 요청당 최대 토큰 수(100) 이하
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1 || maxBatchSize > 100) {
+                throw new IllegalArgumentException("maxBatchSize must be between 1 and 100");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        // account-backend 의 token.introspection.client-secret
+        public Builder clientSecret(String clientSecret) {
+            this.clientSecret = clientSecret;
+            return this;
+        }
+
+        public TokenVerifier build() {
+            if (clientSecret == null || clientSecret.isEmpty()) {
+                throw new IllegalStateException("clientSecret is required");
+            }
+            return new TokenVerifier(this);
+        }
+    }
+}
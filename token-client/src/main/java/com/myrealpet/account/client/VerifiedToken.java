@@ -0,0 +1,7 @@
+package com.myrealpet.account.client;
+
+import java.time.Instant;
+
+// 검증된 토큰의 정보. role, expiresAt 은 토큰 종류에 따라 null 일 수 있고 tokenId 는 서명 토큰에만 있다
+public record VerifiedToken(long accountId, String role, Instant expiresAt, String tokenId) {
+}
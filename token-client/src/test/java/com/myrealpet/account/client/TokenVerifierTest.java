@@ -0,0 +1,242 @@
+package com.myrealpet.account.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// JDK HttpServer 로 /introspect 와 이벤트 스트림을 흉내 내 확인. "acct-<계정 ID>-..." 토큰은 유효, 나머지는 무효로 응답
+class TokenVerifierTest {
+
+    private static final String SECRET = "client-secret";
+    private static final String CLOSE_STREAM = "close";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<String> streamEvents = new LinkedBlockingQueue<>();
+    private final AtomicInteger streamConnections = new AtomicInteger();
+    private volatile CountDownLatch introspectRequested = new CountDownLatch(1);
+    private volatile CountDownLatch introspectReleased = new CountDownLatch(0);
+
+    private HttpServer server;
+    private TokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/auth/introspect", this::introspect);
+        server.createContext("/api/auth/introspect/events", this::events);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (verifier != null) {
+            verifier.close();
+        }
+        streamEvents.add(CLOSE_STREAM);
+        server.stop(0);
+    }
+
+    // 같은 토큰의 동시 조회는 요청 하나로 합치고, 결과는 캐시에서 응답
+    @Test
+    void coalescesConcurrentMissesIntoOneRequest() throws Exception {
+        verifier = verifier(Duration.ofMillis(2));
+        introspectReleased = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(10);
+        try {
+            List<CompletableFuture<VerifiedToken>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(CompletableFuture.supplyAsync(() -> verifier.verify("acct-1-a"), callers));
+            }
+            assertThat(introspectRequested.await(5, TimeUnit.SECONDS)).isTrue();
+            await(() -> verifier.stats().misses() + verifier.stats().coalesced() == 10);
+            introspectReleased.countDown();
+
+            for (CompletableFuture<VerifiedToken> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS).accountId()).isEqualTo(1L);
+            }
+        } finally {
+            callers.shutdown();
+        }
+        assertThat(verifier.verify("acct-1-a").accountId()).isEqualTo(1L);
+        assertThat(batches).containsExactly(List.of("acct-1-a"));
+        assertThat(verifier.stats().remoteCalls()).isEqualTo(1);
+        assertThat(verifier.stats().hits()).isEqualTo(1);
+    }
+
+    // 배치 창 안에 모인 토큰이 서버 한도(100)를 넘으면 나눠서 조회하고 각 토큰에 맞는 결과를 돌려준다
+    @Test
+    void splitsMissesAboveTheBatchLimit() throws Exception {
+        verifier = verifier(Duration.ofMillis(50));
+
+        Map<String, CompletableFuture<VerifiedToken>> futures = new HashMap<>();
+        for (int i = 0; i < 250; i++) {
+            String token = i % 5 == 0 ? "invalid-" + i : "acct-" + i + "-x";
+            futures.put(token, verifier.verifyAsync(token));
+        }
+
+        for (Map.Entry<String, CompletableFuture<VerifiedToken>> entry : futures.entrySet()) {
+            VerifiedToken verified = entry.getValue().get(5, TimeUnit.SECONDS);
+            if (entry.getKey().startsWith("invalid-")) {
+                assertThat(verified).isNull();
+            } else {
+                assertThat(verified.accountId()).isEqualTo(accountId(entry.getKey()));
+            }
+        }
+        assertThat(batches).hasSizeGreaterThanOrEqualTo(3).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(100));
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(250);
+    }
+
+    // 조회 중에 도착한 계정 이벤트는 그 계정 결과의 캐시 저장만 막고, 다른 계정 결과는 캐시한다
+    @Test
+    void dropsResultsInvalidatedDuringLookup() throws Exception {
+        verifier = verifier(Duration.ofMillis(20));
+        verifier.start();
+        awaitStreamConnected(1);
+        introspectReleased = new CountDownLatch(1);
+
+        CompletableFuture<VerifiedToken> revoked = verifier.verifyAsync("acct-1-a");
+        CompletableFuture<VerifiedToken> other = verifier.verifyAsync("acct-2-b");
+        assertThat(introspectRequested.await(5, TimeUnit.SECONDS)).isTrue();
+        streamEvents.add("event: account\ndata: 1\n\n");
+        await(() -> verifier.stats().events() == 2);
+        introspectReleased.countDown();
+
+        assertThat(revoked.get(5, TimeUnit.SECONDS).accountId()).isEqualTo(1L);
+        assertThat(other.get(5, TimeUnit.SECONDS).accountId()).isEqualTo(2L);
+
+        assertThat(verifier.verify("acct-2-b").accountId()).isEqualTo(2L);
+        assertThat(verifier.stats().hits()).isEqualTo(1);
+        assertThat(verifier.verify("acct-1-a").accountId()).isEqualTo(1L);
+        assertThat(verifier.stats().remoteCalls()).isEqualTo(2);
+        assertThat(batches.get(1)).containsExactly("acct-1-a");
+    }
+
+    // 이벤트 스트림이 끊겼다 다시 연결되면 그동안 놓친 이벤트 대비로 캐시를 비운다
+    @Test
+    void clearsCacheOnReconnect() throws Exception {
+        verifier = verifier(Duration.ofMillis(2));
+        verifier.start();
+        awaitStreamConnected(1);
+
+        verifier.verify("acct-1-a");
+        verifier.verify("acct-1-a");
+        assertThat(verifier.stats().remoteCalls()).isEqualTo(1);
+
+        streamEvents.add(CLOSE_STREAM);
+        awaitStreamConnected(2);
+        assertThat(verifier.stats().cachedTokens()).isZero();
+
+        verifier.verify("acct-1-a");
+        assertThat(verifier.stats().remoteCalls()).isEqualTo(2);
+    }
+
+    private TokenVerifier verifier(Duration batchWindow) {
+        return TokenVerifier.builder("http://localhost:" + server.getAddress().getPort() + "/")
+                .clientSecret(SECRET)
+                .batchWindow(batchWindow)
+                .requestTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    private void introspect(HttpExchange exchange) throws IOException {
+        if (!SECRET.equals(exchange.getRequestHeaders().getFirst("X-Client-Secret"))) {
+            exchange.sendResponseHeaders(403, -1);
+            exchange.close();
+            return;
+        }
+
+        List<String> tokens = new ArrayList<>();
+        objectMapper.readTree(exchange.getRequestBody()).path("tokens").forEach(token -> tokens.add(token.asText()));
+        batches.add(tokens);
+        introspectRequested.countDown();
+        try {
+            introspectReleased.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String token : tokens) {
+            results.add(token.startsWith("acct-")
+                    ? Map.of("active", true, "accountId", accountId(token), "role", "USER",
+                            "expiresAt", Instant.now().plus(Duration.ofHours(1)).toString())
+                    : Map.of("active", false));
+        }
+        byte[] body = objectMapper.writeValueAsBytes(results);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // streamEvents 에 넣은 이벤트를 그대로 보내고, CLOSE_STREAM 을 받으면 연결을 끊는다
+    private void events(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        streamConnections.incrementAndGet();
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(":connected\n\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            while (true) {
+                String event = streamEvents.poll(10, TimeUnit.SECONDS);
+                if (event == null || CLOSE_STREAM.equals(event)) {
+                    return;
+                }
+                out.write(event.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 연결 직후의 캐시 비우기가 끝났는지 알 수 있도록 관계없는 이벤트를 보내 처리될 때까지 기다린다
+    private void awaitStreamConnected(int connections) throws InterruptedException {
+        await(() -> streamConnections.get() == connections);
+        long processed = verifier.stats().events();
+        streamEvents.add("event: token\ndata: unrelated\n\n");
+        await(() -> verifier.stats().events() == processed + 1);
+    }
+
+    private static long accountId(String token) {
+        return Long.parseLong(token.split("-")[1]);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}